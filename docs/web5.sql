@@ -1,4 +1,7 @@
 -- [ web5 예제 ]
+-- 운영 스키마는 Flyway 마이그레이션(src/main/resources/db/migration/mysql)이 관리한다.
+-- 이 파일은 마이그레이션 이전의 스키마(V1 기준 스키마)이다. 이 파일로 만든 DB 는 애플리케이션을 시작하면
+-- V1 을 기준으로 기록하고 V2 부터 차례로 적용한다. 이후 변경(V2~)은 마이그레이션 파일에만 있다.
 
 -- 회원정보 테이블 (web5_member)
 create table web5_member (
@@ -44,7 +47,13 @@ select * from web5_board order by board_num;
 select * from web5_reply order by board_num, reply_num;
 
 
--- 테이블 삭제 (하위 데이터 먼저)
+-- 테이블 삭제 (하위 데이터 먼저. 마이그레이션으로 추가된 테이블과 Flyway 적용 기록 포함)
+drop table if exists `flyway_schema_history`;
+drop table if exists `web5_list_version`;
+drop table if exists `web5_session`;
+drop table if exists `web5_change_log`;
+drop table if exists `web5_reply_archive`;
+drop table if exists `web5_board_archive`;
 drop table if exists `web5_reply`;
 drop table if exists `web5_board`;
 drop table if exists `web5_member`;
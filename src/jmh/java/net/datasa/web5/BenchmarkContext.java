@@ -0,0 +1,124 @@
+package net.datasa.web5;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 스프링 컨텍스트 (test 프로필, 내장 H2)와 데이터 준비
+ * <p>
+ * JMH 는 벤치마크마다 JVM 을 새로 띄우므로 컨텍스트는 JVM 당 한 번만 만든다.
+ */
+public final class BenchmarkContext {
+
+    public static final int MEMBER_COUNT = 300;
+    public static final int BOARD_COUNT = 5_000;
+    public static final int MAX_REPLY_COUNT = 40;
+
+    // "password" 를 BCrypt 로 암호화한 값 (준비 과정에서 BCrypt 비용을 쓰지 않도록 고정)
+    private static final String ENCODED_PASSWORD = "$2a$10$dn78l6f3WERgnoKA.bLULuGVhS1t.PkMXjBIDd1oEHiS44TxVZpoG";
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * 컨텍스트를 시작하고 데이터를 한 번 채운다.
+     *
+     * @param profiles 추가로 활성화할 프로필
+     * @return 스프링 컨텍스트
+     */
+    public static synchronized ConfigurableApplicationContext get(String... profiles) {
+        if (context == null) {
+            String[] activeProfiles = new String[profiles.length + 1];
+            activeProfiles[0] = "test";
+            System.arraycopy(profiles, 0, activeProfiles, 1, profiles.length);
+
+            context = new SpringApplicationBuilder(Web5Application.class)
+                    .web(WebApplicationType.NONE)
+                    .profiles(activeProfiles)
+                    .run();
+            seed(context.getBean(JdbcTemplate.class));
+        }
+        return context;
+    }
+
+    public static synchronized void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    /**
+     * 실제 게시판과 비슷한 분포로 회원, 게시글, 리플을 채운다.
+     * 본문 길이는 200~4000자, 리플 수는 앞쪽(인기) 글일수록 많아지도록 한다.
+     */
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        SplittableRandom random = new SplittableRandom(42);
+
+        List<Object[]> members = new ArrayList<>();
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            members.add(new Object[] {memberId(i), ENCODED_PASSWORD, "회원" + i, "user" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("insert into web5_member (member_id, member_password, member_name, email"
+                + ", enabled, rolename) values (?, ?, ?, ?, true, 'ROLE_USER')", members);
+
+        LocalDateTime baseTime = LocalDateTime.now().minusDays(365);
+        List<Object[]> boards = new ArrayList<>();
+        for (int i = 1; i <= BOARD_COUNT; i++) {
+            Timestamp created = Timestamp.valueOf(baseTime.plusMinutes(i * 100L));
+            boolean hasFile = random.nextInt(10) == 0;
+            boards.add(new Object[] {
+                    i, memberId(random.nextInt(MEMBER_COUNT)), "게시글 제목 " + i + " " + text(random, 10, 60)
+                    , text(random, 200, 4000), random.nextInt(5000), random.nextInt(100)
+                    , hasFile ? "첨부파일" + i + ".png" : null, hasFile ? "20240101_file" + i + ".png" : null
+                    , created, created
+            });
+        }
+        jdbcTemplate.batchUpdate("insert into web5_board (board_num, member_id, title, contents, view_count"
+                + ", like_count, original_name, file_name, create_date, update_date)"
+                + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", boards);
+
+        List<Object[]> replies = new ArrayList<>();
+        for (int i = 1; i <= BOARD_COUNT; i++) {
+            // 최근 글(번호가 큰 글)에 리플이 몰리는 분포
+            int replyCount = (int) (MAX_REPLY_COUNT * Math.pow(random.nextDouble(), 3) * i / BOARD_COUNT);
+            for (int r = 0; r < replyCount; r++) {
+                replies.add(new Object[] {i, memberId(random.nextInt(MEMBER_COUNT)), text(random, 5, 300)});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into web5_reply (board_num, member_id, contents) values (?, ?, ?)"
+                , replies);
+        jdbcTemplate.update("update web5_reply set reply_path = lpad(reply_num, 10, '0') where reply_path = ''");
+        jdbcTemplate.update("update web5_board b set reply_count ="
+                + " (select count(*) from web5_reply r where r.board_num = b.board_num), update_date = update_date");
+    }
+
+    public static String memberId(int index) {
+        return "user" + index;
+    }
+
+    private static String text(SplittableRandom random, int minLength, int maxLength) {
+        int length = random.nextInt(minLength, maxLength + 1);
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    private static final String[] WORDS = {
+            "게시판", "스프링", "자바", "데이터베이스", "질문", "답변", "오늘", "점심", "메뉴", "추천"
+            , "spring", "java", "mysql", "thymeleaf", "security", "jpa", "hello", "world", "테스트", "공지"
+    };
+}
@@ -0,0 +1,80 @@
+package net.datasa.web5.service;
+
+import net.datasa.web5.BenchmarkContext;
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.domain.dto.ReplyDTO;
+import net.datasa.web5.domain.entity.BoardEntity;
+import net.datasa.web5.domain.entity.MemberEntity;
+import net.datasa.web5.domain.entity.ReplyEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.framework.AopProxyUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BoardService 의 엔티티 -> DTO 변환 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoardConvertBenchmark {
+
+    private BoardService boardService;
+    private BoardEntity boardEntity;
+    private ReplyEntity replyEntity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 트랜잭션 프록시를 거치지 않고 변환 자체만 측정
+        BoardService proxy = BenchmarkContext.get().getBean(BoardService.class);
+        boardService = (BoardService) AopProxyUtils.getSingletonTarget(proxy);
+
+        MemberEntity member = MemberEntity.builder()
+                .memberId("user1")
+                .memberName("회원1")
+                .build();
+
+        boardEntity = BoardEntity.builder()
+                .boardNum(1)
+                .member(member)
+                .title("게시글 제목")
+                .contents("본문 ".repeat(400))
+                .viewCount(10)
+                .likeCount(1)
+                .createDate(LocalDateTime.now())
+                .updateDate(LocalDateTime.now())
+                .build();
+
+        replyEntity = ReplyEntity.builder()
+                .replyNum(1)
+                .board(boardEntity)
+                .member(member)
+                .contents("리플 내용입니다.")
+                .createDate(LocalDateTime.now())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public BoardDTO convertToDTO() {
+        return boardService.convertToDTO(boardEntity);
+    }
+
+    @Benchmark
+    public ReplyDTO convertToReplyDTO() {
+        return boardService.convertToReplyDTO(replyEntity);
+    }
+}
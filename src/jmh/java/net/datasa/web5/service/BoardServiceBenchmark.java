@@ -0,0 +1,94 @@
+package net.datasa.web5.service;
+
+import net.datasa.web5.BenchmarkContext;
+import net.datasa.web5.domain.dto.BoardDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 글 목록/읽기 서비스 호출 비용 (내장 H2, BenchmarkContext 의 데이터)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardServiceBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    private BoardService boardService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boardService = BenchmarkContext.get().getBean(BoardService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    // 첫 페이지 (가장 많이 보는 화면)
+    @Benchmark
+    public Page<BoardDTO> getListFirstPage() {
+        return boardService.getList(1, PAGE_SIZE, "", "");
+    }
+
+    // 임의의 페이지
+    @Benchmark
+    public Page<BoardDTO> getListRandomPage() {
+        int lastPage = BenchmarkContext.BOARD_COUNT / PAGE_SIZE;
+        return boardService.getList(ThreadLocalRandom.current().nextInt(1, lastPage + 1), PAGE_SIZE, "", "");
+    }
+
+    // 제목 검색
+    @Benchmark
+    public Page<BoardDTO> getListTitleSearch() {
+        return boardService.getList(1, PAGE_SIZE, "title", "스프링");
+    }
+
+    // 작성자 검색
+    @Benchmark
+    public Page<BoardDTO> getListMemberSearch() {
+        String memberId = BenchmarkContext.memberId(ThreadLocalRandom.current().nextInt(BenchmarkContext.MEMBER_COUNT));
+        return boardService.getList(1, PAGE_SIZE, "id", memberId);
+    }
+
+    // 전체 목록
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<BoardDTO> getListAll() {
+        return boardService.getListAll();
+    }
+
+    // 전체 목록 (DB 커서로 한 줄씩, /board/listAll 화면 출력 방식)
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void streamListAll(Blackhole blackhole) {
+        boardService.streamListAll(rows -> rows.forEach(blackhole::consume));
+    }
+
+    // 글 읽기 (리플 포함, 읽기 전용. 조회수 증가는 increaseViewCount 로 따로 잰다)
+    @Benchmark
+    public BoardDTO getBoard() {
+        return boardService.getBoard(ThreadLocalRandom.current().nextInt(1, BenchmarkContext.BOARD_COUNT + 1));
+    }
+
+    // 조회수 증가 (글 읽기 요청마다 getBoard 와 함께 실행되는 UPDATE 한 번)
+    @Benchmark
+    public boolean increaseViewCount() {
+        return boardService.increaseViewCount(ThreadLocalRandom.current().nextInt(1, BenchmarkContext.BOARD_COUNT + 1));
+    }
+}
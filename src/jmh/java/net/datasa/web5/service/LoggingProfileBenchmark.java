@@ -0,0 +1,56 @@
+package net.datasa.web5.service;
+
+import net.datasa.web5.BenchmarkContext;
+import net.datasa.web5.domain.dto.BoardDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그 설정에 따른 글 목록/읽기 처리량 비교
+ * <p>
+ * devlog : 개발 설정 (SQL 출력, 바인딩 값 trace, 애플리케이션 debug)
+ * prod   : 운영 설정 (SQL 로그 끔, info, 비동기 출력)
+ * 개발 설정은 SQL 로그가 콘솔로 많이 출력되므로 ./gradlew jmh -PjmhInclude=LoggingProfileBenchmark > 파일 로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LoggingProfileBenchmark {
+
+    @Param({"devlog", "prod"})
+    String profile;
+
+    private BoardService boardService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boardService = BenchmarkContext.get(profile).getBean(BoardService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public Page<BoardDTO> getList() {
+        return boardService.getList(1, 10, "", "");
+    }
+
+    @Benchmark
+    public BoardDTO getBoard() {
+        return boardService.getBoard(ThreadLocalRandom.current().nextInt(1, BenchmarkContext.BOARD_COUNT + 1));
+    }
+}
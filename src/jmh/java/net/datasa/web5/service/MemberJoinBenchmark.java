@@ -0,0 +1,62 @@
+package net.datasa.web5.service;
+
+import net.datasa.web5.BenchmarkContext;
+import net.datasa.web5.domain.dto.MemberDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원 가입 (BCrypt 암호화 포함) 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberJoinBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private MemberService memberService;
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConfigurableApplicationContext context = BenchmarkContext.get();
+        memberService = context.getBean(MemberService.class);
+        passwordEncoder = context.getBean(BCryptPasswordEncoder.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    // 암호화만
+    @Benchmark
+    public String bcryptEncode() {
+        return passwordEncoder.encode("password1234");
+    }
+
+    // 가입 전체 (암호화 + INSERT)
+    @Benchmark
+    public void join() {
+        long n = sequence.incrementAndGet();
+        memberService.join(MemberDTO.builder()
+                .memberId("bench" + n)
+                .memberPassword("password1234")
+                .memberName("벤치" + n)
+                .email("bench" + n + "@example.com")
+                .build());
+    }
+}
@@ -0,0 +1,42 @@
+package net.datasa.web5.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 첨부파일 이름 처리 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AttachmentUtilBenchmark {
+
+    @Param({"홍길동의 이력서.doc", "archive.tar.gz", "README"})
+    String originalFileName;
+
+    private AttachmentUtil attachmentUtil;
+
+    @Setup
+    public void setUp() {
+        attachmentUtil = new AttachmentUtil(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public String createUniqueFileName() {
+        return attachmentUtil.createUniqueFileName(originalFileName);
+    }
+
+    @Benchmark
+    public String getExtension() {
+        return attachmentUtil.getExtension(originalFileName);
+    }
+}
@@ -0,0 +1,218 @@
+package net.datasa.web5.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 부하 테스트용 가상 데이터 생성 (loadtest 소스 세트의 loadtest 프로필에서만 동작, 운영 jar 에는 없음)
+ * <p>
+ * 회원 N명, 게시글 M개를 만들고 리플은 Zipf 분포로 인기 글에 몰리게 배분한다.
+ * 글번호가 attachmentInterval 의 배수인 글에는 실제 첨부파일을 업로드 경로에 만든다.
+ * 같은 seed 값이면 항상 같은 데이터가 만들어진다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Profile("loadtest")
+@Component
+public class LoadTestDataGenerator implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String[] WORDS = {
+            "게시판", "스프링", "자바", "데이터베이스", "질문", "답변", "오늘", "점심", "메뉴", "추천"
+            , "spring", "java", "mysql", "thymeleaf", "security", "jpa", "hello", "world", "테스트", "공지"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BCryptPasswordEncoder passwordEncoder;
+
+    @Value("${loadtest.members}")
+    int memberCount;
+
+    @Value("${loadtest.posts}")
+    int postCount;
+
+    @Value("${loadtest.avgReplies}")
+    int avgReplies;
+
+    @Value("${loadtest.zipfExponent}")
+    double zipfExponent;
+
+    @Value("${loadtest.attachmentInterval}")
+    int attachmentInterval;
+
+    @Value("${loadtest.maxAttachmentBytes}")
+    int maxAttachmentBytes;
+
+    @Value("${loadtest.password}")
+    String password;
+
+    @Value("${loadtest.seed}")
+    long seed;
+
+    @Value("${board.uploadPath}")
+    String uploadPath;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long startTime = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        insertMembers();
+        insertBoards(random);
+        int replyCount = insertReplies(random);
+
+        log.info("부하 테스트 데이터 생성 완료 : 회원 {}명, 게시글 {}개, 리플 {}개, 첨부파일 {}개 ({}ms)"
+                , memberCount, postCount, replyCount, postCount / attachmentInterval
+                , System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 회원 생성. BCrypt 비용이 크므로 비밀번호는 한 번만 암호화해서 모든 회원에 사용
+     */
+    private void insertMembers() {
+        String encodedPassword = passwordEncoder.encode(password);
+        List<Object[]> rows = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            rows.add(new Object[] {memberId(i), encodedPassword, "회원" + i, "user" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("insert into web5_member (member_id, member_password, member_name, email"
+                + ", enabled, rolename) values (?, ?, ?, ?, true, 'ROLE_USER')", rows);
+    }
+
+    /**
+     * 게시글과 첨부파일 생성
+     */
+    private void insertBoards(SplittableRandom random) throws IOException {
+        Path directory = Files.createDirectories(Paths.get(uploadPath));
+        LocalDateTime baseTime = LocalDateTime.now().minusDays(365);
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int boardNum = 1; boardNum <= postCount; boardNum++) {
+            String originalName = null;
+            String fileName = null;
+            if (boardNum % attachmentInterval == 0) {
+                originalName = "첨부파일" + boardNum + ".bin";
+                fileName = "loadtest_" + boardNum + ".bin";
+                byte[] bytes = new byte[random.nextInt(1024, maxAttachmentBytes + 1)];
+                random.nextBytes(bytes);
+                Files.write(directory.resolve(fileName), bytes);
+            }
+
+            Timestamp created = Timestamp.valueOf(baseTime.plusSeconds(boardNum * 60L));
+            rows.add(new Object[] {
+                    memberId(random.nextInt(memberCount)), "게시글 " + boardNum + " " + text(random, 10, 60)
+                    , text(random, 200, 4000), random.nextInt(5000), random.nextInt(100)
+                    , originalName, fileName, created, created
+            });
+
+            if (rows.size() == BATCH_SIZE) {
+                batchInsertBoards(rows);
+            }
+        }
+        batchInsertBoards(rows);
+    }
+
+    private void batchInsertBoards(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        // 빈 DB에 순서대로 넣으므로 자동 증가 글번호가 1부터 boardNum 과 같게 매겨진다.
+        jdbcTemplate.batchUpdate("insert into web5_board (member_id, title, contents, view_count"
+                + ", like_count, original_name, file_name, create_date, update_date)"
+                + " values (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    /**
+     * 리플 생성. 리플마다 Zipf 분포로 순위를 뽑고, 순위는 섞어둔 글번호에 대응시킨다.
+     * (인기 글이 최신 글에만 몰리지 않도록)
+     *
+     * @return 생성한 리플 수
+     */
+    private int insertReplies(SplittableRandom random) {
+        int[] rankToBoardNum = new int[postCount];
+        for (int i = 0; i < postCount; i++) {
+            rankToBoardNum[i] = i + 1;
+        }
+        for (int i = postCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = rankToBoardNum[i];
+            rankToBoardNum[i] = rankToBoardNum[j];
+            rankToBoardNum[j] = temp;
+        }
+
+        double[] cdf = zipfCdf(postCount, zipfExponent);
+        int replyCount = postCount * avgReplies;
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < replyCount; i++) {
+            int rank = Arrays.binarySearch(cdf, random.nextDouble());
+            if (rank < 0) {
+                rank = Math.min(-rank - 1, postCount - 1);
+            }
+            rows.add(new Object[] {rankToBoardNum[rank], memberId(random.nextInt(memberCount)), text(random, 5, 300)});
+
+            if (rows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("insert into web5_reply (board_num, member_id, contents) values (?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into web5_reply (board_num, member_id, contents) values (?, ?, ?)", rows);
+        }
+        // 생성한 리플은 모두 최상위 리플 (답글 경로는 자기 번호)
+        jdbcTemplate.update("update web5_reply set reply_path = lpad(reply_num, 10, '0') where reply_path = ''");
+        jdbcTemplate.update("update web5_board b set reply_count ="
+                + " (select count(*) from web5_reply r where r.board_num = b.board_num), update_date = update_date");
+        return replyCount;
+    }
+
+    /**
+     * 1위 ~ n위의 Zipf 누적 분포
+     */
+    static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    static String memberId(int index) {
+        return "user" + index;
+    }
+
+    private static String text(SplittableRandom random, int minLength, int maxLength) {
+        int length = random.nextInt(minLength, maxLength + 1);
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+}
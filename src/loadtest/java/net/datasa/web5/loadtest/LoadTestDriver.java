@@ -0,0 +1,318 @@
+package net.datasa.web5.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트 시나리오 드라이버 (JDK HttpClient)
+ * <p>
+ * loadtest 프로필로 띄운 서버에 가상 사용자 여러 명이 로그인 후 목록, 검색, 읽기, 리플, 업로드, 다운로드를
+ * 정해진 비율로 반복 호출하고, 엔드포인트별 처리량과 지연시간 백분위(HdrHistogram)를 출력한다.
+ * <p>
+ * 실행 : ./gradlew loadTest -Pusers=50 -PdurationSeconds=120
+ * (서버 로그에 "부하 테스트 데이터 생성 완료"가 출력된 뒤에 실행한다.)
+ * 옵션은 --이름=값 형식으로 전달한다. (baseUrl, users, durationSeconds, warmupSeconds, members, posts,
+ * attachmentInterval, password, zipfExponent, thinkTimeMillis, seed) 기본값은 loadtest 프로필의 데이터와 맞춘다.
+ */
+public class LoadTestDriver {
+
+    /**
+     * 시나리오의 요청 종류와 한 사이클 안에서의 비율(가중치)
+     */
+    enum Endpoint {
+        LOGIN(0), LIST(30), SEARCH(10), READ(40), REPLY(10), UPLOAD(5), DOWNLOAD(5);
+
+        final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * 엔드포인트별 측정값
+     */
+    static class Stats {
+        final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+        final LongAdder errors = new LongAdder();
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+        }
+    }
+
+    private static final String[] SEARCH_WORDS = {"스프링", "자바", "spring", "mysql", "질문", "공지"};
+
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final int members;
+    private final int posts;
+    private final int attachmentInterval;
+    private final String password;
+    private final long thinkTimeMillis;
+    private final double[] zipfCdf;
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+    private volatile boolean running = true;
+
+    LoadTestDriver(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = option("baseUrl", "http://localhost:8888");
+        this.members = Integer.parseInt(option("members", "200"));
+        this.posts = Integer.parseInt(option("posts", "20000"));
+        this.attachmentInterval = Integer.parseInt(option("attachmentInterval", "10"));
+        this.password = option("password", "password");
+        this.thinkTimeMillis = Long.parseLong(option("thinkTimeMillis", "0"));
+        this.zipfCdf = zipfCdf(posts, Double.parseDouble(option("zipfExponent", "1.1")));
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        new LoadTestDriver(options).run();
+    }
+
+    void run() throws InterruptedException {
+        int users = Integer.parseInt(option("users", "20"));
+        int warmupSeconds = Integer.parseInt(option("warmupSeconds", "10"));
+        int durationSeconds = Integer.parseInt(option("durationSeconds", "60"));
+        long seed = Long.parseLong(option("seed", "42"));
+
+        System.out.printf("부하 테스트 시작 : %s, 가상 사용자 %d명, 워밍업 %d초, 측정 %d초%n"
+                , baseUrl, users, warmupSeconds, durationSeconds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < users; i++) {
+            int userIndex = i;
+            executor.submit(() -> virtualUser(userIndex, new SplittableRandom(seed + userIndex)));
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        stats.values().forEach(Stats::reset);
+        long measureStart = System.nanoTime();
+
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        running = false;
+        double elapsedSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        report(elapsedSeconds);
+    }
+
+    /**
+     * 가상 사용자 한 명 : 로그인 후 가중치에 따라 요청을 반복
+     */
+    private void virtualUser(int userIndex, SplittableRandom random) {
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String memberId = "user" + (userIndex % members);
+        call(Endpoint.LOGIN, () -> client.send(form("/member/login"
+                , "id=" + memberId + "&password=" + encode(password)), HttpResponse.BodyHandlers.discarding()));
+
+        int totalWeight = Arrays.stream(Endpoint.values()).mapToInt(e -> e.weight).sum();
+        while (running) {
+            Endpoint endpoint = pick(random.nextInt(totalWeight));
+            call(endpoint, () -> request(client, endpoint, random));
+
+            if (thinkTimeMillis > 0) {
+                try {
+                    Thread.sleep(thinkTimeMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private HttpResponse<?> request(HttpClient client, Endpoint endpoint, SplittableRandom random)
+            throws IOException, InterruptedException {
+        switch (endpoint) {
+            case LIST:
+                return client.send(get("/board/list?page=" + (1 + (int) (posts / 10 * Math.pow(random.nextDouble(), 4))))
+                        , HttpResponse.BodyHandlers.discarding());
+            case SEARCH:
+                return client.send(get("/board/list?searchType=title&searchWord="
+                        + encode(SEARCH_WORDS[random.nextInt(SEARCH_WORDS.length)])), HttpResponse.BodyHandlers.discarding());
+            case READ:
+                return client.send(get("/board/read?boardNum=" + hotBoardNum(random)), HttpResponse.BodyHandlers.discarding());
+            case REPLY:
+                return client.send(form("/board/replyWrite", "boardNum=" + hotBoardNum(random)
+                        + "&contents=" + encode("부하 테스트 리플 " + random.nextInt())), HttpResponse.BodyHandlers.discarding());
+            case UPLOAD:
+                return client.send(upload(random), HttpResponse.BodyHandlers.discarding());
+            case DOWNLOAD:
+                int boardNum = attachmentInterval * (1 + random.nextInt(Math.max(1, posts / attachmentInterval)));
+                return client.send(get("/board/download?boardNum=" + boardNum), HttpResponse.BodyHandlers.discarding());
+            default:
+                throw new IllegalArgumentException(endpoint.name());
+        }
+    }
+
+    /**
+     * 요청 한 번의 지연시간과 성공 여부 기록 (2xx, 3xx 는 성공)
+     */
+    private void call(Endpoint endpoint, HttpCall httpCall) {
+        Stats endpointStats = stats.get(endpoint);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<?> response = httpCall.send();
+            endpointStats.latency.recordValue(Math.min(System.nanoTime() - start, TimeUnit.MINUTES.toNanos(1)));
+            boolean loginFailed = endpoint == Endpoint.LOGIN
+                    && response.headers().firstValue("Location").map(l -> l.contains("error")).orElse(true);
+            if (response.statusCode() >= 400 || loginFailed) {
+                endpointStats.errors.increment();
+            }
+        } catch (IOException e) {
+            endpointStats.errors.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface HttpCall {
+        HttpResponse<?> send() throws IOException, InterruptedException;
+    }
+
+    private void report(double elapsedSeconds) {
+        System.out.println();
+        System.out.printf("%-9s %9s %7s %9s %9s %9s %9s %9s %9s%n"
+                , "endpoint", "count", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        long total = 0;
+        for (Map.Entry<Endpoint, Stats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().latency;
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            if (entry.getKey() != Endpoint.LOGIN) {
+                total += count;
+            }
+            System.out.printf("%-9s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n"
+                    , entry.getKey().name().toLowerCase(), count, entry.getValue().errors.sum(), count / elapsedSeconds
+                    , millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90))
+                    , millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9))
+                    , millis(histogram.getMaxValue()));
+        }
+        System.out.printf("전체 처리량 : %.1f req/s (%.1f초)%n", total / elapsedSeconds, elapsedSeconds);
+    }
+
+    // 최신 글일수록 자주 읽히도록 Zipf 순위를 최신 글번호에 대응
+    private int hotBoardNum(SplittableRandom random) {
+        int rank = Arrays.binarySearch(zipfCdf, random.nextDouble());
+        if (rank < 0) {
+            rank = Math.min(-rank - 1, posts - 1);
+        }
+        return posts - rank;
+    }
+
+    private Endpoint pick(int value) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            value -= endpoint.weight;
+            if (value < 0) {
+                return endpoint;
+            }
+        }
+        return Endpoint.READ;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest form(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * 글쓰기 폼과 같은 multipart 요청 (제목, 내용, 첨부파일)
+     */
+    private HttpRequest upload(SplittableRandom random) throws IOException {
+        String boundary = "----web5" + UUID.randomUUID();
+        byte[] file = new byte[random.nextInt(1024, 64 * 1024)];
+        random.nextBytes(file);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(file.length + 1024);
+        writePart(body, boundary, "title", "부하 테스트 글 " + random.nextInt());
+        writePart(body, boundary, "contents", "부하 테스트 본문입니다. ".repeat(20));
+        body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"upload\"; filename=\"load.bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(file);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/board/write"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private void writePart(ByteArrayOutputStream body, String boundary, String name, String value)
+            throws IOException {
+        body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+}
@@ -0,0 +1,141 @@
+package net.datasa.web5.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.service.BoardReadCache.BoardChangedEvent;
+import net.datasa.web5.service.TitleSuggestIndex.TitleChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 오래된 글을 리플과 함께 보관 테이블(web5_board_archive, web5_reply_archive)로 옮긴다.
+ * <p>
+ * 자주 읽히는 최근 글만 web5_board, web5_reply 에 남겨 두 테이블과 인덱스가 버퍼 풀 안에 머물게 한다.
+ * 한 배치(batchSize 개의 글)를 하나의 트랜잭션으로 복사 후 삭제하므로 잠금을 오래 잡지 않고,
+ * 중간에 실패해도 글이 두 곳에 있거나 어디에도 없는 경우가 없다.
+ * 대상 글은 FOR UPDATE 로 잠그므로 여러 서버가 함께 실행해도 같은 글을 두 번 옮기지 않는다.
+ * 옮긴 글은 BoardChangedEvent 로 캐시에서 지우고, 다음 읽기부터 BoardService 가 보관 테이블에서 찾는다.
+ * 보관된 글의 제목은 TitleChangedEvent 로 자동 완성 색인에서 뺀다.
+ */
+@Slf4j
+@Component
+public class BoardArchiver {
+
+    // 작성 시간 인덱스(idx_board_create_date)의 앞부분만 읽는다.
+    private static final String SELECT_SQL = "select board_num from web5_board where create_date < ?"
+            + " order by create_date, board_num limit ? for update";
+    private static final String SELECT_TITLES_SQL = "select title from web5_board where board_num in (%s)";
+    private static final String COPY_BOARDS_SQL = "insert into web5_board_archive"
+            + " (board_num, member_id, title, contents, view_count, like_count, reply_count"
+            + ", original_name, file_name, create_date, update_date)"
+            + " select board_num, member_id, title, contents, view_count, like_count, reply_count"
+            + ", original_name, file_name, create_date, update_date"
+            + " from web5_board where board_num in (%s)";
+    private static final String COPY_REPLIES_SQL = "insert into web5_reply_archive"
+            + " (reply_num, board_num, member_id, contents, create_date, reply_path)"
+            + " select reply_num, board_num, member_id, contents, create_date, reply_path"
+            + " from web5_reply where board_num in (%s)";
+    // 리플은 web5_reply 외래키의 on delete cascade 로 함께 삭제된다.
+    private static final String DELETE_SQL = "delete from web5_board where board_num in (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Duration age;
+    private final int batchSize;
+
+    private final Counter archivedBoards;
+    private final Counter archivedReplies;
+
+    public BoardArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager
+            , ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry
+            , @Value("${board.archive.age}") Duration age
+            , @Value("${board.archive.batchSize}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.age = age;
+        this.batchSize = batchSize;
+
+        this.archivedBoards = Counter.builder("board.archive.moved")
+                .description("보관 테이블로 옮긴 행 수")
+                .tag("type", "board")
+                .register(meterRegistry);
+        this.archivedReplies = Counter.builder("board.archive.moved")
+                .description("보관 테이블로 옮긴 행 수")
+                .tag("type", "reply")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 작성된 지 age 가 지난 글을 모두 옮긴다. (batchSize 개씩, 남은 글이 없을 때까지)
+     * 서버 시작 직후에는 실행하지 않고 interval 이 지난 뒤부터 실행한다.
+     *
+     * @return 옮긴 글 수
+     */
+    @Scheduled(initialDelayString = "${board.archive.interval}", fixedDelayString = "${board.archive.interval}")
+    public int archive() {
+        return archive(LocalDateTime.now().minus(age));
+    }
+
+    /**
+     * 지정한 시간 이전에 작성된 글을 모두 옮긴다.
+     *
+     * @param before 이 시간 이전에 작성된 글이 대상
+     * @return 옮긴 글 수
+     */
+    public int archive(LocalDateTime before) {
+        int total = 0;
+        int moved;
+        do {
+            moved = archiveBatch(Timestamp.valueOf(before));
+            total += moved;
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            log.info("{} 이전 글 보관 : {}건", before, total);
+        }
+        return total;
+    }
+
+    /**
+     * 한 배치를 하나의 트랜잭션으로 복사 후 삭제
+     */
+    private int archiveBatch(Timestamp before) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Integer> boardNums = jdbcTemplate.queryForList(SELECT_SQL, Integer.class, before, batchSize);
+            if (boardNums.isEmpty()) {
+                return 0;
+            }
+
+            String placeholders = String.join(", ", Collections.nCopies(boardNums.size(), "?"));
+            Object[] args = boardNums.toArray();
+            List<String> titles = jdbcTemplate.queryForList(SELECT_TITLES_SQL.formatted(placeholders), String.class, args);
+            jdbcTemplate.update(COPY_BOARDS_SQL.formatted(placeholders), args);
+            int replies = jdbcTemplate.update(COPY_REPLIES_SQL.formatted(placeholders), args);
+            int deleted = jdbcTemplate.update(DELETE_SQL.formatted(placeholders), args);
+
+            eventPublisher.publishEvent(new BoardChangedEvent(List.copyOf(boardNums)));
+            for (String title : titles) {
+                eventPublisher.publishEvent(new TitleChangedEvent(title, null));
+            }
+            archivedBoards.increment(deleted);
+            archivedReplies.increment(replies);
+            return boardNums.size();
+        });
+        return moved != null ? moved : 0;
+    }
+}
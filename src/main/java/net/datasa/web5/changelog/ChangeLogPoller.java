@@ -0,0 +1,237 @@
+package net.datasa.web5.changelog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.changelog.ChangeLogWriter.EntityType;
+import net.datasa.web5.domain.entity.MemberEntity;
+import net.datasa.web5.service.BoardReadCache;
+import net.datasa.web5.service.BoardReadCache.BoardChangedEvent;
+import net.datasa.web5.service.TitleSuggestIndex;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 변경 기록 테이블(web5_change_log)을 주기적으로 읽어 다른 서버에서 바뀐 글/회원을 이 서버의 캐시에서 지운다.
+ * 다른 서버의 제목 변경은 자동 완성 색인(TitleSuggestIndex)에 기록 순서대로 반영한다.
+ * <p>
+ * 마지막으로 읽은 변경 번호(high-water mark) 이후만 읽으므로 한 번의 조회는 인덱스 범위 검색이다.
+ * 자동 증가 번호는 커밋 순서와 다를 수 있어, 건너뛴 번호는 gapTimeout 동안 따로 다시 확인한다.
+ * (늦게 커밋된 트랜잭션의 기록을 놓치지 않도록. 롤백으로 생긴 빈 번호는 gapTimeout 후 포기)
+ * 다시 확인할 번호는 maxGaps 개까지만 두고, 넘으면 오래된 번호부터 포기한다.
+ * (번호가 크게 건너뛰어도(auto_increment 증가폭 변경, 대량 롤백) 메모리와 한 번의 조회 시간이 일정하도록)
+ * 복제본은 지연될 수 있으므로 트랜잭션 없이 주 DB 에서 읽는다.
+ * <p>
+ * 다른 서버의 변경이 이 서버에 반영되기까지의 시간은 board.changelog.lag 타이머로 기록한다. (서버 간 시계 차이 포함)
+ * 정상일 때 pollInterval + 조회 시간 이내이고, 조회가 실패하면 board.changelog.poll.age 가 계속 늘어난다.
+ */
+@Slf4j
+@Component
+public class ChangeLogPoller {
+
+    private static final String SELECT_SQL = "select change_id, entity_type, entity_id, origin, created_at"
+            + " from web5_change_log where change_id > ? order by change_id limit ?";
+    private static final String SELECT_GAPS_SQL = "select change_id, entity_type, entity_id, origin, created_at"
+            + " from web5_change_log where change_id in (%s)";
+    private static final String DELETE_OLD_SQL = "delete from web5_change_log where created_at < ?";
+
+    // 한 번에 다시 확인할 빈 번호 수
+    private static final int MAX_GAPS_PER_QUERY = 1000;
+
+    private record Change(long changeId, EntityType type, String entityId, String origin, Instant createdAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeLogWriter changeLogWriter;
+    private final BoardReadCache boardReadCache;
+    private final TitleSuggestIndex titleSuggestIndex;
+    private final SessionFactory sessionFactory;
+
+    private final int batchSize;
+    private final int maxGaps;
+    private final long gapTimeoutNanos;
+    private final Duration retention;
+
+    private final Timer lag;
+    private final Counter applied;
+    private final Counter expiredGaps;
+
+    // 마지막으로 읽은 변경 번호 (-1 : 아직 시작 위치를 정하지 않음)
+    private long highWaterMark = -1;
+    // 건너뛴 번호 -> 처음 발견한 시간 (System.nanoTime)
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    private volatile long lastPollNanos = System.nanoTime();
+
+    public ChangeLogPoller(JdbcTemplate jdbcTemplate, ChangeLogWriter changeLogWriter, BoardReadCache boardReadCache
+            , TitleSuggestIndex titleSuggestIndex, EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry
+            , @Value("${board.changeLog.batchSize}") int batchSize
+            , @Value("${board.changeLog.maxGaps}") int maxGaps
+            , @Value("${board.changeLog.gapTimeout}") Duration gapTimeout
+            , @Value("${board.changeLog.retention}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeLogWriter = changeLogWriter;
+        this.boardReadCache = boardReadCache;
+        this.titleSuggestIndex = titleSuggestIndex;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.batchSize = batchSize;
+        this.maxGaps = maxGaps;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.retention = retention;
+
+        this.lag = Timer.builder("board.changelog.lag")
+                .description("다른 서버의 변경이 이 서버 캐시에 반영되기까지의 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.applied = Counter.builder("board.changelog.applied")
+                .description("반영한 다른 서버의 변경 수")
+                .register(meterRegistry);
+        this.expiredGaps = Counter.builder("board.changelog.gaps.expired")
+                .description("끝내 기록이 나타나지 않아 포기한 빈 변경 번호 수")
+                .register(meterRegistry);
+        Gauge.builder("board.changelog.poll.age", this, poller -> (System.nanoTime() - poller.lastPollNanos) / 1e9)
+                .description("마지막으로 변경 기록을 읽은 뒤 지난 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("board.changelog.gaps", this, poller -> poller.gapCount())
+                .description("다시 확인 중인 빈 변경 번호 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 변경 기록을 읽어 반영 (한 번에 batchSize 개씩, 밀린 기록이 없을 때까지)
+     */
+    @Scheduled(fixedDelayString = "${board.changeLog.pollInterval}")
+    public synchronized void poll() {
+        try {
+            if (highWaterMark < 0) {
+                // 시작 전의 변경은 캐시가 비어 있으므로 반영할 필요가 없다.
+                highWaterMark = jdbcTemplate.queryForObject(
+                        "select coalesce(max(change_id), 0) from web5_change_log", Long.class);
+                log.info("변경 기록 읽기 시작 위치 : {}", highWaterMark);
+            }
+
+            recheckGaps();
+            List<Change> changes;
+            do {
+                changes = jdbcTemplate.query(SELECT_SQL, this::mapChange, highWaterMark, batchSize);
+                for (Change change : changes) {
+                    addGaps(highWaterMark + 1, change.changeId());
+                    highWaterMark = change.changeId();
+                }
+                apply(changes);
+            } while (changes.size() == batchSize);
+
+            lastPollNanos = System.nanoTime();
+        } catch (RuntimeException e) {
+            log.warn("변경 기록 읽기 실패", e);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 변경 기록 삭제 (모든 서버가 실행해도 결과는 같음)
+     */
+    @Scheduled(fixedDelayString = "${board.changeLog.purgeInterval}")
+    public void purge() {
+        try {
+            int deleted = jdbcTemplate.update(DELETE_OLD_SQL, Timestamp.from(Instant.now().minus(retention)));
+            if (deleted > 0) {
+                log.info("오래된 변경 기록 {}건 삭제", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("오래된 변경 기록 삭제 실패", e);
+        }
+    }
+
+    synchronized int gapCount() {
+        return gaps.size();
+    }
+
+    // from 이상 to 미만의 건너뛴 번호를 다시 확인할 목록에 넣는다. (maxGaps 를 넘는 오래된 번호는 포기)
+    private void addGaps(long from, long to) {
+        long start = Math.max(from, to - maxGaps);
+        expiredGaps.increment(start - from);
+        long now = System.nanoTime();
+        for (long missing = start; missing < to; missing++) {
+            gaps.put(missing, now);
+        }
+        int over = gaps.size() - maxGaps;
+        for (int i = 0; i < over; i++) {
+            gaps.pollFirstEntry();
+        }
+        if (over > 0) {
+            expiredGaps.increment(over);
+        }
+    }
+
+    // 건너뛴 번호 중 그 사이 커밋된 기록을 반영하고, 너무 오래된 번호는 포기
+    private void recheckGaps() {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        int before = gaps.size();
+        gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutNanos);
+        expiredGaps.increment(before - gaps.size());
+        if (gaps.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(gaps.keySet()).subList(0, Math.min(gaps.size(), MAX_GAPS_PER_QUERY));
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        List<Change> found = jdbcTemplate.query(SELECT_GAPS_SQL.formatted(placeholders), this::mapChange
+                , ids.toArray());
+        for (Change change : found) {
+            gaps.remove(change.changeId());
+        }
+        apply(found);
+    }
+
+    private void apply(List<Change> changes) {
+        List<Integer> boardNums = new ArrayList<>();
+        Instant now = Instant.now();
+        for (Change change : changes) {
+            if (changeLogWriter.getNodeId().equals(change.origin())) {
+                continue;
+            }
+            switch (change.type()) {
+                case BOARD -> boardNums.add(Integer.valueOf(change.entityId()));
+                case MEMBER -> {
+                    sessionFactory.getCache().evictEntityData(MemberEntity.class, change.entityId());
+                    // 아이디 중복 확인 등 회원 조회 쿼리 캐시
+                    sessionFactory.getCache().evictDefaultQueryRegion();
+                }
+                case TITLE_TOKEN_ADDED -> titleSuggestIndex.tokenAdded(change.entityId());
+                case TITLE_TOKEN_REMOVED -> titleSuggestIndex.tokenRemoved(change.entityId());
+            }
+            applied.increment();
+            lag.record(Duration.between(change.createdAt(), now));
+        }
+        if (!boardNums.isEmpty()) {
+            boardReadCache.evict(new BoardChangedEvent(boardNums));
+        }
+        if (!changes.isEmpty()) {
+            log.debug("변경 기록 반영 : {}건 (마지막 번호 {})", changes.size(), highWaterMark);
+        }
+    }
+
+    private Change mapChange(ResultSet rs, int rowNum) throws SQLException {
+        return new Change(rs.getLong("change_id"), EntityType.valueOf(rs.getString("entity_type"))
+                , rs.getString("entity_id"), rs.getString("origin"), rs.getTimestamp("created_at").toInstant());
+    }
+}
@@ -0,0 +1,89 @@
+package net.datasa.web5.changelog;
+
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.service.BoardReadCache.BoardChangedEvent;
+import net.datasa.web5.service.TitleSuggestIndex.TitleChangedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 글/회원 변경을 변경 기록 테이블(web5_change_log)에 남긴다. (outbox)
+ * <p>
+ * 변경한 트랜잭션의 커밋 직전에 같은 커넥션으로 INSERT 하므로, 변경이 커밋되면 기록도 함께 커밋되고
+ * 롤백되면 기록도 남지 않는다. 각 서버의 ChangeLogPoller 가 이 기록을 읽어 자기 캐시에서 지운다.
+ * 제목 변경은 더하고 뺄 자동 완성 단어를 한 줄씩 남긴다. (entity_id 가 단어, 제목이 같으면 남기지 않음)
+ * 트랜잭션 밖에서 발생한 알림은 기록하지 않는다.
+ */
+@Slf4j
+@Component
+public class ChangeLogWriter {
+
+    private static final String INSERT_SQL =
+            "insert into web5_change_log (entity_type, entity_id, origin, created_at) values (?, ?, ?, ?)";
+
+    /**
+     * 변경 대상 종류
+     */
+    public enum EntityType {
+        BOARD, MEMBER, TITLE_TOKEN_ADDED, TITLE_TOKEN_REMOVED
+    }
+
+    /**
+     * 회원 변경 알림 (가입, 정보 수정)
+     *
+     * @param memberId 바뀐 회원 아이디
+     */
+    public record MemberChangedEvent(String memberId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 이 서버(프로세스)를 구분하는 값. 자기 변경은 이미 캐시에 반영했으므로 읽을 때 건너뛴다.
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ChangeLogWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void boardChanged(BoardChangedEvent event) {
+        insert(EntityType.BOARD, event.boardNums());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void memberChanged(MemberChangedEvent event) {
+        insert(EntityType.MEMBER, List.of(event.memberId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void titleChanged(TitleChangedEvent event) {
+        insert(EntityType.TITLE_TOKEN_REMOVED, event.removedTokens());
+        insert(EntityType.TITLE_TOKEN_ADDED, event.addedTokens());
+    }
+
+    private void insert(EntityType type, Collection<?> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            rows.add(new Object[] {type.name(), String.valueOf(id), nodeId, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        log.debug("변경 기록 : {} {}", type, ids);
+    }
+}
@@ -0,0 +1,122 @@
+package net.datasa.web5.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.domain.dto.BulkDeleteResultDTO;
+import net.datasa.web5.domain.dto.ImportResultDTO;
+import net.datasa.web5.domain.dto.SlowQueryDTO;
+import net.datasa.web5.metrics.SlowQueryLog;
+import net.datasa.web5.profiling.JfrRecordingService;
+import net.datasa.web5.service.BoardImportService;
+import net.datasa.web5.service.BoardModerationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 관리자 전용 기능 컨트롤러 (ROLE_ADMIN 만 접근 가능)
+ */
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("admin")
+public class AdminController {
+
+    private final BoardImportService boardImportService;
+    private final BoardModerationService boardModerationService;
+    private final JfrRecordingService jfrRecordingService;
+    private final SlowQueryLog slowQueryLog;
+
+    @Value("${board.uploadPath}")
+    String uploadPath;
+
+    /**
+     * 가져오기 경로(board.importPath)의 JSONL 파일로 게시글과 리플을 일괄 등록
+     *
+     * @param fileName 가져올 파일 이름
+     * @return 가져오기 결과 (건수, 소요시간, 처리량)
+     */
+    @PostMapping("import")
+    public ImportResultDTO importBoards(@RequestParam("fileName") String fileName) throws IOException {
+        log.info("게시글 가져오기 시작 : {}", fileName);
+        return boardImportService.importJsonl(fileName);
+    }
+
+    /**
+     * 글번호 목록으로 게시글 일괄 삭제
+     *
+     * @param boardNums 삭제할 글번호 목록 (예: boardNums=1,2,3)
+     * @return 삭제 결과
+     */
+    @PostMapping("board/delete")
+    public BulkDeleteResultDTO deleteBoards(@RequestParam("boardNums") List<Integer> boardNums) {
+        log.info("게시글 일괄 삭제 요청 : {}건", boardNums.size());
+        return boardModerationService.deleteBoards(boardNums, uploadPath);
+    }
+
+    /**
+     * 한 회원이 쓴 게시글 일괄 삭제
+     *
+     * @param memberId 작성자 아이디
+     * @return 삭제 결과
+     */
+    @PostMapping("board/deleteByMember")
+    public BulkDeleteResultDTO deleteBoardsByMember(@RequestParam("memberId") String memberId) {
+        log.info("회원 게시글 일괄 삭제 요청 : {}", memberId);
+        return boardModerationService.deleteBoardsByMember(memberId, uploadPath);
+    }
+
+    /**
+     * 정해진 시간 동안 JFR 레코딩을 실행하고 .jfr 파일로 내려받기
+     * 레코딩이 끝날 때까지 응답하지 않는다. (JDK Mission Control 이나 jfr print 로 확인)
+     *
+     * @param duration 레코딩 시간 (예: duration=30s, 최대 board.profiling.maxDuration)
+     * @param response 응답 객체
+     */
+    @PostMapping("profiling/record")
+    public void recordProfile(@RequestParam(name = "duration", defaultValue = "30s") String duration
+            , HttpServletResponse response) throws IOException {
+        log.info("JFR 레코딩 요청 : {}", duration);
+        // 설정 파일과 같은 형식 (30s, 2m, PT30S)
+        Duration recordDuration = DurationStyle.detectAndParse(duration);
+        String fileName = "web5-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr";
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=" + fileName);
+        jfrRecordingService.record(recordDuration, response.getOutputStream());
+    }
+
+    /**
+     * 최근 느린 SQL 목록 (실행 시간이 긴 순서)
+     * 추적 ID 로 애플리케이션 로그와 MySQL slow query log 의 SQL 주석(trace:추적ID)을 찾을 수 있다.
+     *
+     * @return 느린 SQL 목록
+     */
+    @GetMapping("sql/slow")
+    public List<SlowQueryDTO> slowQueries() {
+        return slowQueryLog.getEntries();
+    }
+
+    /**
+     * 느린 SQL 기록 비우기
+     */
+    @PostMapping("sql/slow/clear")
+    public void clearSlowQueries() {
+        log.info("느린 SQL 기록 비움");
+        slowQueryLog.clear();
+    }
+
+}
@@ -1,20 +1,31 @@
 package net.datasa.web5.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.domain.dto.BoardWindowDTO;
 import net.datasa.web5.domain.dto.ReplyDTO;
+import net.datasa.web5.repository.BoardListSort;
 import net.datasa.web5.security.AuthenticatedUser;
+import net.datasa.web5.service.BoardReadCache;
 import net.datasa.web5.service.BoardService;
+import net.datasa.web5.service.TitleSuggestIndex;
+import net.datasa.web5.util.StreamingTemplateRenderer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -28,6 +39,9 @@ import java.util.List;
 public class BoardController {
 
     private final BoardService boardService;
+    private final BoardReadCache boardReadCache;
+    private final StreamingTemplateRenderer streamingTemplateRenderer;
+    private final TitleSuggestIndex titleSuggestIndex;
 
     // application.properties 파일의 게시판 관련 설정값
     @Value("${board.pageSize}")
@@ -39,52 +53,98 @@ public class BoardController {
     @Value("${board.uploadPath}")
     String uploadPath;
 
+    @Value("${board.listAll.chunkSize}")
+    int listAllChunkSize;
+
+    @Value("${board.listAll.timeout}")
+    Duration listAllTimeout;
+
     /**
      * 게시판 전체 글 목록. 검색 및 페이지 지정 없이 모두 조회
-     * 
-     * @param model
-     * @return 글 목록 페이지
+     * 글 목록을 DB 커서로 읽으면서 board.listAll.chunkSize 줄마다 화면을 나눠 보낸다.
+     * 클라이언트가 연결을 끊거나 board.listAll.timeout 이 지나면 출력을 멈추고 커넥션을 돌려준다.
+     *
+     * @param request  요청 객체
+     * @param response 응답 객체
      */
     @GetMapping("listAll")
-    public String listAll(Model model) {
-        List<BoardDTO> boardList = boardService.getListAll();
-        model.addAttribute("boardList", boardList);
-        return "boardView/listAll";
+    public void listAll(HttpServletRequest request, HttpServletResponse response) {
+        boardService.streamListAll(rows -> streamingTemplateRenderer.render("boardView/listAll", "boardList"
+                , rows, listAllChunkSize, listAllTimeout, request, response));
     }
 
     /**
      * 게시판 목록을 조회하고 페이징 및 검색 기능을 제공
+     * 정렬 기준(sort)을 고르면 (검색 중이 아닐 때) 페이지 번호 대신 커서로 다음 구간을 읽는 목록을 보여준다.
      *
+     * @param webRequest 요청 정보 (If-None-Match 확인)
+     * @param response   응답 객체
+     * @param user       로그인한 사용자 정보 (없으면 null)
      * @param model      모델 객체
      * @param page       현재 페이지 (default: 0)
      * @param searchType 검색 대상 (default: "")
      * @param searchWord 검색어 (default: "")
-     * @return 글 목록 한 페이지
+     * @param sort       정렬 기준 (views, likes, replies, updated, num. default: "" 글번호 역순 페이지 목록)
+     * @param cursor     정렬 목록의 다음 구간 커서 (첫 구간은 없음)
+     * @return 글 목록 한 페이지 (바뀐 것이 없으면 null, 304 응답)
      */
     @GetMapping("list")
-    public String list(Model model
+    public String list(WebRequest webRequest, HttpServletResponse response
+        , @AuthenticationPrincipal AuthenticatedUser user
+        , Model model
         , @RequestParam(name = "page", defaultValue = "1") int page
         , @RequestParam(name = "searchType", defaultValue = "") String searchType
-        , @RequestParam(name = "searchWord", defaultValue = "") String searchWord) {
+        , @RequestParam(name = "searchWord", defaultValue = "") String searchWord
+        , @RequestParam(name = "sort", defaultValue = "") String sort
+        , @RequestParam(name = "cursor", required = false) String cursor) {
 
         log.debug("설정 값 : pageSize={}, linkSize={}", pageSize, linkSize);
-        log.debug("요청파라미터 : page={}, searchType={}, searchWord={}", page, searchType, searchWord);
+        log.debug("요청파라미터 : page={}, searchType={}, searchWord={}, sort={}", page, searchType, searchWord, sort);
+
+        model.addAttribute("sortList", BoardListSort.values());
+
+        if (!sort.isEmpty() && searchWord.isEmpty()) {
+            BoardListSort listSort = BoardListSort.fromParam(sort);
+            // 조회수, 추천수, 리플수 순서는 글을 읽을 때마다 바뀔 수 있어 글 목록 버전(ETag)으로 확인하지 않고 매번 새로 읽는다.
+            if (!listSort.isCountSort() && checkNotModified(webRequest, response, user
+                    , "sorted", boardService.getListVersion(), listSort.getParam(), cursor, pageSize)) {
+                return null;
+            }
+
+            BoardWindowDTO boardWindow = boardService.getSortedList(sort, cursor, pageSize);
+            model.addAttribute("boardWindow", boardWindow);
+            model.addAttribute("boardList", boardWindow.getBoardList());
+            model.addAttribute("sort", boardWindow.getSort());
+            model.addAttribute("searchType", searchType);
+            model.addAttribute("searchWord", searchWord);
+            return "boardView/list";
+        }
+
+        // 글 목록이 바뀌지 않았으면 목록 조회와 화면 생성 없이 304
+        if (checkNotModified(webRequest, response, user
+                , "list", boardService.getListVersion(), page, pageSize, linkSize, searchType, searchWord)) {
+            return null;
+        }
 
         // 글 목록 1페이지
         Page<BoardDTO> boardPage = boardService.getList(page, pageSize, searchType, searchWord);
 
         model.addAttribute("boardPage", boardPage);
+        model.addAttribute("boardList", boardPage.getContent());
+        model.addAttribute("sort", "");
         model.addAttribute("page", page);
         model.addAttribute("searchType", searchType);
         model.addAttribute("searchWord", searchWord);
         model.addAttribute("linkSize", linkSize);
 
-        log.debug("전체 개수 :{}", boardPage.getTotalElements());
-        log.debug("전체 페이지수 :{}", boardPage.getTotalPages());
-        log.debug("현재 페이지 :{}", boardPage.getNumber());
-        log.debug("페이지당 글수 :{}", boardPage.getSize());
-        log.debug("이전페이지 존재 :{}", boardPage.hasPrevious());
-        log.debug("다음페이지 존재 :{}", boardPage.hasNext());
+        if (log.isDebugEnabled()) {
+            log.debug("전체 개수 :{}", boardPage.getTotalElements());
+            log.debug("전체 페이지수 :{}", boardPage.getTotalPages());
+            log.debug("현재 페이지 :{}", boardPage.getNumber());
+            log.debug("페이지당 글수 :{}", boardPage.getSize());
+            log.debug("이전페이지 존재 :{}", boardPage.hasPrevious());
+            log.debug("다음페이지 존재 :{}", boardPage.hasNext());
+        }
 
         return "boardView/list";
     }
@@ -130,16 +190,37 @@ public class BoardController {
     /**
      * 게시글 상세보기
      * 
-     * @param model    모델
-     * @param boardNum 조회할 글 번호
-     * @return 게시글 상세보기 HTML 경로
+     * @param webRequest 요청 정보 (If-None-Match 확인)
+     * @param response   응답 객체
+     * @param user       로그인한 사용자 정보 (없으면 null)
+     * @param model      모델
+     * @param boardNum   조회할 글 번호
+     * @return 게시글 상세보기 HTML 경로 (바뀐 것이 없으면 null, 304 응답)
      */
     @GetMapping("read")
-    public String read(Model model, @RequestParam("boardNum") int boardNum) {
+    public String read(WebRequest webRequest, HttpServletResponse response
+            , @AuthenticationPrincipal AuthenticatedUser user
+            , Model model, @RequestParam("boardNum") int boardNum) {
         log.debug("조회할 글번호 : {}", boardNum);
 
         try {
-            BoardDTO boardDTO = boardService.getBoard(boardNum);
+            String version = boardService.getBoardVersion(boardNum);
+            // 조회수 증가(주 DB)와 글 조회(읽기 전용, 복제본 가능)는 서로 다른 트랜잭션
+            // 새로고침(304)도 조회로 센다.
+            if (version == null || !boardService.increaseViewCount(boardNum)) {
+                return "redirect:list";
+            }
+            // 글과 리플이 바뀌지 않았으면 글과 리플을 읽지 않고 304
+            if (checkNotModified(webRequest, response, user, "read", boardNum, version)) {
+                return null;
+            }
+            // 같은 글을 동시에 읽는 요청은 DB 조회 한 번을 함께 사용
+            // 캐시의 글이 읽은 버전과 다르면 다시 읽고, 그래도 다르면 화면에 보이는 글의 버전으로 ETag 를 바꾼다.
+            BoardDTO boardDTO = boardReadCache.getBoard(boardNum, version);
+            String renderedVersion = boardService.getBoardVersion(boardDTO);
+            if (!renderedVersion.equals(version)) {
+                response.setHeader(HttpHeaders.ETAG, etag(user, "read", boardNum, renderedVersion));
+            }
 
             model.addAttribute("board", boardDTO);
             return "boardView/read";
@@ -249,9 +330,43 @@ public class BoardController {
         return "redirect:read?boardNum=" + replyDTO.getBoardNum();
     }
     
+    /**
+     * 제목 검색어 자동 완성 (메모리 색인에서 찾으므로 DB 를 읽지 않음)
+     *
+     * @param query 입력 중인 검색어
+     * @return 완성된 검색어 목록 (JSON 배열)
+     */
+    @ResponseBody
+    @GetMapping("suggest")
+    public List<String> suggest(@RequestParam(name = "q", defaultValue = "") String query) {
+        return titleSuggestIndex.suggest(query);
+    }
+
     @GetMapping("download")
     public void download(@RequestParam("boardNum") Integer boardNum
             , HttpServletResponse response){
         boardService.download(boardNum, response, uploadPath);
     }
+
+    /**
+     * 화면 버전으로 ETag 를 만들어 요청의 If-None-Match 와 비교
+     * 로그인 여부와 사용자에 따라 화면(글쓰기, 수정/삭제 버튼 등)이 달라지므로 사용자 아이디도 포함한다.
+     *
+     * @return 바뀐 것이 없으면 true (304 응답 상태가 설정됨)
+     */
+    private boolean checkNotModified(WebRequest webRequest, HttpServletResponse response, AuthenticatedUser user
+            , Object... versionParts) {
+        // 시큐리티 기본값(no-store) 대신 브라우저가 저장하고 매번 ETag 로 확인하도록 지정
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return webRequest.checkNotModified(etag(user, versionParts));
+    }
+
+    // 사용자 아이디와 화면 버전으로 만든 약한(weak) ETag
+    private String etag(AuthenticatedUser user, Object... versionParts) {
+        StringBuilder source = new StringBuilder(user != null ? user.getUsername() : "");
+        for (Object part : versionParts) {
+            source.append('|').append(part);
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
 }
@@ -0,0 +1,61 @@
+package net.datasa.web5.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 최근에 글을 쓴 회원 기록 (자기가 쓴 글 바로 읽기 보장)
+ * <p>
+ * 글/리플을 쓴 회원은 일정 시간(readYourWritesWindow) 동안 읽기 전용 트랜잭션도 주 DB(primary)로 보내,
+ * 복제 지연 때문에 방금 쓴 글이 안 보이는 일이 없도록 한다. 복제본을 쓰지 않을 때는 기록만 하고 영향이 없다.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    // 기록이 이 수를 넘으면 만료된 항목을 정리 (메모리 상한)
+    private static final int CLEANUP_SIZE = 10_000;
+
+    private final Map<String, Long> lastWriteTimes = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(
+            @Value("${board.datasource.replica.readYourWritesWindow:3s}") Duration readYourWritesWindow) {
+        this.windowNanos = readYourWritesWindow.toNanos();
+    }
+
+    /**
+     * 회원의 쓰기 시각 기록
+     *
+     * @param memberId 글을 쓴 회원 아이디
+     */
+    public void markWrite(String memberId) {
+        if (memberId == null) {
+            return;
+        }
+        if (lastWriteTimes.size() >= CLEANUP_SIZE) {
+            long now = System.nanoTime();
+            lastWriteTimes.values().removeIf(time -> now - time > windowNanos);
+        }
+        lastWriteTimes.put(memberId, System.nanoTime());
+    }
+
+    /**
+     * 현재 로그인한 회원이 최근에 글을 썼는지 확인
+     *
+     * @return 주 DB 에서 읽어야 하면 true
+     */
+    public boolean currentUserRecentlyWrote() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        Long lastWrite = lastWriteTimes.get(authentication.getName());
+        return lastWrite != null && System.nanoTime() - lastWrite <= windowNanos;
+    }
+}
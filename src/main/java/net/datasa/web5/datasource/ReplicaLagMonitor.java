@@ -0,0 +1,78 @@
+package net.datasa.web5.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * 복제본의 복제 지연 감시
+ * <p>
+ * lagQuery 로 지연 시간(초)을 주기적으로 확인하여 maxLag 를 넘거나 확인에 실패하면
+ * 복제본을 쓰지 않고 모든 읽기를 주 DB 로 보낸다. lagQuery 가 비어 있으면 지연 확인 없이 항상 사용한다.
+ * MySQL 의 SHOW REPLICA STATUS 처럼 Seconds_Behind_Source 컬럼이 있으면 그 값을, 없으면 첫 번째 컬럼을 사용한다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+
+    private volatile boolean replicaUsable = true;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, Duration maxLag) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toSeconds();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${board.datasource.replica.lagCheckInterval:PT5S}")
+    public void check() {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return;
+        }
+
+        boolean usable;
+        try {
+            Long lagSeconds = replicaJdbcTemplate.query(lagQuery, this::extractLag);
+            usable = lagSeconds != null && lagSeconds <= maxLagSeconds;
+            if (!usable) {
+                log.warn("복제 지연 {}초 (허용 {}초) : 읽기를 주 DB 로 보냄", lagSeconds, maxLagSeconds);
+            }
+        } catch (RuntimeException e) {
+            usable = false;
+            log.warn("복제본 상태 확인 실패 : 읽기를 주 DB 로 보냄", e);
+        }
+
+        if (usable && !replicaUsable) {
+            log.info("복제 지연 정상 : 읽기를 다시 복제본으로 보냄");
+        }
+        replicaUsable = usable;
+    }
+
+    // 복제가 멈춘 경우 지연 값은 null
+    private Long extractLag(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return null;
+        }
+        int column = 1;
+        for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+            String name = rs.getMetaData().getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(name) || "Seconds_Behind_Master".equalsIgnoreCase(name)) {
+                column = i;
+                break;
+            }
+        }
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? null : lag;
+    }
+}
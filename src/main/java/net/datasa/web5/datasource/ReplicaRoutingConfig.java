@@ -0,0 +1,101 @@
+package net.datasa.web5.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 읽기/쓰기 DataSource 분리 설정 (board.datasource.replica.url 을 지정했을 때만 동작)
+ * <p>
+ * 주 DB 는 spring.datasource.*, 복제본은 board.datasource.replica.* 로 각각 커넥션 풀을 만들고,
+ * 트랜잭션이 시작된 뒤 실제 SQL 을 실행할 때 커넥션을 고르도록 LazyConnectionDataSourceProxy 로 감싼다.
+ * (@Transactional(readOnly = true) 여부는 트랜잭션 시작 후에야 알 수 있으므로)
+ * 두 커넥션 풀은 빈이 아니고 LazyConnectionDataSourceProxy 에는 close 가 없으므로, 컨텍스트가 닫힐 때 여기서 닫는다.
+ * (dataSource 빈과 이를 쓰는 빈(JPA 등)이 먼저 정리된 뒤에 호출됨)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "board.datasource.replica", name = "url")
+public class ReplicaRoutingConfig implements DisposableBean {
+
+    private HikariDataSource primaryPool;
+    // 복제본 커넥션 풀은 지연 감시와 라우팅이 함께 사용
+    private HikariDataSource replicaPool;
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(Environment environment
+            , @Value("${board.datasource.replica.lagQuery:SHOW REPLICA STATUS}") String lagQuery
+            , @Value("${board.datasource.replica.maxLag:5s}") Duration maxLag) {
+        return new ReplicaLagMonitor(replicaPool(environment), lagQuery, maxLag);
+    }
+
+    @Primary
+    @Bean
+    public DataSource dataSource(DataSourceProperties primaryProperties, ReplicaLagMonitor replicaLagMonitor
+            , ReadYourWritesTracker readYourWritesTracker, Environment environment
+            , ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = createPool(primaryProperties, "primary", environment, "spring.datasource.hikari");
+        primaryPool = primary;
+        HikariDataSource replica = replicaPool(environment);
+
+        meterRegistry.ifAvailable(registry -> {
+            MicrometerMetricsTrackerFactory trackerFactory = new MicrometerMetricsTrackerFactory(registry);
+            primary.setMetricsTrackerFactory(trackerFactory);
+            replica.setMetricsTrackerFactory(trackerFactory);
+        });
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(readYourWritesTracker, replicaLagMonitor);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primary
+                , ReplicaRoutingDataSource.Route.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private synchronized HikariDataSource replicaPool(Environment environment) {
+        if (replicaPool == null) {
+            DataSourceProperties replicaProperties = Binder.get(environment)
+                    .bind("board.datasource.replica", Bindable.of(DataSourceProperties.class))
+                    .get();
+            replicaPool = createPool(replicaProperties, "replica", environment, "board.datasource.replica.hikari");
+        }
+        return replicaPool;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        for (HikariDataSource pool : new HikariDataSource[] {primaryPool, replicaPool}) {
+            if (pool != null && !pool.isClosed()) {
+                log.info("커넥션 풀 닫기 : {}", pool.getPoolName());
+                pool.close();
+            }
+        }
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, String poolName, Environment environment
+            , String hikariPrefix) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind(hikariPrefix, Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        return pool;
+    }
+}
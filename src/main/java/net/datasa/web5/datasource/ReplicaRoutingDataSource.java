@@ -0,0 +1,36 @@
+package net.datasa.web5.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본(replica), 그 외는 주 DB(primary)로 보내는 DataSource
+ * <p>
+ * 다음 경우에는 읽기 전용이어도 주 DB 를 사용한다.
+ * - 현재 회원이 방금 글을 쓴 경우 (ReadYourWritesTracker)
+ * - 복제 지연이 허용치를 넘었거나 복제본 상태를 확인할 수 없는 경우 (ReplicaLagMonitor)
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReplicaRoutingDataSource(ReadYourWritesTracker readYourWritesTracker, ReplicaLagMonitor replicaLagMonitor) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaLagMonitor.isReplicaUsable()
+                && !readYourWritesTracker.currentUserRecentlyWrote()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -22,9 +22,11 @@ public class BoardDTO {
     private String contents;                        //글 내용
     private Integer viewCount;                      //조회수
     private Integer likeCount;                      //추천수
+    private Integer replyCount;                     //리플수
     private String originalName;                    //첨부파일의 원래 이름
     private String fileName;                        //첨부파일의 저장된 이름
     private LocalDateTime createDate;               //작성 시간
     private LocalDateTime updateDate;               //수정 시간
     private List<ReplyDTO> replyList;               //리플 목록
+    private boolean archived;                       //보관된 글 여부 (읽기만 가능)
 }
@@ -0,0 +1,21 @@
+package net.datasa.web5.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 전체 글 목록 한 줄 DTO (본문, 첨부파일 등 목록에 보이지 않는 컬럼은 읽지 않음)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardSummaryDTO {
+    private Integer boardNum;                       //게시글 일련번호
+    private String title;                           //글 제목
+    private String memberId;                        //작성자 아이디
+    private Integer viewCount;                      //조회수
+    private LocalDateTime createDate;               //작성 시간
+}
@@ -0,0 +1,19 @@
+package net.datasa.web5.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 글 보기 화면 ETag 계산용 버전 정보 DTO (수정 시간, 리플 수, 마지막 리플 번호)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardVersionDTO {
+    private LocalDateTime updateDate;               //수정 시간
+    private Long count;                             //리플 수
+    private Integer maxNum;                         //마지막 리플 번호
+}
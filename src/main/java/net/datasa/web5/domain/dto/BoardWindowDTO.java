@@ -0,0 +1,23 @@
+package net.datasa.web5.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 정렬 기준별 글 목록의 한 구간 (키셋 페이징)
+ * 페이지 번호 대신 마지막 글의 (정렬값, 글번호)를 담은 커서로 다음 구간을 읽는다.
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardWindowDTO {
+    private String sort;                            //정렬 기준 (views, likes, replies, updated, num)
+    private String cursor;                          //이 구간을 읽은 커서 (첫 구간은 null)
+    private String nextCursor;                      //다음 구간 커서 (마지막 구간이면 null)
+    private List<BoardDTO> boardList;               //글 목록
+}
@@ -0,0 +1,20 @@
+package net.datasa.web5.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게시글 일괄 삭제 결과 DTO
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteResultDTO {
+    private int requestedCount;                     //삭제 요청한 글 수 (회원 기준 삭제는 대상 글 수)
+    private int deletedCount;                       //실제로 삭제된 글 수
+    private int batchCount;                         //실행한 배치 수
+    private int attachmentCount;                    //정리 예약된 첨부파일 수
+}
@@ -0,0 +1,24 @@
+package net.datasa.web5.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게시글 일괄 가져오기 결과 DTO
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private String fileName;                        //가져온 파일 이름
+    private long lineCount;                         //읽은 줄 수
+    private long boardCount;                        //저장된 게시글 수
+    private long replyCount;                        //저장된 리플 수
+    private long skippedCount;                      //형식 오류로 건너뛴 줄 수
+    private long unknownMemberCount;                //작성자 아이디가 있지만 회원을 찾지 못해 작성자 없이 저장된 행 수
+    private long elapsedMillis;                     //소요 시간 (ms)
+    private double rowsPerSecond;                   //초당 저장 행 수 (게시글 + 리플)
+}
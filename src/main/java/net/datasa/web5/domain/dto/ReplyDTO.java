@@ -21,4 +21,6 @@ public class ReplyDTO {
     private String memberName;                      //작성자 이름
     private String contents;                        //리플 내용
     private LocalDateTime createDate;               //작성 시간
+    private Integer parentNum;                      //답글을 단 리플 번호 (최상위 리플은 null)
+    private int depth;                              //답글 깊이 (최상위 리플은 0)
 }
@@ -0,0 +1,26 @@
+package net.datasa.web5.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 느린 SQL 기록 DTO
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDTO {
+    private String sql;                             //정규화된 SQL (리터럴, IN 목록 길이, 주석 제거)
+    private List<String> parameters;                //바인딩 파라미터 모양 (값 대신 타입과 문자열 길이)
+    private int batchSize;                          //배치로 실행된 파라미터 묶음 수
+    private long elapsedMillis;                     //실행 시간 (밀리초)
+    private String route;                           //실행한 요청 경로
+    private String traceId;                         //실행한 요청의 추적 ID
+    private LocalDateTime executedAt;               //실행 시간
+}
@@ -0,0 +1,77 @@
+package net.datasa.web5.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보관 게시글 정보 엔티티 (web5_board_archive)
+ * BoardArchiver 가 SQL 로 옮겨 넣으므로 JPA 로는 읽기만 한다.
+ */
+@Getter
+@ToString(exclude = {"member", "contents", "replyList"})
+@NoArgsConstructor
+@Immutable
+@Entity
+@Table(name = "web5_board_archive")
+public class BoardArchiveEntity {
+    // 원래 글번호 그대로 (자동 증가 아님)
+    @Id
+    @Column(name = "board_num")
+    private Integer boardNum;
+
+    // 작성자 정보 (외래키)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", referencedColumnName = "member_id")
+    private MemberEntity member;
+
+    // 글 제목
+    @Column(name = "title")
+    private String title;
+
+    // 글 내용
+    @Column(name = "contents")
+    private String contents;
+
+    // 조회수 (옮긴 시점의 값)
+    @Column(name = "view_count")
+    private Integer viewCount;
+
+    // 추천수
+    @Column(name = "like_count")
+    private Integer likeCount;
+
+    // 리플수
+    @Column(name = "reply_count")
+    private Integer replyCount;
+
+    // 첨부파일의 원래 이름
+    @Column(name = "original_name")
+    private String originalName;
+
+    // 첨부파일의 저장된 이름
+    @Column(name = "file_name")
+    private String fileName;
+
+    // 작성 시간
+    @Column(name = "create_date")
+    private LocalDateTime createDate;
+
+    // 수정 시간
+    @Column(name = "update_date")
+    private LocalDateTime updateDate;
+
+    // 보관 시간
+    @Column(name = "archive_date")
+    private LocalDateTime archiveDate;
+
+    // 게시글의 보관 리플 정보
+    @OneToMany(mappedBy = "board")
+    private List<ReplyArchiveEntity> replyList;
+
+}
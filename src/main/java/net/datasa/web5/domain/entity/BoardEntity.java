@@ -3,8 +3,10 @@ package net.datasa.web5.domain.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,7 +18,10 @@ import java.util.List;
  * 게시글 정보 엔티티
  */
 @Builder
-@Data
+@Getter
+@Setter
+// 로그 출력시 지연 로딩 연관관계(member, replyList)를 읽지 않고 긴 본문(contents)은 출력하지 않도록 제외
+@ToString(exclude = {"member", "contents", "replyList"})
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
@@ -46,12 +51,20 @@ public class BoardEntity {
 
     // 조회수
     @Column(name = "view_count", columnDefinition = "integer default 0")
+    @Builder.Default
     private Integer viewCount = 0;
 
     // 추천수
     @Column(name = "like_count", columnDefinition = "integer default 0")
+    @Builder.Default
     private Integer likeCount = 0;
 
+    // 리플수 (리플 쓰기/삭제 시 BoardRepository.addReplyCount() 로 함께 변경)
+    // columnDefinition 을 쓰면 증감 쿼리의 파라미터 형변환에 그대로 들어가므로 지정하지 않는다. (기본값은 테이블 정의)
+    @Column(name = "reply_count", nullable = false)
+    @Builder.Default
+    private Integer replyCount = 0;
+
     // 첨부파일의 원래 이름
     @Column(name = "original_name")
     private String originalName;
@@ -1,5 +1,6 @@
 package net.datasa.web5.domain.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -8,15 +9,20 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * 회원 정보 Entity
+ * 거의 바뀌지 않고 로그인, 글쓰기마다 조회되므로 2차 캐시(member 영역, application.conf)에 보관한다.
  */
 @Builder
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")
 @Table(name = "web5_member")
 public class MemberEntity {
     @Id
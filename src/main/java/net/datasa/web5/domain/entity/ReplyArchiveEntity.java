@@ -0,0 +1,49 @@
+package net.datasa.web5.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 리플 정보 엔티티 (web5_reply_archive)
+ * 보관 게시글과 함께 옮겨지며 JPA 로는 읽기만 한다.
+ */
+@Getter
+@ToString(exclude = {"board", "member", "contents"})
+@NoArgsConstructor
+@Immutable
+@Entity
+@Table(name = "web5_reply_archive")
+public class ReplyArchiveEntity {
+    // 원래 리플번호 그대로 (자동 증가 아님)
+    @Id
+    @Column(name = "reply_num")
+    private Integer replyNum;
+
+    // 작성자 정보 (외래키)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", referencedColumnName = "member_id")
+    private MemberEntity member;
+
+    // 리플 내용
+    @Column(name = "contents")
+    private String contents;
+
+    // 작성 시간
+    @Column(name = "create_date")
+    private LocalDateTime createDate;
+
+    // 보관 게시글 정보 (외래키)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "board_num")
+    private BoardArchiveEntity board;
+
+    // 답글 경로 (ReplyEntity.replyPath 와 같음)
+    @Column(name = "reply_path")
+    private String replyPath;
+
+}
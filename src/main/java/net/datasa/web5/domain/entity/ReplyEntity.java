@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 // BoardEntity와 ReplyEntity의 순환참조 문제로 toString() 호출시 오류일때 해당 필드를 제외
-@ToString(exclude = "board")
+// 지연 로딩 연관관계(board, member)와 긴 내용(contents)도 로그 출력시 읽지 않도록 제외
+@ToString(exclude = {"board", "member", "contents"})
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
@@ -48,4 +49,9 @@ public class ReplyEntity {
     @JoinColumn(name = "board_num")
     private BoardEntity board;
 
+    // 답글 경로 (조상 리플번호를 10자리씩 이어 붙이고 끝에 자기 번호. 최상위 리플은 자기 번호만)
+    // 경로 순서로 정렬하면 부모 다음에 그 답글들이 오는 깊이 우선 순서가 된다.
+    @Column(name = "reply_path", nullable = false, length = 250)
+    private String replyPath;
+
 }
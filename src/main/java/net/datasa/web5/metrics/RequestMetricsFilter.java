@@ -0,0 +1,58 @@
+package net.datasa.web5.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청 하나에서 실행된 SQL 문 수를 경로(route)별로 기록
+ * <p>
+ * 추적 ID 필터(TraceIdFilter) 바로 다음, 세션 필터와 시큐리티 필터보다 먼저 실행되므로
+ * 세션 조회/저장(web5_session), 로그인 처리(loadUserByUsername) 등 필터에서 실행된 SQL 도 요청의 SQL 수에 들어간다.
+ * 경로 태그는 컨트롤러의 경로 패턴이고, 컨트롤러까지 가지 않은 요청(로그인 처리, 거절된 요청 등)은 UNKNOWN 이다.
+ * 요청 중의 느린 SQL 과 N+1 로그에는 요청 URI 를 남긴다.
+ * <p>
+ * 경로별 응답시간은 스프링이 기본으로 기록하는 http.server.requests 타이머를 사용하고,
+ * Hibernate 통계(hibernate.*, board.metrics.hibernateStatistics 가 true 일 때)와
+ * HikariCP 커넥션 풀(hikaricp.*) 메트릭은 actuator 가 자동으로 등록한다. 모든 메트릭은 /actuator/prometheus 로 수집한다.
+ */
+@RequiredArgsConstructor
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Scope scope = SqlStatementCounter.begin(request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            DistributionSummary.builder("http.server.sql.statements")
+                    .description("요청 하나에서 실행된 SQL 문 수")
+                    .tag("uri", route(request))
+                    .tag("method", request.getMethod())
+                    .register(meterRegistry)
+                    .record(scope.getCount());
+        }
+    }
+
+    private String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,39 @@
+package net.datasa.web5.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서비스 계층 메소드 실행 시간 측정 (board.service 타이머, 클래스/메소드/예외 태그)
+ */
+@RequiredArgsConstructor
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * net.datasa.web5.service.*Service.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("board.service")
+                    .description("서비스 메소드 실행 시간")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
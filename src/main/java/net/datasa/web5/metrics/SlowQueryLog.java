@@ -0,0 +1,72 @@
+package net.datasa.web5.metrics;
+
+import net.datasa.web5.domain.dto.SlowQueryDTO;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 기준 시간보다 오래 걸린 최근 SQL 을 보관하는 고정 크기 링 버퍼
+ * <p>
+ * 가득 차면 가장 오래된 기록부터 덮어쓴다. 기록은 잠금 없이 칸 하나를 차지해 쓰므로
+ * SQL 을 실행한 스레드를 기다리게 하지 않는다. 관리자 기능(/admin/sql/slow)으로 느린 순서대로 확인한다.
+ */
+public class SlowQueryLog {
+
+    private final long thresholdMillis;
+    private final AtomicReferenceArray<SlowQueryDTO> entries;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowQueryLog(Duration threshold, int capacity) {
+        this.thresholdMillis = threshold.toMillis();
+        this.entries = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @param elapsedMillis SQL 실행 시간
+     * @return 기록 대상이면 true
+     */
+    public boolean isSlow(long elapsedMillis) {
+        return entries.length() > 0 && elapsedMillis >= thresholdMillis;
+    }
+
+    /**
+     * 느린 SQL 기록 (가장 오래된 기록을 덮어씀)
+     *
+     * @param entry 느린 SQL 정보
+     */
+    public void add(SlowQueryDTO entry) {
+        int index = (int) (sequence.getAndIncrement() % entries.length());
+        entries.set(index, entry);
+    }
+
+    /**
+     * 보관 중인 기록을 실행 시간이 긴 순서로
+     *
+     * @return 느린 SQL 목록
+     */
+    public List<SlowQueryDTO> getEntries() {
+        List<SlowQueryDTO> list = new ArrayList<>(entries.length());
+        for (int i = 0; i < entries.length(); i++) {
+            SlowQueryDTO entry = entries.get(i);
+            if (entry != null) {
+                list.add(entry);
+            }
+        }
+        list.sort(Comparator.comparingLong(SlowQueryDTO::getElapsedMillis).reversed());
+        return list;
+    }
+
+    /**
+     * 기록 모두 지우기
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+}
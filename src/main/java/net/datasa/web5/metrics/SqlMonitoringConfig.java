@@ -0,0 +1,48 @@
+package net.datasa.web5.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * DataSource 를 datasource-proxy 로 감싸 실행되는 모든 SQL 을 SqlStatementListener 로 전달한다.
+ * 느린 SQL 기록(SlowQueryLog)은 모든 DataSource 가 함께 쓴다.
+ */
+@Configuration
+public class SqlMonitoringConfig {
+
+    @Bean
+    public SlowQueryLog slowQueryLog(@Value("${board.sql.slowThreshold}") Duration threshold
+            , @Value("${board.sql.slowLogSize}") int capacity) {
+        return new SlowQueryLog(threshold, capacity);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSourcePostProcessor(Environment environment
+            , ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                SqlStatementListener listener = new SqlStatementListener(
+                        environment.getProperty("board.sql.repeatThreshold", Integer.class, 10)
+                        , environment.getProperty("board.sql.stackSampleRate", Double.class, 0.1)
+                        , slowQueryLog.getObject());
+
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .build();
+            }
+        };
+    }
+}
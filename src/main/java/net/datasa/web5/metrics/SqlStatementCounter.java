@@ -0,0 +1,114 @@
+package net.datasa.web5.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 현재 스레드에서 실행된 SQL 문 수를 범위(Scope) 단위로 센다.
+ * <p>
+ * JDBC 수준(SqlStatementListener)에서 집계하므로 JPA, JdbcTemplate 등 어떤 경로로 실행된 SQL 도 포함된다.
+ * 요청 하나는 RequestMetricsFilter 가 범위를 열고 닫으며, 테스트에서는 직접 범위를 열어
+ * "최대 N개의 쿼리" 를 확인할 수 있다. 범위는 중첩될 수 있고 안쪽 범위의 SQL 은 바깥 범위에도 더해진다.
+ *
+ * <pre>
+ * try (SqlStatementCounter.Scope scope = SqlStatementCounter.begin("test")) {
+ *     mockMvc.perform(get("/board/list"));
+ *     assertThat(scope.getCount()).isLessThanOrEqualTo(2);
+ * }
+ * </pre>
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * 새 범위 시작
+     *
+     * @param route 범위 이름 (요청 경로 등)
+     * @return 시작된 범위 (close 로 종료)
+     */
+    public static Scope begin(String route) {
+        Scope scope = new Scope(route, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * 현재 스레드의 범위 (없으면 null)
+     *
+     * @return 현재 범위
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * SQL 한 문장 실행을 현재 범위와 바깥 범위에 기록
+     *
+     * @param shape 정규화된 SQL
+     * @return 가장 안쪽 범위에서 이 모양의 SQL 이 실행된 횟수 (범위가 없으면 0)
+     */
+    static int record(String shape) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return 0;
+        }
+        int repeat = scope.add(shape);
+        for (Scope outer = scope.parent; outer != null; outer = outer.parent) {
+            outer.add(shape);
+        }
+        return repeat;
+    }
+
+    /**
+     * SQL 실행 횟수를 세는 범위
+     */
+    public static final class Scope implements AutoCloseable {
+        private final String route;
+        private final Scope parent;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int count;
+
+        private Scope(String route, Scope parent) {
+            this.route = route;
+            this.parent = parent;
+        }
+
+        private int add(String shape) {
+            count++;
+            return shapes.merge(shape, 1, Integer::sum);
+        }
+
+        public String getRoute() {
+            return route;
+        }
+
+        /**
+         * @return 범위 안에서 실행된 SQL 문 수
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return 정규화된 SQL 모양별 실행 횟수
+         */
+        public Map<String, Integer> getShapes() {
+            return shapes;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent != null) {
+                    CURRENT.set(parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+}
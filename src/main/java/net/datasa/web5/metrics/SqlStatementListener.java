@@ -0,0 +1,129 @@
+package net.datasa.web5.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.domain.dto.SlowQueryDTO;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.MDC;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC 수준에서 실행된 SQL 을 SqlStatementCounter 에 기록하고 N+1 을 감지한다.
+ * <p>
+ * 한 요청 안에서 같은 모양의 SQL 이 repeatThreshold 번을 넘으면 경로와 SQL 을 경고로 남기고,
+ * stackSampleRate 비율만큼은 호출 위치를 찾을 수 있도록 스택 트레이스를 함께 남긴다.
+ * 기준 시간보다 오래 걸린 SQL 은 경로, 추적 ID, 파라미터 모양과 함께 SlowQueryLog 에 남긴다.
+ */
+@Slf4j
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int repeatThreshold;
+    private final double stackSampleRate;
+    private final SlowQueryLog slowQueryLog;
+
+    public SqlStatementListener(int repeatThreshold, double stackSampleRate, SlowQueryLog slowQueryLog) {
+        this.repeatThreshold = repeatThreshold;
+        this.stackSampleRate = stackSampleRate;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            String shape = normalize(queryInfo.getQuery());
+            int repeat = SqlStatementCounter.record(shape);
+
+            // 기준을 넘는 순간 한 번만 기록
+            if (repeatThreshold > 0 && repeat == repeatThreshold + 1) {
+                warnRepeated(shape, repeat);
+            }
+
+            if (slowQueryLog.isSlow(execInfo.getElapsedTime())) {
+                recordSlow(execInfo, queryInfo, shape);
+            }
+        }
+    }
+
+    private void recordSlow(ExecutionInfo execInfo, QueryInfo queryInfo, String shape) {
+        SqlStatementCounter.Scope scope = SqlStatementCounter.current();
+        List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+
+        slowQueryLog.add(SlowQueryDTO.builder()
+                .sql(shape)
+                .parameters(parametersList.isEmpty() ? List.of() : parameterShapes(parametersList.get(0)))
+                .batchSize(parametersList.size())
+                .elapsedMillis(execInfo.getElapsedTime())
+                .route(scope != null ? scope.getRoute() : null)
+                .traceId(MDC.get(TraceIdFilter.MDC_KEY))
+                .executedAt(LocalDateTime.now())
+                .build());
+    }
+
+    // 값은 남기지 않고 타입(문자열은 길이 포함)만 파라미터를 설정한 순서대로
+    private List<String> parameterShapes(List<ParameterSetOperation> operations) {
+        List<String> shapes = new ArrayList<>(operations.size());
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            Object value = args.length > 1 ? args[1] : null;
+            if (value == null || ParameterSetOperation.isSetNullParameterOperation(operation)) {
+                shapes.add("null");
+            } else if (value instanceof CharSequence text) {
+                shapes.add("String(" + text.length() + ")");
+            } else {
+                shapes.add(value.getClass().getSimpleName());
+            }
+        }
+        return shapes;
+    }
+
+    private void warnRepeated(String shape, int repeat) {
+        String route = SqlStatementCounter.current().getRoute();
+        if (ThreadLocalRandom.current().nextDouble() < stackSampleRate) {
+            log.warn("N+1 의심 : {} 에서 같은 SQL 이 {}번 이상 실행됨 : {}\n{}", route, repeat, shape, appStackTrace());
+        } else {
+            log.warn("N+1 의심 : {} 에서 같은 SQL 이 {}번 이상 실행됨 : {}", route, repeat, shape);
+        }
+    }
+
+    // 애플리케이션 코드 프레임만 추린 호출 위치
+    private String appStackTrace() {
+        return Arrays.stream(new Throwable().getStackTrace())
+                .filter(frame -> frame.getClassName().startsWith("net.datasa.web5"))
+                .filter(frame -> !frame.getClassName().startsWith("net.datasa.web5.metrics"))
+                .map(frame -> "\tat " + frame)
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * 주석, 리터럴, IN 목록 길이를 지운 SQL 모양
+     *
+     * @param sql 실행된 SQL
+     * @return 정규화된 SQL
+     */
+    public static String normalize(String sql) {
+        String shape = COMMENT.matcher(sql).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
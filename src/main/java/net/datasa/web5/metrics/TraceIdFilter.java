@@ -0,0 +1,49 @@
+package net.datasa.web5.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 요청마다 추적 ID(trace ID)를 정해 MDC(traceId)와 응답 헤더(X-Trace-Id)에 넣는다.
+ * <p>
+ * 시큐리티 필터보다 먼저 실행되므로 로그인 처리 중의 SQL 과 로그에도 같은 ID 가 붙는다.
+ * 앞단(프록시 등)이 X-Trace-Id 헤더를 보내면 안전한 형식일 때만 그대로 사용한다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TraceIdFilter extends OncePerRequestFilter {
+
+    public static final String MDC_KEY = "traceId";
+    public static final String HEADER = "X-Trace-Id";
+
+    // SQL 주석과 로그에 그대로 넣으므로 영문, 숫자, - 만 허용
+    private static final Pattern SAFE_ID = Pattern.compile("[A-Za-z0-9-]{8,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String traceId = request.getHeader(HEADER);
+        if (traceId == null || !SAFE_ID.matcher(traceId).matches()) {
+            traceId = UUID.randomUUID().toString().replace("-", "");
+        }
+
+        MDC.put(MDC_KEY, traceId);
+        response.setHeader(HEADER, traceId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
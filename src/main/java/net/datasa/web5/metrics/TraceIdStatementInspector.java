@@ -0,0 +1,23 @@
+package net.datasa.web5.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.MDC;
+
+/**
+ * Hibernate 가 실행하는 모든 SQL 끝에 현재 요청의 추적 ID 를 "trace:추적ID" 주석으로 붙인다.
+ * <p>
+ * MySQL 의 slow query log, processlist 에서 본 SQL 을 애플리케이션 로그의 요청과 연결할 수 있다.
+ * 요청 밖(스케줄러, 시작 시 데우기 등)에서 실행된 SQL 은 그대로 둔다.
+ * SqlStatementListener 의 정규화는 주석을 지우므로 N+1 감지와 느린 SQL 기록의 SQL 모양에는 영향이 없다.
+ */
+public class TraceIdStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        String traceId = MDC.get(TraceIdFilter.MDC_KEY);
+        if (traceId == null) {
+            return sql;
+        }
+        return sql + " /* trace:" + traceId + " */";
+    }
+}
@@ -0,0 +1,54 @@
+package net.datasa.web5.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 첨부파일 저장/읽기 하나의 JFR 이벤트
+ * <p>
+ * 만들면서 시간 측정을 시작하고 finish() 로 바이트 수를 기록한다. 기록 중이 아니면 거의 비용이 없다.
+ */
+@Name("web5.AttachmentIo")
+@Label("Web5 Attachment I/O")
+@Category({"Web5", "I/O"})
+@Description("첨부파일 저장/읽기 시간과 바이트 수")
+@StackTrace(false)
+public class AttachmentIoEvent extends Event {
+
+    @Label("Direction")
+    String direction;
+
+    @Label("File Name")
+    String fileName;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    /**
+     * @param direction upload 또는 download
+     * @param fileName  저장된 파일 이름
+     */
+    public AttachmentIoEvent(String direction, String fileName) {
+        this.direction = direction;
+        this.fileName = fileName;
+        begin();
+    }
+
+    /**
+     * 측정을 끝내고 기록
+     *
+     * @param bytes 저장/읽은 바이트 수
+     */
+    public void finish(long bytes) {
+        if (shouldCommit()) {
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package net.datasa.web5.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 관리자 요청으로 정해진 시간 동안만 JFR 레코딩을 실행하고 결과(.jfr)를 출력 스트림으로 보낸다.
+ * <p>
+ * 레코딩이 없을 때는 web5.* 이벤트가 기록되지 않으므로 평소 부하는 거의 없다.
+ * 동시에 하나의 레코딩만 실행한다.
+ */
+@Slf4j
+@Component
+public class JfrRecordingService {
+
+    // 항상 기록할 이 애플리케이션의 이벤트 (설정 파일과 관계없이 임계값 없이 기록)
+    private static final List<Class<? extends jdk.jfr.Event>> APPLICATION_EVENTS = List.of(
+            RequestEvent.class, ViewRenderEvent.class, ServiceCallEvent.class
+            , AttachmentIoEvent.class, PasswordHashEvent.class);
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // application.properties 파일의 프로파일링 관련 설정값
+    @Value("${board.profiling.maxDuration}")
+    Duration maxDuration;
+
+    // JDK 기본 설정 이름 (default: 약 1% 부하, profile: 약 2% 부하로 메소드 샘플링을 더 자주 함)
+    @Value("${board.profiling.settings}")
+    String settings;
+
+    /**
+     * 정해진 시간 동안 레코딩한 뒤 .jfr 파일 내용을 출력
+     *
+     * @param duration 레코딩 시간 (board.profiling.maxDuration 이하)
+     * @param out      출력 스트림 (닫지 않는다)
+     * @return 출력한 바이트 수
+     * @throws IOException 레코딩 파일을 읽거나 출력하지 못했을 때 예외
+     */
+    public long record(Duration duration, OutputStream out) throws IOException {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("레코딩 시간은 0보다 크고 " + maxDuration + " 이하여야 합니다.");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 JFR 레코딩이 실행 중입니다.");
+        }
+
+        try (Recording recording = new Recording(configuration())) {
+            recording.setName("web5-admin");
+            recording.setToDisk(true);
+            for (Class<? extends jdk.jfr.Event> eventClass : APPLICATION_EVENTS) {
+                recording.enable(eventClass).withoutThreshold();
+            }
+
+            log.info("JFR 레코딩 시작 : {} ({})", duration, settings);
+            recording.start();
+            try {
+                Thread.sleep(duration.toMillis());
+            } catch (InterruptedException e) {
+                // 중단되면 그때까지 기록한 내용을 보낸다.
+                Thread.currentThread().interrupt();
+            }
+            recording.stop();
+
+            try (InputStream in = recording.getStream(null, null)) {
+                long bytes = in != null ? in.transferTo(out) : 0;
+                log.info("JFR 레코딩 완료 : {}바이트", bytes);
+                return bytes;
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Configuration configuration() throws IOException {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (ParseException e) {
+            throw new IOException("JFR 설정을 읽지 못했습니다 : " + settings, e);
+        }
+    }
+}
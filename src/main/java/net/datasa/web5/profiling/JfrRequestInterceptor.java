@@ -0,0 +1,92 @@
+package net.datasa.web5.profiling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * 게시판/회원 요청의 JFR 이벤트 기록
+ * <p>
+ * 요청 전체(web5.Request)와 핸들러가 끝난 뒤의 화면 출력(web5.ViewRender)을 나눠 기록하므로,
+ * 같은 요청의 web5.ServiceCall 이벤트와 함께 보면 SQL/지연 로딩과 Thymeleaf 출력 중 어디에서 시간이 걸렸는지 알 수 있다.
+ * 기록 중인 JFR 레코딩이 없으면 이벤트 객체 하나만 만들고 넘어간다.
+ */
+@Component
+public class JfrRequestInterceptor implements HandlerInterceptor {
+
+    private static final String REQUEST_EVENT = JfrRequestInterceptor.class.getName() + ".REQUEST_EVENT";
+    private static final String RENDER_EVENT = JfrRequestInterceptor.class.getName() + ".RENDER_EVENT";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestEvent event = new RequestEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(REQUEST_EVENT, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler
+            , ModelAndView modelAndView) {
+        if (request.getAttribute(REQUEST_EVENT) == null) {
+            return;
+        }
+        ViewRenderEvent event = new ViewRenderEvent();
+        event.view = modelAndView != null ? modelAndView.getViewName() : null;
+        event.begin();
+        request.setAttribute(RENDER_EVENT, event);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler
+            , Exception ex) {
+        if (!(request.getAttribute(REQUEST_EVENT) instanceof RequestEvent event)) {
+            return;
+        }
+        request.removeAttribute(REQUEST_EVENT);
+        String route = route(request);
+        int boardNum = boardNum(request);
+
+        if (request.getAttribute(RENDER_EVENT) instanceof ViewRenderEvent renderEvent) {
+            request.removeAttribute(RENDER_EVENT);
+            renderEvent.end();
+            if (renderEvent.shouldCommit()) {
+                renderEvent.route = route;
+                renderEvent.boardNum = boardNum;
+                renderEvent.commit();
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.route = route;
+            event.method = request.getMethod();
+            event.boardNum = boardNum;
+            event.status = response.getStatus();
+            event.commit();
+        }
+    }
+
+    private String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+
+    // 글번호 파라미터가 없거나 숫자가 아니면 0
+    private int boardNum(HttpServletRequest request) {
+        String value = request.getParameter("boardNum");
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package net.datasa.web5.profiling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서비스 계층 메소드 호출을 JFR 이벤트(web5.ServiceCall)로 기록
+ * <p>
+ * boardNum 이라는 이름의 인자가 있으면 글번호도 함께 남긴다.
+ * 기록 중인 JFR 레코딩이 없으면 바로 원래 메소드를 실행한다.
+ */
+@Aspect
+@Component
+public class JfrServiceAspect {
+
+    @Around("execution(public * net.datasa.web5.service.*Service.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        String exception = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.boardNum = boardNum(joinPoint);
+                event.exception = exception;
+                event.commit();
+            }
+        }
+    }
+
+    private int boardNum(ProceedingJoinPoint joinPoint) {
+        String[] names = ((CodeSignature) joinPoint.getSignature()).getParameterNames();
+        if (names == null) {
+            return 0;
+        }
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < args.length; i++) {
+            if ("boardNum".equals(names[i]) && args[i] instanceof Integer boardNum) {
+                return boardNum;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,22 @@
+package net.datasa.web5.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * BCrypt 암호화/비교 하나의 JFR 이벤트
+ */
+@Name("web5.PasswordHash")
+@Label("Web5 Password Hash")
+@Category({"Web5", "Security"})
+@Description("BCrypt 암호화/비교 시간")
+@StackTrace(false)
+class PasswordHashEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+}
@@ -0,0 +1,41 @@
+package net.datasa.web5.profiling;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt 암호화/비교 시간을 JFR 이벤트(web5.PasswordHash)로 남기는 PasswordEncoder
+ * <p>
+ * 회원가입/정보수정의 암호화와 로그인의 비밀번호 비교가 모두 이 빈을 거친다.
+ */
+public class ProfiledPasswordEncoder extends BCryptPasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            return super.encode(rawPassword);
+        } finally {
+            commit(event, "encode");
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            return super.matches(rawPassword, encodedPassword);
+        } finally {
+            commit(event, "matches");
+        }
+    }
+
+    // 기록 중이 아니면 필드를 채우지 않고 넘어간다.
+    private void commit(PasswordHashEvent event, String operation) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package net.datasa.web5.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * JFR 이벤트 기록 설정
+ * <p>
+ * 게시판/회원 경로의 요청 이벤트(JfrRequestInterceptor)를 연결한다.
+ * 서비스 호출은 JfrServiceAspect, 첨부파일 입출력은 AttachmentUtil, BCrypt 는 ProfiledPasswordEncoder 가 기록하고,
+ * 레코딩은 관리자 기능(/admin/profiling/record)으로 필요할 때만 실행한다.
+ */
+@RequiredArgsConstructor
+@Configuration
+public class ProfilingConfig implements WebMvcConfigurer {
+
+    private final JfrRequestInterceptor jfrRequestInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(jfrRequestInterceptor).addPathPatterns("/board/**", "/member/**");
+    }
+}
@@ -0,0 +1,31 @@
+package net.datasa.web5.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 게시판/회원 컨트롤러 요청 하나의 JFR 이벤트 (핸들러 실행부터 화면 출력까지)
+ */
+@Name("web5.Request")
+@Label("Web5 Request")
+@Category({"Web5", "HTTP"})
+@Description("게시판/회원 요청 처리 시간")
+@StackTrace(false)
+class RequestEvent extends Event {
+
+    @Label("Route")
+    String route;
+
+    @Label("Method")
+    String method;
+
+    @Label("Board Number")
+    int boardNum;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,31 @@
+package net.datasa.web5.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 서비스 메소드 호출 하나의 JFR 이벤트 (SQL, 지연 로딩 시간 포함)
+ */
+@Name("web5.ServiceCall")
+@Label("Web5 Service Call")
+@Category({"Web5", "Service"})
+@Description("서비스 메소드 실행 시간")
+@StackTrace(false)
+class ServiceCallEvent extends Event {
+
+    @Label("Class")
+    String className;
+
+    @Label("Method")
+    String method;
+
+    @Label("Board Number")
+    int boardNum;
+
+    @Label("Exception")
+    String exception;
+}
@@ -0,0 +1,28 @@
+package net.datasa.web5.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 핸들러가 끝난 뒤 화면(Thymeleaf) 출력에 걸린 시간의 JFR 이벤트
+ */
+@Name("web5.ViewRender")
+@Label("Web5 View Render")
+@Category({"Web5", "HTTP"})
+@Description("컨트롤러 실행 후 화면 출력 시간")
+@StackTrace(false)
+class ViewRenderEvent extends Event {
+
+    @Label("Route")
+    String route;
+
+    @Label("View")
+    String view;
+
+    @Label("Board Number")
+    int boardNum;
+}
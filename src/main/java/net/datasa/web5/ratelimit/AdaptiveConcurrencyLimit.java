@@ -0,0 +1,80 @@
+package net.datasa.web5.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 응답시간에 따라 동시 처리 수 상한을 조절하는 AIMD 방식 제한
+ * <p>
+ * 상한까지 찬 상태에서 들어온 요청은 기다리지 않고 바로 거절한다.
+ * 응답이 latencyThreshold 안에 끝나면 상한을 조금씩(1/상한) 늘리고,
+ * 느리거나 실패하면 backoffRatio 를 곱해 빠르게 줄인다. (덧셈 증가, 곱셈 감소)
+ * 상한의 절반도 쓰지 않는 한가한 상태에서는 늘리지 않는다.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * 처리 시작. true 를 돌려받았으면 끝날 때 반드시 release() 를 호출한다.
+     *
+     * @return 상한 안이면 true, 넘으면 false (거절)
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 처리 종료. 걸린 시간과 성공 여부로 상한을 조절한다.
+     *
+     * @param latencyNanos 처리 시간(나노초)
+     * @param failed       오류로 끝났으면 true
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public String toString() {
+        return "limit=" + getLimit() + ", inFlight=" + getInFlight()
+                + ", latencyThreshold=" + TimeUnit.NANOSECONDS.toMillis(latencyThresholdNanos) + "ms";
+    }
+}
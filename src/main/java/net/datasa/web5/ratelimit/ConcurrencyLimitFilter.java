@@ -0,0 +1,167 @@
+package net.datasa.web5.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jakarta.servlet.http.Part;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.ratelimit.ConcurrencyLimiter.Partition;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * 게시판 경로의 동시 처리 수 제한 (ConcurrencyLimiter)
+ * <p>
+ * 시큐리티 필터 체인에서 회원별 쓰기 요청 제한(WriteRateLimitFilter) 다음에 두어,
+ * DispatcherServlet 이 multipart 본문을 읽기 전에 거절한다. (거절된 업로드는 본문을 임시 파일로 받지 않고 503)
+ * 다운로드는 파일을 보내는 시간이 클라이언트 대역폭에 달려 있으므로, 첫 바이트를 쓰기 전까지(글 조회, 파일 열기)만
+ * 처리 시간으로 잰다. 처리 자리는 전송이 끝날 때까지 잡고 있는다.
+ * 업로드(multipart 쓰기 요청)도 같은 이유로 본문을 다 받은 뒤(DispatcherServlet 의 multipart 처리)부터 잰다.
+ * 처리 자리는 업로드를 받는 동안에도 잡고 있는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return ConcurrencyLimiter.partitionOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Partition partition = ConcurrencyLimiter.partitionOf(request);
+        if (!concurrencyLimiter.tryAcquire(partition)) {
+            log.info("동시 처리 수 초과로 거절 : {} {} (limit={})", partition, request.getRequestURI()
+                    , concurrencyLimiter.getLimit(partition));
+
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도하세요.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        PartsTimingRequest upload = partition == Partition.WRITE ? new PartsTimingRequest(request) : null;
+        FirstByteTimingResponse timed = partition == Partition.DOWNLOAD ? new FirstByteTimingResponse(response) : null;
+        boolean failed = true;
+        try {
+            filterChain.doFilter(upload != null ? upload : request, timed != null ? timed : response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            if (upload != null && upload.partsReadNanos != 0) {
+                start = upload.partsReadNanos;
+            }
+            long end = timed != null && timed.firstByteNanos != 0 ? timed.firstByteNanos : System.nanoTime();
+            concurrencyLimiter.release(partition, end - start, failed);
+        }
+    }
+
+    /**
+     * multipart 본문을 다 읽은 시간을 기록하는 요청
+     */
+    private static class PartsTimingRequest extends HttpServletRequestWrapper {
+
+        private long partsReadNanos;
+
+        PartsTimingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public Collection<Part> getParts() throws IOException, ServletException {
+            Collection<Part> parts = super.getParts();
+            mark();
+            return parts;
+        }
+
+        @Override
+        public Part getPart(String name) throws IOException, ServletException {
+            Part part = super.getPart(name);
+            mark();
+            return part;
+        }
+
+        private void mark() {
+            if (partsReadNanos == 0) {
+                partsReadNanos = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * 처음 본문을 쓰는 시간을 기록하는 응답
+     */
+    private static class FirstByteTimingResponse extends HttpServletResponseWrapper {
+
+        private long firstByteNanos;
+        private ServletOutputStream outputStream;
+
+        FirstByteTimingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        mark();
+                        delegate.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        mark();
+                        delegate.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        private void mark() {
+            if (firstByteNanos == 0) {
+                firstByteNanos = System.nanoTime();
+            }
+        }
+    }
+}
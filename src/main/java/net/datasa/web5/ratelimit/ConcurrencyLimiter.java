@@ -0,0 +1,113 @@
+package net.datasa.web5.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 게시판 DB 작업 경로의 동시 처리 수 제한 (읽기, 쓰기, 다운로드, 전체 목록 출력을 따로 제한)
+ * <p>
+ * DB 가 느려지면 각 구역의 상한이 줄어들고, 상한을 넘은 요청은 커넥션 풀에서 기다리지 않고 바로 거절한다.
+ * 구역이 나뉘어 있으므로 쓰기가 몰려 쓰기 상한이 줄어도 글 읽기(/board/read)는 자기 상한 안에서 계속 처리된다.
+ * 전체 목록(/board/listAll)은 출력하는 동안 DB 커서와 커넥션을 잡고 있으므로 작은 상한의 STREAM 구역으로 따로 둔다.
+ * 요청 처리 중 확인과 반납은 ConcurrencyLimitFilter 가 한다.
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    /**
+     * 제한 구역
+     */
+    public enum Partition {
+        READ, WRITE, DOWNLOAD, STREAM
+    }
+
+    private final Map<Partition, AdaptiveConcurrencyLimit> limits = new EnumMap<>(Partition.class);
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimiter(MeterRegistry meterRegistry
+            , @Value("${board.concurrency.read.initialLimit}") int readInitialLimit
+            , @Value("${board.concurrency.read.maxLimit}") int readMaxLimit
+            , @Value("${board.concurrency.read.latencyThreshold}") Duration readLatencyThreshold
+            , @Value("${board.concurrency.write.initialLimit}") int writeInitialLimit
+            , @Value("${board.concurrency.write.maxLimit}") int writeMaxLimit
+            , @Value("${board.concurrency.write.latencyThreshold}") Duration writeLatencyThreshold
+            , @Value("${board.concurrency.download.initialLimit}") int downloadInitialLimit
+            , @Value("${board.concurrency.download.maxLimit}") int downloadMaxLimit
+            , @Value("${board.concurrency.download.latencyThreshold}") Duration downloadLatencyThreshold
+            , @Value("${board.concurrency.stream.initialLimit}") int streamInitialLimit
+            , @Value("${board.concurrency.stream.maxLimit}") int streamMaxLimit
+            , @Value("${board.concurrency.stream.latencyThreshold}") Duration streamLatencyThreshold) {
+        this.meterRegistry = meterRegistry;
+        limits.put(Partition.READ, new AdaptiveConcurrencyLimit(
+                readInitialLimit, 1, readMaxLimit, readLatencyThreshold.toNanos()));
+        limits.put(Partition.WRITE, new AdaptiveConcurrencyLimit(
+                writeInitialLimit, 1, writeMaxLimit, writeLatencyThreshold.toNanos()));
+        limits.put(Partition.DOWNLOAD, new AdaptiveConcurrencyLimit(
+                downloadInitialLimit, 1, downloadMaxLimit, downloadLatencyThreshold.toNanos()));
+        limits.put(Partition.STREAM, new AdaptiveConcurrencyLimit(
+                streamInitialLimit, 1, streamMaxLimit, streamLatencyThreshold.toNanos()));
+
+        limits.forEach((partition, limit) -> {
+            String name = partition.name().toLowerCase();
+            Gauge.builder("board.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("구역별 동시 처리 수 상한")
+                    .tag("partition", name)
+                    .register(meterRegistry);
+            Gauge.builder("board.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("구역별 처리 중인 요청 수")
+                    .tag("partition", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * 구역의 처리 자리를 얻는다. 상한에 닿았으면 기다리지 않고 false
+     */
+    public boolean tryAcquire(Partition partition) {
+        if (limits.get(partition).tryAcquire()) {
+            return true;
+        }
+        meterRegistry.counter("board.concurrency.rejected", "partition", partition.name().toLowerCase())
+                .increment();
+        return false;
+    }
+
+    /**
+     * 처리 자리를 돌려주고 처리 시간과 실패 여부로 상한을 조정
+     */
+    public void release(Partition partition, long latencyNanos, boolean failed) {
+        limits.get(partition).release(latencyNanos, failed);
+    }
+
+    /**
+     * 구역의 현재 상한
+     */
+    public int getLimit(Partition partition) {
+        return limits.get(partition).getLimit();
+    }
+
+    /**
+     * 요청 경로로 구역 결정. DB 를 쓰지 않는 화면(글쓰기 폼 등)이나 관리자 일괄 작업은 제한하지 않는다.
+     */
+    static Partition partitionOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean post = "POST".equals(request.getMethod());
+
+        return switch (path) {
+            case "/board/list", "/board/read" -> Partition.READ;
+            case "/board/listAll" -> Partition.STREAM;
+            case "/board/update" -> post ? Partition.WRITE : Partition.READ;
+            case "/board/write" -> post ? Partition.WRITE : null;
+            case "/board/delete", "/board/replyWrite", "/board/replyDelete" -> Partition.WRITE;
+            case "/board/download" -> Partition.DOWNLOAD;
+            default -> null;
+        };
+    }
+}
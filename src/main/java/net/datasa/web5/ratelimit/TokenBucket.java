@@ -0,0 +1,68 @@
+package net.datasa.web5.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 토큰 버킷 (잠금 없이 CAS 로 갱신)
+ * <p>
+ * capacity 만큼 한 번에 쓸 수 있고, 초당 refillPerSecond 씩 다시 채워진다.
+ * 채우기는 별도 스레드 없이 요청이 올 때 지난 시간만큼 계산해서 더한다.
+ */
+class TokenBucket {
+
+    private record State(double tokens, long timeNanos) {
+    }
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000.0;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * 토큰 사용
+     * capacity 보다 큰 요청은 capacity 로 계산한다. (버킷이 가득 찼을 때만 통과)
+     *
+     * @param amount   사용할 토큰 수
+     * @param nowNanos 현재 시각 (System.nanoTime())
+     * @return 통과하면 0, 거절하면 필요한 토큰이 찰 때까지 기다려야 하는 시간(나노초)
+     */
+    long tryAcquire(long amount, long nowNanos) {
+        double needed = Math.min(amount, capacity);
+        while (true) {
+            State current = state.get();
+            double tokens = refill(current, nowNanos);
+            if (tokens < needed) {
+                return (long) Math.ceil((needed - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - needed, Math.max(current.timeNanos(), nowNanos)))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 사용한 토큰 되돌리기 (여러 버킷 중 뒤의 것에서 거절된 경우)
+     *
+     * @param amount 되돌릴 토큰 수
+     */
+    void release(long amount) {
+        double returned = Math.min(amount, capacity);
+        while (true) {
+            State current = state.get();
+            State updated = new State(Math.min(capacity, current.tokens() + returned), current.timeNanos());
+            if (state.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private double refill(State current, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.timeNanos());
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+}
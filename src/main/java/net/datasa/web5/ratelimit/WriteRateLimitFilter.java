@@ -0,0 +1,97 @@
+package net.datasa.web5.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.ratelimit.WriteRateLimiter.Budget;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 글쓰기, 글수정, 리플쓰기 요청의 회원별 횟수/업로드 용량 제한
+ * <p>
+ * 시큐리티 필터 체인의 인가(AuthorizationFilter) 다음에 두어 로그인한 회원 아이디를 알 수 있고,
+ * DispatcherServlet 이 multipart 본문을 읽기 전에 실행되므로 거절된 요청은 본문 파싱이나 DB 작업 없이 429 로 끝난다.
+ * 업로드 용량은 본문을 읽지 않고 Content-Length 로 계산한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class WriteRateLimitFilter extends OncePerRequestFilter {
+
+    private final WriteRateLimiter writeRateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || budgetsFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = writeRateLimiter.tryAcquire(authentication.getName(), budgetsFor(request));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+            log.info("쓰기 요청 제한 : {} {} ({}초 후 재시도)", authentication.getName(), request.getRequestURI()
+                    , retryAfterSeconds);
+
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("요청이 너무 많습니다. " + retryAfterSeconds + "초 후에 다시 시도하세요.");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 경로별 사용량. 제한 대상이 아니면 null
+     */
+    private Map<Budget, Long> budgetsFor(HttpServletRequest request) {
+        Map<Budget, Long> amounts = new EnumMap<>(Budget.class);
+        switch (request.getRequestURI().substring(request.getContextPath().length())) {
+            case "/board/write":
+                amounts.put(Budget.POST, 1L);
+                addUploadBytes(request, amounts);
+                break;
+            case "/board/update":
+                addUploadBytes(request, amounts);
+                break;
+            case "/board/replyWrite":
+                amounts.put(Budget.REPLY, 1L);
+                break;
+            default:
+                return null;
+        }
+        return amounts;
+    }
+
+    // 길이를 모르는 multipart 요청(chunked)은 업로드 한도 전체로 계산
+    private void addUploadBytes(HttpServletRequest request, Map<Budget, Long> amounts) {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            return;
+        }
+        long length = request.getContentLengthLong();
+        amounts.put(Budget.UPLOAD_BYTES, length >= 0 ? length : Long.MAX_VALUE);
+    }
+}
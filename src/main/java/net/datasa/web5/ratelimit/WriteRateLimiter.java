@@ -0,0 +1,89 @@
+package net.datasa.web5.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 회원별 쓰기 요청 제한 (글쓰기, 리플쓰기, 업로드 바이트 수를 따로 제한)
+ * <p>
+ * 회원마다 용도별 토큰 버킷을 두고, 버킷은 크기 제한과 미사용 만료가 있는 캐시에 보관하여 메모리를 제한한다.
+ * 오래 쓰지 않아 캐시에서 빠진 회원은 다음 요청에서 가득 찬 버킷으로 다시 시작한다.
+ * (idleTimeout 을 버킷이 다 차는 시간보다 길게 두면 제한이 느슨해지지 않는다.)
+ */
+@Component
+public class WriteRateLimiter {
+
+    /**
+     * 제한 대상
+     */
+    public enum Budget {
+        POST, REPLY, UPLOAD_BYTES
+    }
+
+    private record Limit(long capacity, double refillPerSecond) {
+    }
+
+    private final Map<Budget, Limit> limits = new EnumMap<>(Budget.class);
+    private final Cache<String, Map<Budget, TokenBucket>> buckets;
+    private final MeterRegistry meterRegistry;
+
+    public WriteRateLimiter(MeterRegistry meterRegistry
+            , @Value("${board.rateLimit.postCapacity}") long postCapacity
+            , @Value("${board.rateLimit.postPerMinute}") double postPerMinute
+            , @Value("${board.rateLimit.replyCapacity}") long replyCapacity
+            , @Value("${board.rateLimit.replyPerMinute}") double replyPerMinute
+            , @Value("${board.rateLimit.uploadCapacity}") DataSize uploadCapacity
+            , @Value("${board.rateLimit.uploadPerMinute}") DataSize uploadPerMinute
+            , @Value("${board.rateLimit.maxMembers}") long maxMembers
+            , @Value("${board.rateLimit.idleTimeout}") Duration idleTimeout) {
+        this.meterRegistry = meterRegistry;
+        limits.put(Budget.POST, new Limit(postCapacity, postPerMinute / 60));
+        limits.put(Budget.REPLY, new Limit(replyCapacity, replyPerMinute / 60));
+        limits.put(Budget.UPLOAD_BYTES, new Limit(uploadCapacity.toBytes(), uploadPerMinute.toBytes() / 60.0));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxMembers)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * 회원의 여러 제한을 한꺼번에 확인하고, 모두 통과할 때만 토큰을 사용
+     *
+     * @param memberId 로그인한 회원 아이디
+     * @param amounts  제한 대상별 사용량
+     * @return 통과하면 0, 거절하면 다시 시도할 수 있을 때까지의 시간(나노초)
+     */
+    public long tryAcquire(String memberId, Map<Budget, Long> amounts) {
+        Map<Budget, TokenBucket> memberBuckets = buckets.get(memberId, id -> newBuckets());
+        long now = System.nanoTime();
+
+        Map<Budget, Long> acquired = new EnumMap<>(Budget.class);
+        for (Map.Entry<Budget, Long> entry : amounts.entrySet()) {
+            long waitNanos = memberBuckets.get(entry.getKey()).tryAcquire(entry.getValue(), now);
+            if (waitNanos > 0) {
+                // 앞에서 사용한 토큰은 돌려준다.
+                acquired.forEach((budget, amount) -> memberBuckets.get(budget).release(amount));
+                meterRegistry.counter("board.ratelimit.rejected", "budget", entry.getKey().name()).increment();
+                return waitNanos;
+            }
+            acquired.put(entry.getKey(), entry.getValue());
+        }
+        return 0;
+    }
+
+    private Map<Budget, TokenBucket> newBuckets() {
+        long now = System.nanoTime();
+        Map<Budget, TokenBucket> memberBuckets = new EnumMap<>(Budget.class);
+        limits.forEach((budget, limit) ->
+                memberBuckets.put(budget, new TokenBucket(limit.capacity(), limit.refillPerSecond(), now)));
+        return memberBuckets;
+    }
+}
@@ -0,0 +1,53 @@
+package net.datasa.web5.repository;
+
+import net.datasa.web5.domain.dto.BoardVersionDTO;
+import net.datasa.web5.domain.entity.BoardArchiveEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 보관 게시글 관련 repository (읽기와 삭제만)
+ * BoardRepository 에서 찾지 못한 글번호만 이쪽에서 다시 찾는다.
+ * 삭제(본인 글 삭제, 관리자 일괄 삭제)는 BoardRepository 의 같은 이름 메소드와 함께 쓴다.
+ */
+
+@Repository
+public interface BoardArchiveRepository extends JpaRepository<BoardArchiveEntity, Integer>, BoardArchiveSearchRepository {
+
+    // 작성자 정보와 함께 보관 글 1개 조회
+    @EntityGraph(attributePaths = "member")
+    Optional<BoardArchiveEntity> findWithMemberByBoardNum(Integer boardNum);
+
+    // 글 보기 화면의 ETag 용 버전 (BoardRepository.findVersionByBoardNum 과 같은 값)
+    @Query("select new net.datasa.web5.domain.dto.BoardVersionDTO(b.updateDate, count(r), max(r.replyNum))"
+            + " from BoardArchiveEntity b left join b.replyList r where b.boardNum = :boardNum group by b.boardNum, b.updateDate")
+    Optional<BoardVersionDTO> findVersionByBoardNum(@Param("boardNum") int boardNum);
+
+    // 글 본문만 조회
+    @Query("select b.contents from BoardArchiveEntity b where b.boardNum = :boardNum")
+    Optional<String> findContentsByBoardNum(@Param("boardNum") int boardNum);
+
+    // 한 회원이 쓴 보관 글번호만 조회 (일괄 삭제 대상 선정용)
+    @Query("select b.boardNum from BoardArchiveEntity b where b.member.memberId = :memberId order by b.boardNum")
+    List<Integer> findBoardNumsByMemberId(@Param("memberId") String memberId, Pageable pageable);
+
+    // 지정한 보관 글들의 첨부파일 저장 이름 조회
+    @Query("select b.fileName from BoardArchiveEntity b where b.boardNum in :boardNums and b.fileName is not null")
+    List<String> findFileNamesByBoardNums(@Param("boardNums") Collection<Integer> boardNums);
+
+    // 지정한 보관 글들을 DELETE 한 번으로 삭제
+    // 엔티티가 @Immutable 이므로 SQL 로 지우고, 리플은 web5_reply_archive 외래키의 on delete cascade 로 함께 삭제된다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from web5_board_archive where board_num in :boardNums", nativeQuery = true)
+    int deleteByBoardNums(@Param("boardNums") Collection<Integer> boardNums);
+
+}
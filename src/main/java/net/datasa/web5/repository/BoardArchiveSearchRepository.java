@@ -0,0 +1,32 @@
+package net.datasa.web5.repository;
+
+import net.datasa.web5.domain.entity.BoardArchiveEntity;
+
+import java.util.List;
+
+/**
+ * 보관 글 검색 (BoardArchiveRepository 에 포함됨)
+ * 검색 결과는 최근 글(web5_board) 다음에 이어 붙이므로 페이지 단위가 아닌 임의의 위치부터 읽는다.
+ */
+public interface BoardArchiveSearchRepository {
+
+    /**
+     * 검색 조건에 맞는 보관 글 수
+     *
+     * @param searchType 검색 대상 (title, contents, id)
+     * @param searchWord 검색어
+     * @return 글 수
+     */
+    long countSearch(String searchType, String searchWord);
+
+    /**
+     * 검색 조건에 맞는 보관 글을 글번호 역순으로 조회 (작성자 정보 포함)
+     *
+     * @param searchType 검색 대상 (title, contents, id)
+     * @param searchWord 검색어
+     * @param offset     건너뛸 글 수
+     * @param limit      읽을 글 수
+     * @return 글 목록
+     */
+    List<BoardArchiveEntity> search(String searchType, String searchWord, int offset, int limit);
+}
@@ -0,0 +1,53 @@
+package net.datasa.web5.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import net.datasa.web5.domain.entity.BoardArchiveEntity;
+
+import java.util.List;
+
+/**
+ * BoardArchiveSearchRepository 구현
+ * <p>
+ * 검색 조건은 BoardRepository 의 findByTitleContaining, findByContentsContaining, findByMember_MemberId 와 같다.
+ */
+public class BoardArchiveSearchRepositoryImpl implements BoardArchiveSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long countSearch(String searchType, String searchWord) {
+        return entityManager.createQuery("select count(b) from BoardArchiveEntity b where " + condition(searchType), Long.class)
+                .setParameter("word", parameter(searchType, searchWord))
+                .getSingleResult();
+    }
+
+    @Override
+    public List<BoardArchiveEntity> search(String searchType, String searchWord, int offset, int limit) {
+        return entityManager.createQuery("select b from BoardArchiveEntity b left join fetch b.member where "
+                        + condition(searchType) + " order by b.boardNum desc", BoardArchiveEntity.class)
+                .setParameter("word", parameter(searchType, searchWord))
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private String condition(String searchType) {
+        return switch (searchType) {
+            case "title" -> "b.title like :word escape '!'";
+            case "contents" -> "b.contents like :word escape '!'";
+            case "id" -> "b.member.memberId = :word";
+            default -> throw new IllegalArgumentException("검색 대상이 아닙니다 : " + searchType);
+        };
+    }
+
+    // Containing 과 같이 검색어의 %, _ 는 문자 그대로 찾는다.
+    // 역슬래시는 MySQL 문자열 안에서 이스케이프 문자이므로 이스케이프 문자로 ! 를 쓴다.
+    private String parameter(String searchType, String searchWord) {
+        if ("id".equals(searchType)) {
+            return searchWord;
+        }
+        return "%" + searchWord.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
@@ -0,0 +1,21 @@
+package net.datasa.web5.repository;
+
+import net.datasa.web5.domain.entity.BoardEntity;
+
+import java.util.List;
+
+/**
+ * 정렬 기준별 키셋 페이징 조회 (BoardRepository 에 포함됨)
+ */
+public interface BoardKeysetRepository {
+
+    /**
+     * 커서 다음의 글 목록 (작성자 정보 포함)
+     *
+     * @param sort   정렬 기준
+     * @param cursor 이전 구간의 마지막 글 (첫 구간은 null)
+     * @param limit  읽을 글 수
+     * @return 정렬된 글 목록
+     */
+    List<BoardEntity> findKeysetPage(BoardListSort sort, BoardListSort.Cursor cursor, int limit);
+}
@@ -0,0 +1,52 @@
+package net.datasa.web5.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import net.datasa.web5.domain.entity.BoardEntity;
+
+import java.util.List;
+
+/**
+ * BoardKeysetRepository 구현
+ * <p>
+ * 정렬값과 글번호를 행 값 비교 (b.정렬값, b.boardNum) &lt; (:key, :boardNum) 로 한 번에 비교한다.
+ * OR 로 풀어 쓴 조건(정렬값 &lt; ? or 정렬값 = ? and 글번호 &lt; ?)은 H2 에서 인덱스 범위 검색이 되지 않고
+ * 앞에서부터 읽으며 걸러내므로, 뒤 구간으로 갈수록 느려진다.
+ * 정렬 컬럼은 BoardListSort 에 정해진 값만 쓰므로 JPQL 에 그대로 넣는다.
+ */
+public class BoardKeysetRepositoryImpl implements BoardKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BoardEntity> findKeysetPage(BoardListSort sort, BoardListSort.Cursor cursor, int limit) {
+        String property = sort.getProperty();
+        StringBuilder jpql = new StringBuilder("select b from BoardEntity b left join fetch b.member");
+
+        if (cursor != null) {
+            if (property == null) {
+                jpql.append(" where b.boardNum < :boardNum");
+            } else {
+                jpql.append(" where (b.").append(property).append(", b.boardNum) < (:key, :boardNum)");
+            }
+        }
+
+        jpql.append(" order by ");
+        if (property != null) {
+            jpql.append("b.").append(property).append(" desc, ");
+        }
+        jpql.append("b.boardNum desc");
+
+        TypedQuery<BoardEntity> query = entityManager.createQuery(jpql.toString(), BoardEntity.class)
+                .setMaxResults(limit);
+        if (cursor != null) {
+            query.setParameter("boardNum", cursor.boardNum());
+            if (property != null) {
+                query.setParameter("key", cursor.key());
+            }
+        }
+        return query.getResultList();
+    }
+}
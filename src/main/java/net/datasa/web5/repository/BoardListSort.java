@@ -0,0 +1,122 @@
+package net.datasa.web5.repository;
+
+import net.datasa.web5.domain.entity.BoardEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * 글 목록 정렬 기준
+ * <p>
+ * 모두 내림차순이고 같은 값이면 글번호 역순이다. web5_board 에 (정렬 컬럼 desc, board_num desc) 인덱스가 있어
+ * 키셋 조건 (정렬값, 글번호) &lt; (커서 값) 은 인덱스 범위 검색이 되고 따로 정렬하지 않는다.
+ * 커서는 마지막 글의 정렬값과 글번호를 이어 붙여 URL 에 쓸 수 있게 Base64 로 바꾼 문자열이다.
+ */
+public enum BoardListSort {
+
+    NUM("num", "최신 글", null, null, null),
+    VIEWS("views", "조회수", "viewCount", BoardEntity::getViewCount, Integer::valueOf),
+    LIKES("likes", "추천수", "likeCount", BoardEntity::getLikeCount, Integer::valueOf),
+    REPLIES("replies", "리플수", "replyCount", BoardEntity::getReplyCount, Integer::valueOf),
+    UPDATED("updated", "최근 수정", "updateDate", BoardEntity::getUpdateDate, LocalDateTime::parse);
+
+    /**
+     * 커서 (이 값보다 뒤의 글부터 읽음)
+     *
+     * @param key      마지막 글의 정렬값 (글번호 정렬은 null)
+     * @param boardNum 마지막 글의 글번호
+     */
+    public record Cursor(Object key, int boardNum) {
+    }
+
+    private static final char SEPARATOR = '|';
+
+    private final String param;
+    private final String label;
+    private final String property;
+    private final Function<BoardEntity, Object> keyReader;
+    private final Function<String, Object> keyParser;
+
+    BoardListSort(String param, String label, String property
+            , Function<BoardEntity, Object> keyReader, Function<String, Object> keyParser) {
+        this.param = param;
+        this.label = label;
+        this.property = property;
+        this.keyReader = keyReader;
+        this.keyParser = keyParser;
+    }
+
+    /**
+     * 요청 파라미터 값으로 정렬 기준 찾기
+     *
+     * @param param 요청 파라미터 값 (views, likes, replies, updated, num)
+     * @return 정렬 기준 (모르는 값이면 NUM)
+     */
+    public static BoardListSort fromParam(String param) {
+        for (BoardListSort sort : values()) {
+            if (sort.param.equals(param)) {
+                return sort;
+            }
+        }
+        return NUM;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return 정렬할 엔티티 속성 이름 (글번호 정렬은 null)
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * 조회수처럼 글 수정 없이 바뀌는 값으로 정렬하는지 (글 목록 ETag 로 변경을 알 수 없음)
+     *
+     * @return 조회수, 추천수, 리플수 정렬이면 true
+     */
+    public boolean isCountSort() {
+        return this == VIEWS || this == LIKES || this == REPLIES;
+    }
+
+    /**
+     * 한 구간의 마지막 글로 다음 구간 커서 만들기
+     *
+     * @param last 마지막 글
+     * @return 커서 문자열
+     */
+    public String encodeCursor(BoardEntity last) {
+        String key = keyReader != null ? String.valueOf(keyReader.apply(last)) : "";
+        String text = key + SEPARATOR + last.getBoardNum();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열 읽기
+     *
+     * @param cursor 커서 문자열
+     * @return 커서
+     * @throws IllegalArgumentException 이 정렬 기준의 커서가 아닐 때 예외
+     */
+    public Cursor decodeCursor(String cursor) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = text.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            Object key = keyParser != null ? keyParser.apply(text.substring(0, separator)) : null;
+            return new Cursor(key, Integer.parseInt(text.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다 : " + cursor, e);
+        }
+    }
+}
@@ -1,34 +1,101 @@
 package net.datasa.web5.repository;
 
+import net.datasa.web5.domain.dto.BoardVersionDTO;
 import net.datasa.web5.domain.entity.BoardEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 게시판 관련 repository
  */
 
 @Repository
-public interface BoardRepository extends JpaRepository<BoardEntity, Integer> {
+public interface BoardRepository extends JpaRepository<BoardEntity, Integer>, BoardStreamRepository
+        , BoardKeysetRepository {
+
+    // 목록 조회는 작성자(member)를 함께 읽어 글마다 회원 조회 쿼리가 나가지 않도록 한다. (N+1 방지)
+
+    // 전체 글 조회
+    @Override
+    @EntityGraph(attributePaths = "member")
+    List<BoardEntity> findAll(Sort sort);
+
+    // 전체 글 1페이지 분량
+    @Override
+    @EntityGraph(attributePaths = "member")
+    Page<BoardEntity> findAll(Pageable pageable);
+
+    // 작성자 정보와 함께 글 1개 조회
+    @EntityGraph(attributePaths = "member")
+    Optional<BoardEntity> findWithMemberByBoardNum(Integer boardNum);
 
     // 제목에 전달된 문자열이 포함된 글 조회
+    @EntityGraph(attributePaths = "member")
     List<BoardEntity> findByTitleContaining(String word, Sort sort);
 
     // 제목 또는 내용에 문자열이 포함된 글 조회
+    @EntityGraph(attributePaths = "member")
     List<BoardEntity> findByTitleContainingOrContentsContaining(String wordTitle, String wordContents, Sort sort);
 
     // 제목 검색 1페이지 분량
+    @EntityGraph(attributePaths = "member")
     Page<BoardEntity> findByTitleContaining(String str, Pageable pageable);
 
     // 본문 검색 1페이지 분량
+    @EntityGraph(attributePaths = "member")
     Page<BoardEntity> findByContentsContaining(String str, Pageable pageable);
 
     // 아이디 검색 1페이지 분량
+    @EntityGraph(attributePaths = "member")
     Page<BoardEntity> findByMember_MemberId(String memberId, Pageable pageable);
 
+    // 한 회원이 쓴 글번호만 조회 (일괄 삭제 대상 선정용)
+    @Query("select b.boardNum from BoardEntity b where b.member.memberId = :memberId order by b.boardNum")
+    List<Integer> findBoardNumsByMemberId(@Param("memberId") String memberId, Pageable pageable);
+
+    // 지정한 글들의 첨부파일 저장 이름 조회
+    @Query("select b.fileName from BoardEntity b where b.boardNum in :boardNums and b.fileName is not null")
+    List<String> findFileNamesByBoardNums(@Param("boardNums") Collection<Integer> boardNums);
+
+    // 지정한 글들의 제목 조회 (삭제 후 자동 완성 색인에서 빼기 위해)
+    @Query("select b.title from BoardEntity b where b.boardNum in :boardNums")
+    List<String> findTitlesByBoardNums(@Param("boardNums") Collection<Integer> boardNums);
+
+    // 지정한 글들을 DELETE 한 번으로 삭제
+    // 리플은 엔티티로 읽지 않고 web5_reply 외래키의 on delete cascade 로 DB에서 함께 삭제된다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from BoardEntity b where b.boardNum in :boardNums")
+    int deleteByBoardNums(@Param("boardNums") Collection<Integer> boardNums);
+
+    // 글 보기 화면의 ETag 용 버전 (글 본문이나 리플을 읽지 않음)
+    @Query("select new net.datasa.web5.domain.dto.BoardVersionDTO(b.updateDate, count(r), max(r.replyNum))"
+            + " from BoardEntity b left join b.replyList r where b.boardNum = :boardNum group by b.boardNum, b.updateDate")
+    Optional<BoardVersionDTO> findVersionByBoardNum(@Param("boardNum") int boardNum);
+
+    // 글 본문만 조회 (본문 저장소에 없을 때 다시 채우는 용도)
+    @Query("select b.contents from BoardEntity b where b.boardNum = :boardNum")
+    Optional<String> findContentsByBoardNum(@Param("boardNum") int boardNum);
+
+    // 리플수 변경 (리플 쓰기/삭제). 조회수와 같이 수정 시간은 바꾸지 않는다.
+    @Modifying
+    @Query("update BoardEntity b set b.replyCount = b.replyCount + :delta, b.updateDate = b.updateDate"
+            + " where b.boardNum = :boardNum")
+    int addReplyCount(@Param("boardNum") int boardNum, @Param("delta") int delta);
+
+    // 조회수만 증가. update_date 를 그대로 다시 넣어 MySQL 의 on update current_timestamp 로 수정 시간이 바뀌지 않게 한다.
+    @Modifying
+    @Query("update BoardEntity b set b.viewCount = b.viewCount + 1, b.updateDate = b.updateDate where b.boardNum = :boardNum")
+    int increaseViewCount(@Param("boardNum") int boardNum);
+
 }
@@ -0,0 +1,19 @@
+package net.datasa.web5.repository;
+
+import net.datasa.web5.domain.dto.BoardSummaryDTO;
+
+import java.util.stream.Stream;
+
+/**
+ * DB 커서로 한 줄씩 읽는 게시판 조회 (BoardRepository 에 포함됨)
+ */
+public interface BoardStreamRepository {
+
+    /**
+     * 전체 글 목록을 글번호 역순으로 한 줄씩 읽는 Stream
+     * 트랜잭션 안에서 사용하고, 다 쓰면 닫아야 DB 커서와 커넥션이 반환된다.
+     *
+     * @return 글 목록 Stream
+     */
+    Stream<BoardSummaryDTO> streamAllSummaries();
+}
@@ -0,0 +1,41 @@
+package net.datasa.web5.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import net.datasa.web5.domain.dto.BoardSummaryDTO;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * BoardStreamRepository 구현
+ * <p>
+ * 엔티티 대신 DTO 로 읽으므로 영속성 컨텍스트에 쌓이지 않고, 읽은 줄은 쓰고 나면 바로 버릴 수 있다.
+ * 한 번에 가져오는 줄 수는 board.listAll.fetchSize 로 정한다.
+ * (MySQL Connector/J 는 Integer.MIN_VALUE 일 때만 한 줄씩 받고, 그 밖의 값이면 결과 전체를 먼저 메모리에 읽는다.)
+ * 쿼리 실행에는 board.listAll.timeout 의 쿼리 타임아웃을 둔다. (읽는 동안의 시간 제한은 StreamingTemplateRenderer)
+ */
+public class BoardStreamRepositoryImpl implements BoardStreamRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${board.listAll.fetchSize}")
+    int fetchSize;
+
+    @Value("${board.listAll.timeout}")
+    Duration timeout;
+
+    @Override
+    public Stream<BoardSummaryDTO> streamAllSummaries() {
+        return entityManager.createQuery("select new net.datasa.web5.domain.dto.BoardSummaryDTO("
+                        + "b.boardNum, b.title, m.memberId, b.viewCount, b.createDate)"
+                        + " from BoardEntity b left join b.member m order by b.boardNum desc", BoardSummaryDTO.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .setHint(AvailableHints.HINT_SPEC_QUERY_TIMEOUT, (int) timeout.toMillis())
+                .getResultStream();
+    }
+}
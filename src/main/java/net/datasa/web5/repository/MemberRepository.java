@@ -1,9 +1,17 @@
 package net.datasa.web5.repository;
 
+import jakarta.persistence.QueryHint;
 import net.datasa.web5.domain.entity.MemberEntity;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 회원 정보 Repository
  */
@@ -11,4 +19,12 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface MemberRepository extends JpaRepository<MemberEntity, String> {
 
+    // 전달된 아이디 중 실제로 존재하는 아이디만 한 번에 조회 (엔티티를 읽지 않음)
+    @Query("select m.memberId from MemberEntity m where m.memberId in :memberIds")
+    List<String> findExistingMemberIds(@Param("memberIds") Collection<String> memberIds);
+
+    // 아이디 중복 확인. 쿼리 캐시에 보관하고 web5_member 가 바뀌면 Hibernate 가 자동으로 무효화한다.
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    boolean existsByMemberId(String memberId);
+
 }
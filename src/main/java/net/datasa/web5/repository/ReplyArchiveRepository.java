@@ -0,0 +1,22 @@
+package net.datasa.web5.repository;
+
+import net.datasa.web5.domain.entity.ReplyArchiveEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 보관 리플 관련 repository (읽기 전용)
+ */
+
+@Repository
+public interface ReplyArchiveRepository extends JpaRepository<ReplyArchiveEntity, Integer> {
+
+    // 한 보관 글의 리플 (작성자 정보 포함)
+    @EntityGraph(attributePaths = "member")
+    List<ReplyArchiveEntity> findByBoard_BoardNum(int boardNum, Sort sort);
+
+}
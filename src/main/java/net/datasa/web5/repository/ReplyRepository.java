@@ -2,7 +2,11 @@ package net.datasa.web5.repository;
 
 import net.datasa.web5.domain.entity.ReplyEntity;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,7 +18,13 @@ import java.util.List;
 @Repository
 public interface ReplyRepository extends JpaRepository<ReplyEntity, Integer> {
 
-    // 한 게시글의 리플
+    // 한 게시글의 리플 (작성자 정보 포함)
+    @EntityGraph(attributePaths = "member")
     List<ReplyEntity> findByBoard_BoardNum(int boardNum, Sort sort);
 
+    // 한 리플과 그 아래 답글 전체 삭제 (board_num, reply_path 인덱스 범위 삭제)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ReplyEntity r where r.board.boardNum = :boardNum and r.replyPath like concat(:replyPath, '%')")
+    int deleteSubtree(@Param("boardNum") int boardNum, @Param("replyPath") String replyPath);
+
 }
@@ -1,5 +1,10 @@
 package net.datasa.web5.security;
 
+import net.datasa.web5.profiling.ProfiledPasswordEncoder;
+import net.datasa.web5.ratelimit.ConcurrencyLimitFilter;
+import net.datasa.web5.ratelimit.ConcurrencyLimiter;
+import net.datasa.web5.ratelimit.WriteRateLimitFilter;
+import net.datasa.web5.ratelimit.WriteRateLimiter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -8,6 +13,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 
 /**
  * 시큐리티 환경설정
@@ -27,14 +33,20 @@ public class WebSecurityConfig {
             , "/board/listAll"      //게시판 전체 목록 보기
             , "/board/list"         //게시판 목록
             , "/board/read"         //게시판 글 읽기
+            , "/board/suggest"      //제목 검색어 자동 완성
+            , "/actuator/health/**" //상태 확인
+            , "/livez", "/readyz"   //상태 확인 (운영에서 서비스 포트로 여는 경로)
+            , "/actuator/prometheus" //메트릭 수집 (운영(prod)에서는 management.server.port/address 의 내부 포트에서만 열림)
 
     };
 
     @Bean
-    protected SecurityFilterChain config(HttpSecurity http) throws Exception {
+    protected SecurityFilterChain config(HttpSecurity http, WriteRateLimiter writeRateLimiter
+            , ConcurrencyLimiter concurrencyLimiter) throws Exception {
         http
                 .authorizeHttpRequests(author -> author
                         .requestMatchers(PUBLIC_URLS).permitAll()
+                        .requestMatchers("/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .httpBasic(Customizer.withDefaults())
                 .formLogin(formLogin -> formLogin
@@ -48,6 +60,11 @@ public class WebSecurityConfig {
                         .logoutUrl("/member/logout")
                         .logoutSuccessUrl("/"));
 
+        // 인가 확인 후, 요청 본문을 읽기 전에 회원별 쓰기 요청 제한과 게시판 경로의 동시 처리 수 제한
+        http
+                .addFilterAfter(new WriteRateLimitFilter(writeRateLimiter), AuthorizationFilter.class)
+                .addFilterAfter(new ConcurrencyLimitFilter(concurrencyLimiter), WriteRateLimitFilter.class);
+
         http
                 .cors(AbstractHttpConfigurer::disable)
                 .csrf(AbstractHttpConfigurer::disable);
@@ -55,9 +72,10 @@ public class WebSecurityConfig {
         return http.build();
     }
 
+    // BCrypt 시간을 JFR 이벤트로 남기는 인코더 (기록 중이 아니면 BCryptPasswordEncoder 와 같음)
     @Bean
     public BCryptPasswordEncoder getPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new ProfiledPasswordEncoder();
     }
 
 }
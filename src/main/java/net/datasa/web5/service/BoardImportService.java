@@ -0,0 +1,321 @@
+package net.datasa.web5.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.domain.dto.ImportResultDTO;
+import net.datasa.web5.domain.dto.ReplyDTO;
+import net.datasa.web5.repository.MemberRepository;
+import net.datasa.web5.service.BoardReadCache.BoardChangedEvent;
+import net.datasa.web5.service.TitleSuggestIndex.TitleChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 게시글/리플 일괄 가져오기 서비스
+ * <p>
+ * JSONL 파일의 한 줄이 게시글 하나(BoardDTO 형식, replyList 포함)이다.
+ * JPA의 IDENTITY 전략은 행마다 INSERT를 한 번씩 보내고 JDBC 배치를 쓰지 못하므로,
+ * 여기서는 JdbcTemplate 배치 INSERT로 직접 저장하고 생성된 글번호를 배치 단위로 돌려받아 리플에 연결한다.
+ * (MySQL 접속 URL의 rewriteBatchedStatements=true 설정으로 배치가 다중행 INSERT로 변환된다.)
+ */
+@Slf4j
+@Service
+public class BoardImportService {
+
+    private static final String INSERT_BOARD_SQL =
+            "insert into web5_board (member_id, title, contents, view_count, like_count"
+                    + ", original_name, file_name, create_date, update_date)"
+                    + " values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_REPLY_SQL =
+            "insert into web5_reply (board_num, member_id, contents, create_date) values (?, ?, ?, ?)";
+
+    // 가져온 리플은 모두 최상위 리플이므로 답글 경로는 자기 번호 (리플번호는 INSERT 후에 정해짐)
+    private static final String FILL_REPLY_PATH_SQL =
+            "update web5_reply set reply_path = lpad(reply_num, 10, '0') where board_num in (%s) and reply_path = ''";
+
+    // 가져온 글의 리플수
+    private static final String FILL_REPLY_COUNT_SQL = "update web5_board b set reply_count ="
+            + " (select count(*) from web5_reply r where r.board_num = b.board_num), update_date = update_date"
+            + " where b.board_num in (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 동시에 하나의 가져오기 작업만 실행
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // application.properties 파일의 가져오기 관련 설정값
+    @Value("${board.importPath}")
+    String importPath;
+
+    @Value("${board.importBatchSize}")
+    int batchSize;
+
+    public BoardImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager
+            , MemberRepository memberRepository, ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.memberRepository = memberRepository;
+        this.eventPublisher = eventPublisher;
+        // 원본 데이터에 모르는 필드가 있어도 무시
+        this.objectMapper = objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * 가져오기 경로(board.importPath)에 있는 JSONL 파일을 읽어 게시글과 리플을 일괄 저장
+     *
+     * @param fileName 가져오기 경로 안의 파일 이름
+     * @return 가져오기 결과
+     * @throws IOException 파일을 읽지 못했을 때 예외
+     */
+    public ImportResultDTO importJsonl(String fileName) throws IOException {
+        Path basePath = Paths.get(importPath).toAbsolutePath().normalize();
+        Path filePath = basePath.resolve(fileName).normalize();
+        if (!filePath.startsWith(basePath) || !Files.isRegularFile(filePath)) {
+            throw new IllegalArgumentException(fileName + " : 가져올 수 없는 파일입니다.");
+        }
+
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 가져오기 작업이 실행 중입니다.");
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            return importLines(filePath.getFileName().toString(), reader);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 한 줄씩 읽어 batchSize 단위로 저장
+     */
+    private ImportResultDTO importLines(String name, BufferedReader reader) throws IOException {
+        ImportResultDTO result = ImportResultDTO.builder().fileName(name).build();
+        // 이미 확인한 회원 아이디 (존재 여부)
+        Set<String> knownMembers = new HashSet<>();
+        Set<String> unknownMembers = new HashSet<>();
+
+        long startTime = System.nanoTime();
+        List<BoardDTO> chunk = new ArrayList<>(batchSize);
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            result.setLineCount(result.getLineCount() + 1);
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                BoardDTO board = objectMapper.readValue(line, BoardDTO.class);
+                if (board.getTitle() == null || board.getContents() == null) {
+                    throw new IllegalArgumentException("제목 또는 내용이 없습니다.");
+                }
+                chunk.add(board);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                log.warn("{}번째 줄을 건너뜀 : {}", result.getLineCount(), e.getMessage());
+                result.setSkippedCount(result.getSkippedCount() + 1);
+                continue;
+            }
+
+            if (chunk.size() >= batchSize) {
+                saveChunk(chunk, knownMembers, unknownMembers, result);
+                chunk.clear();
+                logProgress(result, startTime);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, knownMembers, unknownMembers, result);
+            logProgress(result, startTime);
+        }
+
+        long elapsedNanos = System.nanoTime() - startTime;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(rowsPerSecond(result, elapsedNanos));
+
+        log.info("가져오기 완료 : {}", result);
+        return result;
+    }
+
+    /**
+     * 한 묶음의 게시글과 그 리플을 하나의 트랜잭션으로 저장
+     */
+    private void saveChunk(List<BoardDTO> chunk, Set<String> knownMembers, Set<String> unknownMembers
+            , ImportResultDTO result) {
+        resolveMembers(chunk, knownMembers, unknownMembers);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Integer> boardNums = insertBoards(chunk, knownMembers, result);
+
+            List<Object[]> replyRows = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                List<ReplyDTO> replyList = chunk.get(i).getReplyList();
+                if (replyList == null) {
+                    continue;
+                }
+                for (ReplyDTO reply : replyList) {
+                    if (reply.getContents() == null) {
+                        continue;
+                    }
+                    replyRows.add(new Object[] {
+                            boardNums.get(i)
+                            , memberOrNull(reply.getMemberId(), knownMembers, result)
+                            , reply.getContents()
+                            , timestampOrNow(reply.getCreateDate())
+                    });
+                }
+            }
+
+            if (!replyRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_REPLY_SQL, replyRows);
+                String placeholders = String.join(",", Collections.nCopies(boardNums.size(), "?"));
+                jdbcTemplate.update(FILL_REPLY_PATH_SQL.formatted(placeholders), boardNums.toArray());
+                jdbcTemplate.update(FILL_REPLY_COUNT_SQL.formatted(placeholders), boardNums.toArray());
+                result.setReplyCount(result.getReplyCount() + replyRows.size());
+            }
+
+            // 글 목록 버전과 변경 기록에 반영 (커밋 직전), 자동 완성 색인에 반영 (커밋 후)
+            eventPublisher.publishEvent(new BoardChangedEvent(boardNums));
+            for (BoardDTO board : chunk) {
+                eventPublisher.publishEvent(new TitleChangedEvent(null, board.getTitle()));
+            }
+        });
+    }
+
+    /**
+     * 게시글을 배치 INSERT 하고 생성된 글번호를 순서대로 돌려받는다.
+     */
+    private List<Integer> insertBoards(List<BoardDTO> chunk, Set<String> knownMembers, ImportResultDTO result) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_BOARD_SQL, new String[] {"board_num"})
+                , new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        BoardDTO board = chunk.get(i);
+                        ps.setString(1, memberOrNull(board.getMemberId(), knownMembers, result));
+                        ps.setString(2, board.getTitle());
+                        ps.setString(3, board.getContents());
+                        ps.setInt(4, board.getViewCount() != null ? board.getViewCount() : 0);
+                        ps.setInt(5, board.getLikeCount() != null ? board.getLikeCount() : 0);
+                        ps.setString(6, board.getOriginalName());
+                        ps.setString(7, board.getFileName());
+                        ps.setTimestamp(8, timestampOrNow(board.getCreateDate()));
+                        ps.setTimestamp(9, timestampOrNow(board.getUpdateDate() != null
+                                ? board.getUpdateDate() : board.getCreateDate()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                }
+                , keyHolder);
+
+        List<Map<String, Object>> keyList = keyHolder.getKeyList();
+        if (keyList.size() != chunk.size()) {
+            throw new IllegalStateException("생성된 글번호 수가 저장한 글 수와 다릅니다.");
+        }
+
+        List<Integer> boardNums = new ArrayList<>(keyList.size());
+        for (Map<String, Object> keys : keyList) {
+            boardNums.add(((Number) keys.values().iterator().next()).intValue());
+        }
+        result.setBoardCount(result.getBoardCount() + boardNums.size());
+        return boardNums;
+    }
+
+    /**
+     * 묶음 안에서 처음 보는 회원 아이디만 모아 한 번의 쿼리로 존재 여부를 확인
+     */
+    private void resolveMembers(List<BoardDTO> chunk, Set<String> knownMembers, Set<String> unknownMembers) {
+        Set<String> candidates = new HashSet<>();
+        for (BoardDTO board : chunk) {
+            addCandidate(board.getMemberId(), candidates, knownMembers, unknownMembers);
+            if (board.getReplyList() != null) {
+                for (ReplyDTO reply : board.getReplyList()) {
+                    addCandidate(reply.getMemberId(), candidates, knownMembers, unknownMembers);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<String> existing = memberRepository.findExistingMemberIds(candidates);
+        knownMembers.addAll(existing);
+        candidates.removeAll(existing);
+        unknownMembers.addAll(candidates);
+    }
+
+    private void addCandidate(String memberId, Set<String> candidates
+            , Set<String> knownMembers, Set<String> unknownMembers) {
+        if (memberId != null && !knownMembers.contains(memberId) && !unknownMembers.contains(memberId)) {
+            candidates.add(memberId);
+        }
+    }
+
+    // 없는 회원이면 외래키 오류 대신 작성자 없음(null)으로 저장 (on delete set null 과 같은 처리)
+    // 처음부터 작성자가 없는 행(memberId 가 null)은 찾지 못한 회원으로 세지 않는다.
+    private String memberOrNull(String memberId, Set<String> knownMembers, ImportResultDTO result) {
+        if (memberId == null) {
+            return null;
+        }
+        if (knownMembers.contains(memberId)) {
+            return memberId;
+        }
+        result.setUnknownMemberCount(result.getUnknownMemberCount() + 1);
+        return null;
+    }
+
+    private Timestamp timestampOrNow(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime != null ? dateTime : LocalDateTime.now());
+    }
+
+    private void logProgress(ImportResultDTO result, long startTime) {
+        log.info("가져오기 진행 : {}줄, 게시글 {}건, 리플 {}건, {} rows/s"
+                , result.getLineCount(), result.getBoardCount(), result.getReplyCount()
+                , String.format("%.1f", rowsPerSecond(result, System.nanoTime() - startTime)));
+    }
+
+    private double rowsPerSecond(ImportResultDTO result, long elapsedNanos) {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return (result.getBoardCount() + result.getReplyCount()) * 1_000_000_000.0 / elapsedNanos;
+    }
+}
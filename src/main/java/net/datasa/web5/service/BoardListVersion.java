@@ -0,0 +1,40 @@
+package net.datasa.web5.service;
+
+import lombok.RequiredArgsConstructor;
+import net.datasa.web5.service.BoardReadCache.BoardChangedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 글 목록 화면의 버전 (ETag 용, web5_list_version 테이블의 한 줄)
+ * <p>
+ * 글 쓰기/수정/삭제, 리플 쓰기/삭제, 보관, 가져오기(BoardChangedEvent)마다 변경한 트랜잭션의 커밋 직전에 같은 커넥션으로 1 올린다.
+ * 목록 요청은 기본키로 한 줄만 읽으므로 글 수와 관계없이 비용이 같다. (304 응답에도 전체 글 수를 세지 않음)
+ * 이 줄의 잠금은 커밋까지 잡히므로 쓰기 트랜잭션은 여기서 차례로 커밋되고, 버전 순서가 커밋 순서와 같다.
+ * (늦게 커밋되는 트랜잭션 때문에 건너뛴 번호가 생기는 변경 기록 번호의 최댓값과 다름)
+ * 트랜잭션 밖에서 발생한 알림은 반영하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardListVersion {
+
+    private static final String INCREASE_SQL = "update web5_list_version set version = version + 1 where id = 1";
+    private static final String SELECT_SQL = "select version from web5_list_version where id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void boardChanged(BoardChangedEvent event) {
+        jdbcTemplate.update(INCREASE_SQL);
+    }
+
+    /**
+     * 현재 글 목록 버전 (호출한 트랜잭션의 커넥션으로 읽으므로 읽기 전용 트랜잭션이면 복제본에서 읽음)
+     */
+    public long current() {
+        Long version = jdbcTemplate.queryForObject(SELECT_SQL, Long.class);
+        return version != null ? version : 0;
+    }
+}
@@ -0,0 +1,133 @@
+package net.datasa.web5.service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.domain.dto.BulkDeleteResultDTO;
+import net.datasa.web5.repository.BoardArchiveRepository;
+import net.datasa.web5.repository.BoardRepository;
+import net.datasa.web5.service.BoardReadCache.BoardChangedEvent;
+import net.datasa.web5.service.TitleSuggestIndex.TitleChangedEvent;
+import net.datasa.web5.util.AttachmentCleanupWorker.AttachmentDeleteEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 관리자용 게시글 일괄 관리 서비스
+ * <p>
+ * 글번호 목록 또는 작성자 기준으로 여러 글을 배치 단위로 삭제한다.
+ * 배치마다 별도 트랜잭션으로 커밋하여 잠금을 오래 잡지 않고,
+ * 첨부파일은 커밋 후 AttachmentCleanupWorker 가 백그라운드에서 정리하고,
+ * 제목 자동 완성 색인(TitleSuggestIndex)에서도 커밋 후 뺀다.
+ * 보관된 글(web5_board_archive)도 같은 배치의 같은 트랜잭션에서 함께 삭제한다.
+ */
+@Slf4j
+@Service
+public class BoardModerationService {
+
+    private final BoardRepository boardRepository;
+    private final BoardArchiveRepository boardArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 한 번의 DELETE 로 삭제할 글 수
+    @Value("${board.deleteBatchSize}")
+    int batchSize;
+
+    public BoardModerationService(BoardRepository boardRepository, BoardArchiveRepository boardArchiveRepository
+            , PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        this.boardRepository = boardRepository;
+        this.boardArchiveRepository = boardArchiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 글번호 목록으로 일괄 삭제
+     *
+     * @param boardNums  삭제할 글번호 목록
+     * @param uploadPath 첨부파일이 저장된 경로
+     * @return 삭제 결과
+     */
+    public BulkDeleteResultDTO deleteBoards(List<Integer> boardNums, String uploadPath) {
+        List<Integer> targets = new ArrayList<>(new LinkedHashSet<>(boardNums));
+        BulkDeleteResultDTO result = BulkDeleteResultDTO.builder().requestedCount(targets.size()).build();
+
+        for (int from = 0; from < targets.size(); from += batchSize) {
+            List<Integer> batch = targets.subList(from, Math.min(from + batchSize, targets.size()));
+            deleteBatch(batch, uploadPath, result);
+        }
+
+        log.info("글번호 기준 일괄 삭제 : {}", result);
+        return result;
+    }
+
+    /**
+     * 한 회원이 쓴 글 전체를 일괄 삭제
+     *
+     * @param memberId   작성자 아이디
+     * @param uploadPath 첨부파일이 저장된 경로
+     * @return 삭제 결과
+     */
+    public BulkDeleteResultDTO deleteBoardsByMember(String memberId, String uploadPath) {
+        BulkDeleteResultDTO result = new BulkDeleteResultDTO();
+
+        // 삭제된 글은 다음 조회에서 빠지므로 항상 첫 페이지만 읽는다. (최근 글을 다 지운 뒤 보관 글)
+        List<Integer> batch;
+        while (!(batch = findBoardNumsByMember(memberId)).isEmpty()) {
+            result.setRequestedCount(result.getRequestedCount() + batch.size());
+            int deleted = deleteBatch(batch, uploadPath, result);
+            if (deleted == 0) {
+                // 다른 요청이 먼저 지운 경우 등. 진행이 없으면 무한 반복하지 않도록 중단
+                break;
+            }
+        }
+
+        log.info("{} 회원 글 일괄 삭제 : {}", memberId, result);
+        return result;
+    }
+
+    private List<Integer> findBoardNumsByMember(String memberId) {
+        List<Integer> boardNums = boardRepository.findBoardNumsByMemberId(memberId, PageRequest.of(0, batchSize));
+        if (boardNums.isEmpty()) {
+            boardNums = boardArchiveRepository.findBoardNumsByMemberId(memberId, PageRequest.of(0, batchSize));
+        }
+        return boardNums;
+    }
+
+    /**
+     * 한 배치를 하나의 트랜잭션으로 삭제하고 첨부파일 정리와 자동 완성 색인 반영을 예약
+     * 글번호마다 최근 글과 보관 글 중 있는 쪽에서 지운다. (보관 글의 제목은 색인에 없으므로 색인은 최근 글만)
+     */
+    private int deleteBatch(List<Integer> batch, String uploadPath, BulkDeleteResultDTO result) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<String> titles = boardRepository.findTitlesByBoardNums(batch);
+            List<String> fileNames = new ArrayList<>(boardRepository.findFileNamesByBoardNums(batch));
+            fileNames.addAll(boardArchiveRepository.findFileNamesByBoardNums(batch));
+            int count = boardRepository.deleteByBoardNums(batch) + boardArchiveRepository.deleteByBoardNums(batch);
+            eventPublisher.publishEvent(new BoardChangedEvent(List.copyOf(batch)));
+            // 커밋된 후에 색인에서 뺀다. (TitleSuggestIndex.apply)
+            for (String title : titles) {
+                eventPublisher.publishEvent(new TitleChangedEvent(title, null));
+            }
+
+            if (!fileNames.isEmpty()) {
+                // 커밋된 후에만 AttachmentCleanupWorker 로 전달된다.
+                eventPublisher.publishEvent(new AttachmentDeleteEvent(uploadPath, fileNames));
+                result.setAttachmentCount(result.getAttachmentCount() + fileNames.size());
+            }
+            return count;
+        });
+
+        int count = deleted != null ? deleted : 0;
+        result.setDeletedCount(result.getDeletedCount() + count);
+        result.setBatchCount(result.getBatchCount() + 1);
+        return count;
+    }
+}
@@ -0,0 +1,170 @@
+package net.datasa.web5.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.util.OffHeapBodyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 글 보기 화면용 게시글(리플 포함) 캐시
+ * <p>
+ * 같은 글번호를 동시에 여러 요청이 찾으면 한 요청만 DB 에서 읽고 나머지는 그 결과를 기다려 함께 쓴다. (single-flight)
+ * 글 수정/삭제, 리플 쓰기/삭제가 커밋되면 BoardChangedEvent 로 해당 글을 캐시에서 지운다.
+ * 캐시에서 읽을 때는 트랜잭션도 DB 커넥션도 사용하지 않는다.
+ * 조회수 증가는 캐시와 관계없이 BoardService.increaseViewCount() 로 따로 처리하므로,
+ * 화면에 보이는 조회수는 캐시에 담긴 시점의 값이다. (expireAfterWrite 이내)
+ * 캐시에는 본문(contents)을 뺀 게시글만 담고, 본문은 OffHeapBodyStore 에 압축해 힙 밖에 둔다.
+ * 요청마다 본문을 풀어 새 BoardDTO 를 만들어 돌려주므로 큰 본문 문자열이 힙에 오래 남지 않는다.
+ * 리플 목록은 여러 요청이 함께 쓰므로 수정하지 않는다.
+ * <p>
+ * DB 에서 읽을 때는 읽기 전용 트랜잭션을 써서 복제본이 있으면 복제본에서 읽는다. (ReplicaRoutingDataSource)
+ * 다만 캐시는 모든 회원이 함께 쓰므로, 바뀐 지 복제 허용 지연(board.datasource.replica.maxLag)이 지나지 않은 글은
+ * 다른 회원이 먼저 읽더라도 옛 내용이 캐시에 담기지 않도록 주 DB 에서 읽는다.
+ * (글쓴이의 최신 내용은 ReadYourWritesTracker 만으로는 보장되지 않는다. 캐시에서 읽을 때는 DB 를 고르지 않으므로)
+ */
+@Slf4j
+@Component
+public class BoardReadCache {
+
+    private final BoardService boardService;
+    private final OffHeapBodyStore bodyStore;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+    private final Cache<Integer, BoardDTO> cache;
+    // 최근에 바뀐 글번호 (maxLag 동안 주 DB 에서 읽음)
+    private final Cache<Integer, Boolean> recentlyChanged;
+
+    /**
+     * 게시글 변경 알림 (커밋 후 캐시에서 제거)
+     *
+     * @param boardNums 바뀐 글번호 목록
+     */
+    public record BoardChangedEvent(Collection<Integer> boardNums) {
+    }
+
+    public BoardReadCache(BoardService boardService, OffHeapBodyStore bodyStore
+            , PlatformTransactionManager transactionManager, MeterRegistry meterRegistry
+            , @Value("${board.readCache.maxSize}") long maxSize
+            , @Value("${board.readCache.expireAfterWrite}") Duration expireAfterWrite
+            , @Value("${board.datasource.replica.maxLag:5s}") Duration replicaMaxLag) {
+        this.boardService = boardService;
+        this.bodyStore = bodyStore;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.recentlyChanged = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(replicaMaxLag)
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "board.read");
+    }
+
+    /**
+     * 게시글 1개 조회 (캐시에 없으면 DB 에서 읽어 담음)
+     * 버전을 확인하지 않고 캐시에 담긴 그대로 돌려주므로, 캐시를 지우는 경로(변경 기록, 보관 등)만으로 맞춰지는지 확인할 때 쓴다.
+     * 글 보기 화면은 getBoard(int, String) 으로 DB 의 버전과 맞춰 본다.
+     *
+     * @param boardNum 글번호
+     * @return 글 정보 (리플 포함)
+     * @throws jakarta.persistence.EntityNotFoundException 게시글이 없을 때 예외 (캐시에 담지 않음)
+     */
+    public BoardDTO getBoard(int boardNum) {
+        return withContents(boardNum, cache.get(boardNum, this::load));
+    }
+
+    /**
+     * 지정한 버전의 게시글 1개 조회
+     * 캐시에 담긴 글의 버전이 방금 DB 에서 읽은 버전과 다르면 캐시에서 지우고 주 DB 에서 다시 읽는다.
+     * (다른 서버의 변경이 아직 변경 기록으로 전달되지 않았거나, 이 서버의 변경이 커밋된 뒤 캐시에서 지워지기 전)
+     * 다시 읽은 글도 버전이 다를 수 있으므로 (그 사이의 변경, 복제 지연) 화면의 ETag 는 돌려준 글로 만든다.
+     *
+     * @param boardNum 글번호
+     * @param version  BoardService.getBoardVersion(int) 으로 읽은 버전
+     * @return 글 정보 (리플 포함)
+     * @throws jakarta.persistence.EntityNotFoundException 게시글이 없을 때 예외 (캐시에 담지 않음)
+     */
+    public BoardDTO getBoard(int boardNum, String version) {
+        BoardDTO board = cache.get(boardNum, this::load);
+        if (!version.equals(boardService.getBoardVersion(board))) {
+            log.debug("캐시의 게시글 버전이 다름. 다시 읽음 : {}", boardNum);
+            evict(new BoardChangedEvent(List.of(boardNum)));
+            board = cache.get(boardNum, this::load);
+        }
+        return withContents(boardNum, board);
+    }
+
+    // 캐시의 게시글에 본문 저장소의 본문을 붙여 새 BoardDTO 로 돌려준다.
+    private BoardDTO withContents(int boardNum, BoardDTO board) {
+        String contents = bodyStore.get(boardNum, board.getUpdateDate());
+        if (contents == null) {
+            // 저장소에서 밀려난 본문은 본문만 다시 읽어 채운다.
+            contents = transactionFor(boardNum).execute(status -> boardService.getContents(boardNum));
+            bodyStore.put(boardNum, board.getUpdateDate(), contents);
+        }
+
+        return BoardDTO.builder()
+                .boardNum(board.getBoardNum())
+                .memberId(board.getMemberId())
+                .memberName(board.getMemberName())
+                .title(board.getTitle())
+                .contents(contents)
+                .viewCount(board.getViewCount())
+                .likeCount(board.getLikeCount())
+                .replyCount(board.getReplyCount())
+                .originalName(board.getOriginalName())
+                .fileName(board.getFileName())
+                .createDate(board.getCreateDate())
+                .updateDate(board.getUpdateDate())
+                .replyList(board.getReplyList())
+                .archived(board.isArchived())
+                .build();
+    }
+
+    /**
+     * DB 에서 읽어 본문은 저장소에 넣고, 본문을 뺀 게시글을 캐시에 담는다.
+     */
+    private BoardDTO load(int boardNum) {
+        BoardDTO board = transactionFor(boardNum).execute(status -> boardService.getBoard(boardNum));
+        bodyStore.put(boardNum, board.getUpdateDate(), board.getContents());
+        board.setContents(null);
+        return board;
+    }
+
+    // 최근에 바뀐 글은 주 DB, 그 밖에는 복제본(있으면)에서 읽는 트랜잭션
+    private TransactionTemplate transactionFor(int boardNum) {
+        return recentlyChanged.getIfPresent(boardNum) != null ? primaryTransaction : readOnlyTransaction;
+    }
+
+    /**
+     * 바뀐 글을 캐시에서 제거
+     * 커밋 후에 지우므로 커밋 전에 읽어 둔 옛 내용이 다시 캐시에 남지 않는다.
+     * (같은 글을 읽고 있는 중이면 그 읽기가 끝난 뒤 함께 지워진다.)
+     *
+     * @param event 바뀐 글번호 목록
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void evict(BoardChangedEvent event) {
+        event.boardNums().forEach(boardNum -> recentlyChanged.put(boardNum, Boolean.TRUE));
+        cache.invalidateAll(event.boardNums());
+        event.boardNums().forEach(bodyStore::remove);
+        log.debug("게시글 캐시 제거 : {}", event.boardNums());
+    }
+}
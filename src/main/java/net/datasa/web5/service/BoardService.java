@@ -3,37 +3,60 @@ package net.datasa.web5.service;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.datasource.ReadYourWritesTracker;
 import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.domain.dto.BoardSummaryDTO;
+import net.datasa.web5.domain.dto.BoardVersionDTO;
+import net.datasa.web5.domain.dto.BoardWindowDTO;
 import net.datasa.web5.domain.dto.ReplyDTO;
+import net.datasa.web5.domain.entity.BoardArchiveEntity;
 import net.datasa.web5.domain.entity.BoardEntity;
 import net.datasa.web5.domain.entity.MemberEntity;
+import net.datasa.web5.domain.entity.ReplyArchiveEntity;
 import net.datasa.web5.domain.entity.ReplyEntity;
+import net.datasa.web5.repository.BoardArchiveRepository;
+import net.datasa.web5.repository.BoardListSort;
 import net.datasa.web5.repository.BoardRepository;
 import net.datasa.web5.repository.MemberRepository;
+import net.datasa.web5.repository.ReplyArchiveRepository;
 import net.datasa.web5.repository.ReplyRepository;
+import net.datasa.web5.service.BoardReadCache.BoardChangedEvent;
+import net.datasa.web5.service.TitleSuggestIndex.TitleChangedEvent;
+import net.datasa.web5.util.AttachmentCleanupWorker.AttachmentDeleteEvent;
 import net.datasa.web5.util.AttachmentUtil;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.util.FileCopyUtils;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * 게시판 관련 서비스
+ * <p>
+ * 오래된 글은 BoardArchiver 가 보관 테이블로 옮긴다. 글 보기, 첨부파일, 검색, 삭제는 최근 글(web5_board)에서 먼저 찾고
+ * 없으면 보관 글(web5_board_archive)에서 찾는다. 기본 목록과 정렬 목록은 최근 글만 보여 준다.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -41,11 +64,26 @@ import java.util.List;
 @Service
 public class BoardService {
 
+    // 답글 경로 한 칸의 길이와 경로 전체의 최대 길이 (web5_reply.reply_path, 최대 25단계)
+    static final int REPLY_PATH_SEGMENT = 10;
+    static final int REPLY_PATH_MAX_LENGTH = 250;
+
+    // 보관 글까지 이어서 찾는 검색 대상
+    private static final Set<String> ARCHIVE_SEARCH_TYPES = Set.of("title", "contents", "id");
+
     private final BoardRepository boardRepository;
     private final MemberRepository memberRepository;
     private final ReplyRepository replyRepository;
+    private final BoardArchiveRepository boardArchiveRepository;
+    private final ReplyArchiveRepository replyArchiveRepository;
     private final AttachmentUtil attachmentUtil;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final BoardListVersion boardListVersion;
 
+    // 글 목록 화면의 조회수를 새로 보여 줄 간격 (글 목록 ETag 를 이 간격마다 바꿈)
+    @Value("${board.list.viewCountRefresh}")
+    Duration listViewCountRefresh;
 
     /**
      * 게시판 글 저장
@@ -56,8 +94,8 @@ public class BoardService {
      */
     // 파일 저장 실패시 여기서 예외처리를 할 수도 있음
     public void write(BoardDTO boardDTO, String uploadPath, MultipartFile uploadedFile) {
-        MemberEntity memberEntity = memberRepository.findById(boardDTO.getMemberId())
-                .orElseThrow(() -> new EntityNotFoundException("회원아이디가 없습니다."));
+        // 외래키만 필요하므로 조회 없이 참조(프록시)만 얻는다. 로그인한 회원이므로 존재가 보장된다.
+        MemberEntity memberEntity = memberRepository.getReferenceById(boardDTO.getMemberId());
 
         BoardEntity entity = new BoardEntity();
         entity.setMember(memberEntity);
@@ -76,11 +114,8 @@ public class BoardService {
 
             // 예외처리 하는 타이밍에 따라 파일의 존재 여부에 따른 글 저장 처리를 다르게 한다.
             try {
-                // 파일 복사 //실제 파일을 만들어주는타이밍, 객체가 생성됨
-                // File file = new File(uploadPath, newFileName); // 작성법 두개
-                File filePath = new File(directoryPath + "/" + newFileName);
-                // 실제저장하고자 하는 위치로 이동시킴 //스트림을 이용해 1바이트씩 옮길 수도 있으나 File클래스가 제공하는 메서드를 이용하는 것
-                uploadedFile.transferTo(filePath);
+                // 실제저장하고자 하는 위치로 이동시킴 (업로드 바이트 수 메트릭 포함)
+                attachmentUtil.saveAttachment(uploadedFile, directoryPath, newFileName);
                 // 원래 이름과 저장된 이름을 Entity에 set
                 entity.setOriginalName(originalName);
                 entity.setFileName(newFileName);
@@ -93,6 +128,10 @@ public class BoardService {
         log.debug("저장되는 엔티티 : {}", entity);
 
         boardRepository.save(entity);
+        readYourWritesTracker.markWrite(boardDTO.getMemberId());
+        // 새 글은 캐시에 없지만 변경 기록(web5_change_log)에 남겨 다른 서버에도 알린다.
+        eventPublisher.publishEvent(new BoardChangedEvent(List.of(entity.getBoardNum())));
+        eventPublisher.publishEvent(new TitleChangedEvent(null, entity.getTitle()));
     }
 
     /**
@@ -100,6 +139,7 @@ public class BoardService {
      *
      * @return 글 목록
      */
+    @Transactional(readOnly = true)
     public List<BoardDTO> getListAll() {
         Sort sort = Sort.by(Sort.Direction.DESC, "boardNum");
         // 전체 보기
@@ -109,7 +149,8 @@ public class BoardService {
         // 제목 검색
 //        List<BoardEntity> entityList = boardRepository.findByTitleContainingOrContentsContaining("111", "111", sort);
 
-        log.debug("전체 글목록 조회 : {}", entityList);
+        // 엔티티 목록 전체를 문자열로 만들지 않도록 건수만 출력
+        log.debug("전체 글목록 조회 : {}건", entityList.size());
 
         List<BoardDTO> dtoList = new ArrayList<>();
         for (BoardEntity entity : entityList) {
@@ -132,8 +173,22 @@ public class BoardService {
         return dtoList;
     }
 
+    /**
+     * 게시글 전체를 DB 커서로 한 줄씩 읽어 전달 (전체 목록을 메모리에 만들지 않음)
+     * Stream 은 이 메소드의 읽기 전용 트랜잭션 안에서만 쓸 수 있으므로 rowConsumer 안에서 모두 사용한다.
+     *
+     * @param rowConsumer 글 목록 Stream 을 사용할 처리 (화면 출력 등)
+     */
+    @Transactional(readOnly = true)
+    public void streamListAll(Consumer<Stream<BoardSummaryDTO>> rowConsumer) {
+        try (Stream<BoardSummaryDTO> rows = boardRepository.streamAllSummaries()) {
+            rowConsumer.accept(rows);
+        }
+    }
+
     /**
      * 검색 후 지정한 한페이지 분량의 글 목록 조회
+     * 검색어가 있으면 최근 글 검색 결과 다음에 보관 글 검색 결과를 이어 붙인다.
      *
      * @param page       현재 페이지
      * @param pageSize   한 페이지당 글 수
@@ -141,6 +196,7 @@ public class BoardService {
      * @param searchWord 검색어
      * @return 한페이지의 글 목록
      */
+    @Transactional(readOnly = true)
     public Page<BoardDTO> getList(int page, int pageSize, String searchType, String searchWord) {
         // Page 객체는 번호가 0부터 시작
         page--;
@@ -165,7 +221,11 @@ public class BoardService {
                 break;
         }
 
-        log.debug("조회된 결과 엔티티페이지 : {}", entityPage.getContent());
+        log.debug("조회된 결과 엔티티페이지 : {}건", entityPage.getNumberOfElements());
+
+        if (!searchWord.isEmpty() && ARCHIVE_SEARCH_TYPES.contains(searchType)) {
+            return appendArchive(entityPage, pageable, searchType, searchWord);
+        }
 
         // entityPage의 각 요소들을 순회하면서 convertToDTO() 메소드로 전달하여 DTO로 변환하고
         // 이를 다시 새로운 Page객체로 만든다.
@@ -173,13 +233,108 @@ public class BoardService {
         return boardDTOPage;
     }
 
+    /**
+     * 최근 글 검색 결과 페이지의 남은 자리를 보관 글 검색 결과로 채운다.
+     * 보관 글은 최근 글 검색 결과가 끝나는 페이지부터 읽으므로 그 전 페이지에서는 건수만 센다.
+     *
+     * @param hotPage    최근 글 검색 결과 페이지
+     * @param pageable   페이지 조회 조건
+     * @param searchType 검색 대상
+     * @param searchWord 검색어
+     * @return 최근 글과 보관 글을 합친 페이지
+     */
+    private Page<BoardDTO> appendArchive(Page<BoardEntity> hotPage, Pageable pageable, String searchType, String searchWord) {
+        List<BoardDTO> content = new ArrayList<>(pageable.getPageSize());
+        for (BoardEntity entity : hotPage) {
+            content.add(convertToDTO(entity));
+        }
+
+        long archiveCount = boardArchiveRepository.countSearch(searchType, searchWord);
+        int remaining = pageable.getPageSize() - content.size();
+        if (remaining > 0 && archiveCount > 0) {
+            // 앞 페이지들에 이미 나온 보관 글 수만큼 건너뛴다.
+            long offset = pageable.getOffset() + content.size() - hotPage.getTotalElements();
+            for (BoardArchiveEntity entity : boardArchiveRepository.search(searchType, searchWord, (int) offset, remaining)) {
+                content.add(convertToDTO(entity));
+            }
+        }
+        return new PageImpl<>(content, pageable, hotPage.getTotalElements() + archiveCount);
+    }
+
+    /**
+     * 정렬 기준별 글 목록의 한 구간 조회 (키셋 페이징)
+     * 페이지 번호 대신 커서(이전 구간 마지막 글의 정렬값과 글번호)로 읽으므로 뒤 구간도 앞 구간과 같은 비용이고,
+     * 전체 건수는 세지 않는다.
+     *
+     * @param sortParam 정렬 기준 (views, likes, replies, updated, num)
+     * @param cursor    이전 구간의 nextCursor (첫 구간은 null)
+     * @param pageSize  한 구간의 글 수
+     * @return 글 목록 구간
+     */
+    @Transactional(readOnly = true)
+    public BoardWindowDTO getSortedList(String sortParam, String cursor, int pageSize) {
+        BoardListSort sort = BoardListSort.fromParam(sortParam);
+        BoardListSort.Cursor position = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                position = sort.decodeCursor(cursor);
+            } catch (IllegalArgumentException e) {
+                // 다른 정렬 기준의 커서 등은 첫 구간으로
+                log.debug("커서 무시 : {}", e.getMessage());
+                cursor = null;
+            }
+        }
+
+        // 다음 구간이 있는지 알기 위해 하나 더 읽는다.
+        List<BoardEntity> entityList = boardRepository.findKeysetPage(sort, position, pageSize + 1);
+        boolean hasNext = entityList.size() > pageSize;
+        if (hasNext) {
+            entityList = entityList.subList(0, pageSize);
+        }
+
+        List<BoardDTO> boardList = new ArrayList<>(entityList.size());
+        for (BoardEntity entity : entityList) {
+            boardList.add(convertToDTO(entity));
+        }
+
+        return BoardWindowDTO.builder()
+                .sort(sort.getParam())
+                .cursor(position != null ? cursor : null)
+                .nextCursor(hasNext ? sort.encodeCursor(entityList.get(entityList.size() - 1)) : null)
+                .boardList(boardList)
+                .build();
+    }
+
     /**
      * DB에서 조회한 게시글 정보인 BoardEntity 객체를 BoardDTO 객체로 변환
      *
      * @param entity    게시글 정보 Entity 객체
      * @return          게시글 정보 DTO 개체
      */
-    private BoardDTO convertToDTO(BoardEntity entity) {
+    BoardDTO convertToDTO(BoardEntity entity) {
+        return BoardDTO.builder()
+                .boardNum(entity.getBoardNum())
+                .memberId(entity.getMember() != null ? entity.getMember().getMemberId() : null)
+                .memberName(entity.getMember() != null ? entity.getMember().getMemberName() : null)
+                .title(entity.getTitle())
+                .contents(entity.getContents())
+                .viewCount(entity.getViewCount())
+                .likeCount(entity.getLikeCount())
+                .replyCount(entity.getReplyCount())
+                .originalName(entity.getOriginalName())
+                .fileName(entity.getFileName())
+                .createDate(entity.getCreateDate())
+                .updateDate(entity.getUpdateDate())
+                .build();
+    }
+
+    /**
+     * 보관 글 엔티티를 BoardDTO 객체로 변환
+     *
+     * @param entity    보관 게시글 정보 Entity 객체
+     * @return          게시글 정보 DTO 개체 (archived 표시)
+     */
+    BoardDTO convertToDTO(BoardArchiveEntity entity) {
         return BoardDTO.builder()
                 .boardNum(entity.getBoardNum())
                 .memberId(entity.getMember() != null ? entity.getMember().getMemberId() : null)
@@ -188,10 +343,12 @@ public class BoardService {
                 .contents(entity.getContents())
                 .viewCount(entity.getViewCount())
                 .likeCount(entity.getLikeCount())
+                .replyCount(entity.getReplyCount())
                 .originalName(entity.getOriginalName())
                 .fileName(entity.getFileName())
                 .createDate(entity.getCreateDate())
                 .updateDate(entity.getUpdateDate())
+                .archived(true)
                 .build();
     }
 
@@ -201,7 +358,7 @@ public class BoardService {
      * @param entity 리플 정보 Entity 객체
      * @return       리플 정보 DTO 객체
      */
-    private ReplyDTO convertToReplyDTO(ReplyEntity entity) {
+    ReplyDTO convertToReplyDTO(ReplyEntity entity) {
         return ReplyDTO.builder()
                 .replyNum(entity.getReplyNum())
                 .boardNum(entity.getBoard().getBoardNum())
@@ -213,28 +370,195 @@ public class BoardService {
     }
 
     /**
-     * 게시글 1개 조회
+     * 보관 리플 엔티티를 ReplyDTO 객체로 변환
+     *
+     * @param entity 보관 리플 정보 Entity 객체
+     * @return       리플 정보 DTO 객체
+     */
+    ReplyDTO convertToReplyDTO(ReplyArchiveEntity entity) {
+        return ReplyDTO.builder()
+                .replyNum(entity.getReplyNum())
+                .boardNum(entity.getBoard().getBoardNum())
+                .memberId(entity.getMember() != null ? entity.getMember().getMemberId() : null)
+                .memberName(entity.getMember() != null ? entity.getMember().getMemberName() : null)
+                .contents(entity.getContents())
+                .createDate(entity.getCreateDate())
+                .build();
+    }
+
+    /**
+     * 글 보기 화면의 버전 (ETag 용). 글 본문과 리플은 읽지 않는다.
+     *
+     * @param boardNum 글번호
+     * @return 수정 시간, 리플 수, 마지막 리플 번호로 만든 버전. 글이 없으면 null
+     */
+    @Transactional(readOnly = true)
+    public String getBoardVersion(int boardNum) {
+        return boardRepository.findVersionByBoardNum(boardNum)
+                .map(this::toVersionString)
+                // 보관 글은 보관 전 화면(리플 쓰기 폼 등)과 ETag 가 같지 않도록 구분한다.
+                .or(() -> boardArchiveRepository.findVersionByBoardNum(boardNum)
+                        .map(version -> "archived/" + toVersionString(version)))
+                .orElse(null);
+    }
+
+    /**
+     * 이미 읽은 게시글의 버전 (getBoardVersion(int) 과 같은 형식)
+     * 캐시에서 꺼낸 글이 DB 의 버전과 같은지 확인하고, 화면에 보이는 글 그대로 ETag 를 만드는 데 쓴다.
+     *
+     * @param board 리플 목록을 포함한 글 정보
+     * @return 수정 시간, 리플 수, 마지막 리플 번호로 만든 버전
+     */
+    public String getBoardVersion(BoardDTO board) {
+        List<ReplyDTO> replyList = board.getReplyList() != null ? board.getReplyList() : List.of();
+        Integer maxReplyNum = replyList.stream().map(ReplyDTO::getReplyNum).max(Integer::compare).orElse(null);
+        String version = toVersionString(new BoardVersionDTO(board.getUpdateDate(), (long) replyList.size(), maxReplyNum));
+        return board.isArchived() ? "archived/" + version : version;
+    }
+
+    /**
+     * 글 목록 화면의 버전 (ETag 용). 글 목록을 읽지 않는다.
+     * 글과 리플 변경(리플수 포함)은 BoardListVersion 으로 바로 반영한다.
+     * 조회수는 글을 읽을 때마다 바뀌므로 버전에 넣지 않고 board.list.viewCountRefresh 간격마다 버전을 바꾼다.
+     * (목록의 조회수는 그 간격만큼 늦게 보일 수 있음. 글 보기 캐시의 조회수와 같은 방식)
+     *
+     * @return 글 목록 버전과 조회수 갱신 구간으로 만든 버전
+     */
+    @Transactional(readOnly = true)
+    public String getListVersion() {
+        long viewCountPeriod = System.currentTimeMillis() / Math.max(1, listViewCountRefresh.toMillis());
+        return boardListVersion.current() + "/" + viewCountPeriod;
+    }
+
+    private String toVersionString(BoardVersionDTO version) {
+        return version.getUpdateDate() + "/" + version.getCount() + "/" + version.getMaxNum();
+    }
+
+    /**
+     * 조회수 1 증가
+     * 읽기 전용 조회(getBoard)와 분리하여 UPDATE 한 번으로 주 DB 에서 처리한다.
+     * 보관 글은 조회수를 올리지 않는다. (보관 테이블에는 쓰지 않음)
+     *
+     * @param boardNum 글번호
+     * @return 글이 있으면 true (보관 글 포함)
+     */
+    public boolean increaseViewCount(int boardNum) {
+        return boardRepository.increaseViewCount(boardNum) > 0 || boardArchiveRepository.existsById(boardNum);
+    }
+
+    /**
+     * 글 본문만 조회
+     *
+     * @param boardNum 글번호
+     * @return 글 내용. 글이 없으면 null
+     */
+    @Transactional(readOnly = true)
+    public String getContents(int boardNum) {
+        return boardRepository.findContentsByBoardNum(boardNum)
+                .or(() -> boardArchiveRepository.findContentsByBoardNum(boardNum))
+                .orElse(null);
+    }
+
+    /**
+     * 게시글 1개 조회 (조회수는 increaseViewCount()로 따로 증가)
      *
      * @param boardNum          글번호
      * @return the BoardDTO     글 정보
      * @throws EntityNotFoundException 게시글이 없을 때 예외
      */
+    @Transactional(readOnly = true)
     public BoardDTO getBoard(int boardNum) {
-        BoardEntity entity = boardRepository.findById(boardNum)
-                .orElseThrow(() -> new EntityNotFoundException("해당 번호의 글이 없습니다."));
+        BoardEntity entity = boardRepository.findWithMemberByBoardNum(boardNum).orElse(null);
+        if (entity == null) {
+            return getArchivedBoard(boardNum);
+        }
 
-        entity.setViewCount(entity.getViewCount() + 1);
         log.debug("{}번 게시물 조회 결과 : {}", boardNum, entity);
 
         BoardDTO dto = convertToDTO(entity);
 
-        List<ReplyDTO> replyDTOList = new ArrayList<ReplyDTO>();
-        for (ReplyEntity replyEntity : entity.getReplyList()) {
-            ReplyDTO replyDTO = convertToReplyDTO(replyEntity);
+        // 리플과 작성자를 한 번에 조회 (리플마다 회원 조회 쿼리가 나가지 않도록)
+        // 답글 경로 순서로 읽으므로 부모 리플 바로 다음에 그 답글들이 온다. (깊이 우선)
+        List<ReplyEntity> replyEntityList = replyRepository.findByBoard_BoardNum(boardNum
+                , Sort.by(Sort.Direction.ASC, "replyPath"));
+
+        dto.setReplyList(buildReplyTree(replyEntityList));
+        return dto;
+    }
+
+    /**
+     * 보관 글 1개 조회 (리플 포함)
+     *
+     * @param boardNum 글번호
+     * @return 글 정보 (archived 표시)
+     * @throws EntityNotFoundException 보관 글에도 없을 때 예외
+     */
+    private BoardDTO getArchivedBoard(int boardNum) {
+        BoardArchiveEntity entity = boardArchiveRepository.findWithMemberByBoardNum(boardNum)
+                .orElseThrow(() -> new EntityNotFoundException("해당 번호의 글이 없습니다."));
+
+        BoardDTO dto = convertToDTO(entity);
+        List<ReplyArchiveEntity> replyEntityList = replyArchiveRepository.findByBoard_BoardNum(boardNum
+                , Sort.by(Sort.Direction.ASC, "replyPath"));
+        dto.setReplyList(buildReplyTree(replyEntityList, ReplyArchiveEntity::getReplyPath, this::convertToReplyDTO));
+        return dto;
+    }
+
+    /**
+     * 경로 순서로 읽은 리플 목록에 부모 리플 번호와 깊이를 채운다. (한 번 훑기)
+     * 지금 리플의 조상만 스택에 남기므로, 스택 맨 위가 부모이고 스택 크기가 깊이이다.
+     * 화면에는 이 순서 그대로 깊이만큼 들여 쓰면 트리가 된다.
+     *
+     * @param replyEntityList 답글 경로 순서로 정렬된 리플 목록
+     * @return 깊이 우선 순서의 리플 목록
+     */
+    List<ReplyDTO> buildReplyTree(List<ReplyEntity> replyEntityList) {
+        return buildReplyTree(replyEntityList, ReplyEntity::getReplyPath, this::convertToReplyDTO);
+    }
+
+    /**
+     * 경로 순서로 읽은 리플 목록으로 트리 만들기 (최근 글, 보관 글 리플 공통)
+     *
+     * @param replyEntityList 답글 경로 순서로 정렬된 리플 목록
+     * @param pathReader      리플의 답글 경로
+     * @param converter       리플을 DTO 로 변환
+     * @return 깊이 우선 순서의 리플 목록
+     */
+    <T> List<ReplyDTO> buildReplyTree(List<T> replyEntityList, Function<T, String> pathReader
+            , Function<T, ReplyDTO> converter) {
+        List<ReplyDTO> replyDTOList = new ArrayList<>(replyEntityList.size());
+        Deque<String> ancestorPaths = new ArrayDeque<>();
+        Deque<ReplyDTO> ancestors = new ArrayDeque<>();
+
+        for (T replyEntity : replyEntityList) {
+            String path = pathReader.apply(replyEntity);
+            while (!ancestorPaths.isEmpty() && !path.startsWith(ancestorPaths.peek())) {
+                ancestorPaths.pop();
+                ancestors.pop();
+            }
+
+            ReplyDTO replyDTO = converter.apply(replyEntity);
+            replyDTO.setDepth(ancestors.size());
+            replyDTO.setParentNum(ancestors.isEmpty() ? null : ancestors.peek().getReplyNum());
             replyDTOList.add(replyDTO);
+
+            // 경로가 없는 리플(일괄 입력 직후 등)은 다른 리플의 조상이 될 수 없다.
+            if (!path.isEmpty()) {
+                ancestorPaths.push(path);
+                ancestors.push(replyDTO);
+            }
         }
-        dto.setReplyList(replyDTOList);
-        return dto;
+        return replyDTOList;
+    }
+
+    /**
+     * 답글 경로의 한 칸 (리플번호를 10자리로 맞춤)
+     *
+     * @param replyNum 리플 번호
+     * @return 경로 한 칸
+     */
+    static String replyPathSegment(int replyNum) {
+        return String.format("%0" + REPLY_PATH_SEGMENT + "d", replyNum);
     }
 
     /**
@@ -245,22 +569,51 @@ public class BoardService {
      * @param uploadPath 첨부파일이 저장된 경로
      */
     public void delete(int boardNum, String username, String uploadPath) {
-        BoardEntity boardEntity = boardRepository.findById(boardNum)
-                .orElseThrow(() -> new EntityNotFoundException("게시글이 없습니다."));
+        BoardEntity boardEntity = boardRepository.findById(boardNum).orElse(null);
+        if (boardEntity == null) {
+            deleteArchived(boardNum, username, uploadPath);
+            return;
+        }
 
         // 본인 글인지 확인하고 본인 글일때만 삭제 가능하도록 함
         if (!boardEntity.getMember().getMemberId().equals(username)) {
             throw new RuntimeException("삭제 권한이 없습니다.");
         }
 
-        // 첨부파일이 있으면 삭제처리(를 하기전에 파일의 이름이 존재하는지 확인하여 삭제)
+        // 데이터베이스의 글 삭제
+        // 엔티티 삭제(delete)는 리플을 모두 읽어 하나씩 지우므로 DELETE 한 번으로 처리하고 리플은 DB의 on delete cascade에 맡긴다.
+        boardRepository.deleteByBoardNums(List.of(boardNum));
+
+        // 첨부파일이 있으면 커밋 후 백그라운드에서 삭제
         if (boardEntity.getFileName() != null
                 && !boardEntity.getFileName().isEmpty()) {
-            attachmentUtil.deleteIfAttachmentExists(uploadPath, boardEntity.getFileName());
+            eventPublisher.publishEvent(new AttachmentDeleteEvent(uploadPath, List.of(boardEntity.getFileName())));
         }
+        eventPublisher.publishEvent(new BoardChangedEvent(List.of(boardNum)));
+        eventPublisher.publishEvent(new TitleChangedEvent(boardEntity.getTitle(), null));
+        readYourWritesTracker.markWrite(username);
+    }
 
-        // 데이터베이스의 글 삭제
-        boardRepository.delete(boardEntity);
+    /**
+     * 보관된 게시글 삭제 (리플은 web5_reply_archive 의 on delete cascade 로 함께 삭제)
+     * 보관 글의 제목은 자동 완성 색인에 없으므로 색인은 건드리지 않는다.
+     */
+    private void deleteArchived(int boardNum, String username, String uploadPath) {
+        BoardArchiveEntity archiveEntity = boardArchiveRepository.findById(boardNum)
+                .orElseThrow(() -> new EntityNotFoundException("게시글이 없습니다."));
+
+        if (!archiveEntity.getMember().getMemberId().equals(username)) {
+            throw new RuntimeException("삭제 권한이 없습니다.");
+        }
+
+        boardArchiveRepository.deleteByBoardNums(List.of(boardNum));
+
+        if (archiveEntity.getFileName() != null
+                && !archiveEntity.getFileName().isEmpty()) {
+            eventPublisher.publishEvent(new AttachmentDeleteEvent(uploadPath, List.of(archiveEntity.getFileName())));
+        }
+        eventPublisher.publishEvent(new BoardChangedEvent(List.of(boardNum)));
+        readYourWritesTracker.markWrite(username);
     }
 
     /**
@@ -292,8 +645,7 @@ public class BoardService {
             File directoryPath = attachmentUtil.ensureDirectoryExists(uploadPath);
 
             try {
-                File filePath = new File(directoryPath + "/" + newFileName);
-                uploadedFile.transferTo(filePath);
+                attachmentUtil.saveAttachment(uploadedFile, directoryPath, newFileName);
                 entity.setOriginalName(originalName);
                 entity.setFileName(newFileName);
             } catch (IOException e) {
@@ -306,34 +658,59 @@ public class BoardService {
 
         boardRepository.save(entity);
         // 전달된 정보 수정
+        String oldTitle = entity.getTitle();
         entity.setTitle(boardDTO.getTitle());
         entity.setContents(boardDTO.getContents());
+        eventPublisher.publishEvent(new BoardChangedEvent(List.of(entity.getBoardNum())));
+        eventPublisher.publishEvent(new TitleChangedEvent(oldTitle, entity.getTitle()));
+        readYourWritesTracker.markWrite(username);
     }
 
     /**
      * 리플 저장
      *
-     * @param replyDTO 작성한 리플 정보
-     * @throws EntityNotFoundException 사용자 정보가 없을 때 예외
+     * @param replyDTO 작성한 리플 정보 (parentNum 이 있으면 그 리플의 답글)
+     * @throws org.springframework.dao.DataIntegrityViolationException 회원 또는 게시글이 없을 때 예외
+     * @throws EntityNotFoundException 답글을 달 리플이 없을 때 예외
+     * @throws IllegalArgumentException 다른 글의 리플이거나 답글 깊이 제한을 넘을 때 예외
      */
     public void replyWrite(ReplyDTO replyDTO) {
-        MemberEntity memberEntity = memberRepository.findById(replyDTO.getMemberId())
-                .orElseThrow(() -> new EntityNotFoundException("사용자 아이디가 없습니다."));
+        // 답글이면 부모 리플의 경로 아래에 단다.
+        String parentPath = "";
+        if (replyDTO.getParentNum() != null) {
+            ReplyEntity parent = replyRepository.findById(replyDTO.getParentNum())
+                    .orElseThrow(() -> new EntityNotFoundException("답글을 달 리플이 없습니다."));
+            if (!parent.getBoard().getBoardNum().equals(replyDTO.getBoardNum())) {
+                throw new IllegalArgumentException("다른 글의 리플에는 답글을 달 수 없습니다.");
+            }
+            parentPath = parent.getReplyPath();
+            if (parentPath.length() + REPLY_PATH_SEGMENT > REPLY_PATH_MAX_LENGTH) {
+                throw new IllegalArgumentException("더 이상 답글을 달 수 없습니다.");
+            }
+        }
 
-        BoardEntity boardEntity = boardRepository.findById(replyDTO.getBoardNum())
-                .orElseThrow(() -> new EntityNotFoundException("게시글이 없습니다."));
+        // 회원과 게시글은 외래키만 필요하므로 조회 없이 참조(프록시)만 얻는다.
+        // 없는 글번호면 INSERT 시 외래키 제약조건 오류가 난다.
+        MemberEntity memberEntity = memberRepository.getReferenceById(replyDTO.getMemberId());
+        BoardEntity boardEntity = boardRepository.getReferenceById(replyDTO.getBoardNum());
 
         ReplyEntity entity = ReplyEntity.builder()
                 .board(boardEntity)
                 .member(memberEntity)
                 .contents(replyDTO.getContents())
+                .replyPath("")
                 .build();
 
+        // 자동 증가 번호는 INSERT 후에 알 수 있으므로 경로는 커밋 시 UPDATE 로 채운다.
         replyRepository.save(entity);
+        entity.setReplyPath(parentPath + replyPathSegment(entity.getReplyNum()));
+        boardRepository.addReplyCount(replyDTO.getBoardNum(), 1);
+        eventPublisher.publishEvent(new BoardChangedEvent(List.of(replyDTO.getBoardNum())));
+        readYourWritesTracker.markWrite(replyDTO.getMemberId());
     }
 
     /**
-     * 리플 삭제
+     * 리플 삭제 (달린 답글도 함께 삭제)
      *
      * @param replyNum 삭제할 리플 번호
      * @param username 로그인한 아이디
@@ -345,7 +722,21 @@ public class BoardService {
         if (!replyEntity.getMember().getMemberId().equals(username)) {
             throw new RuntimeException("삭제 권한이 없습니다.");
         }
-        replyRepository.delete(replyEntity);
+        // 리플에 달린 답글도 함께 삭제
+        int boardNum = replyEntity.getBoard().getBoardNum();
+        int deleted = 1;
+        if (replyEntity.getReplyPath().isEmpty()) {
+            replyRepository.delete(replyEntity);
+        } else {
+            deleted = replyRepository.deleteSubtree(boardNum, replyEntity.getReplyPath());
+        }
+        boardRepository.addReplyCount(boardNum, -deleted);
+        eventPublisher.publishEvent(new BoardChangedEvent(List.of(boardNum)));
+        readYourWritesTracker.markWrite(username);
+    }
+
+    // 첨부파일의 원래 이름과 저장된 이름
+    private record Attachment(String originalName, String fileName) {
     }
 
     /**
@@ -355,33 +746,32 @@ public class BoardService {
      * @param response   the response
      * @param uploadPath the upload path
      */
+    @Transactional(readOnly = true)
     public void download(Integer boardNum, HttpServletResponse response, String uploadPath) {
-        // 글번호로 게시글 정보 DB에서조회
-        BoardEntity boardEntity = boardRepository.findById(boardNum)
+        // 글번호로 게시글 정보 DB에서조회 (최근 글에 없으면 보관 글. 첨부파일은 보관해도 같은 곳에 있다.)
+        Attachment attachment = boardRepository.findById(boardNum)
+                .map(entity -> new Attachment(entity.getOriginalName(), entity.getFileName()))
+                .or(() -> boardArchiveRepository.findById(boardNum)
+                        .map(entity -> new Attachment(entity.getOriginalName(), entity.getFileName())))
                 .orElseThrow(() -> new EntityNotFoundException("게시글이 없습니다."));
         // 응답정보의 헤더에 파일명 추가 원래의 파일 명
         try {
             response.setHeader("Content-Disposition", "attachment;filename="
-             + URLEncoder.encode(boardEntity.getOriginalName(), "UTF-8"));
+             + URLEncoder.encode(attachment.originalName(), "UTF-8"));
         } catch (UnsupportedEncodingException e) {
             e.printStackTrace();
         }
         // 파일의 저장 경로에서 파일 읽기 저장된 파일 경로 (예시 c:/upload/240806_UUID랜덤문자열.jpg)
-        String fullPath = uploadPath + "/" + boardEntity.getFileName();
-
-        // 서버의 파일을 읽을 입력 스트림과 클라이언트에게 전달할 출력 스트림
-        FileInputStream filein = null;
+        // 클라이언트에게 전달할 출력 스트림
         ServletOutputStream fileout = null;
 
         try {
-            filein = new FileInputStream(fullPath); // 읽다가 실패한 경우 다운로드된 파일이 0바이트가 됨.
             fileout = response.getOutputStream();   // 읽은 파일 정보를 response객체를 통해 출력
 
-            // Spring의 파일 관련 유틸 이용하여 출력 (원래 1바이트씩 처리하기때문에 반복문 필요, 스프링에서 제공하는 FileCopyUtils의 copy메서드 사용)
-            FileCopyUtils.copy(filein,fileout);
+            // 저장된 파일을 읽어 출력 (읽다가 실패한 경우 다운로드된 파일이 0바이트가 됨. 다운로드 바이트 수 메트릭 포함)
+            attachmentUtil.copyAttachment(uploadPath, attachment.fileName(), fileout);
 
             // 스트림 닫기
-            filein.close();
             fileout.close();
         } catch (IOException e) {
             e.printStackTrace();
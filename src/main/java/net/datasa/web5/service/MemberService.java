@@ -3,9 +3,11 @@ package net.datasa.web5.service;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import net.datasa.web5.changelog.ChangeLogWriter.MemberChangedEvent;
 import net.datasa.web5.domain.dto.MemberDTO;
 import net.datasa.web5.domain.entity.MemberEntity;
 import net.datasa.web5.repository.MemberRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -23,6 +25,9 @@ public class MemberService {
     // 회원 관련 리포지토리
     private final MemberRepository memberRepository;
 
+    // 회원 변경 알림 (다른 서버의 회원 캐시 제거용 변경 기록)
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * 가입시 아이디 중복 확인
      * 
@@ -30,7 +35,7 @@ public class MemberService {
      * @return 해당 아이디로 가입 가능 여부
      */
     public boolean idCheck(String searchId) {
-        return !memberRepository.existsById(searchId);
+        return !memberRepository.existsByMemberId(searchId);
     }
 
     /**
@@ -51,6 +56,8 @@ public class MemberService {
                 .build();
 
         memberRepository.save(entity);
+        // 다른 서버의 아이디 중복 확인 결과(쿼리 캐시)도 갱신되도록
+        eventPublisher.publishEvent(new MemberChangedEvent(entity.getMemberId()));
     }
 
     /**
@@ -95,5 +102,6 @@ public class MemberService {
         entity.setAddress(dto.getAddress());
 
         memberRepository.save(entity);
+        eventPublisher.publishEvent(new MemberChangedEvent(entity.getMemberId()));
     }
 }
@@ -0,0 +1,450 @@
+package net.datasa.web5.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 글 제목 자동 완성용 메모리 색인 (/board/suggest)
+ * <p>
+ * 제목을 단어로 나눠 단어 -> 그 단어가 들어간 글 수(인기도) 를 글자 단위 트리(trie)에 담는다.
+ * 트리의 각 노드는 자기 아래 단어 중 가장 큰 글 수를 함께 기억하므로, 입력 중인 단어의 노드에서
+ * 글 수가 큰 가지부터 따라 내려가 maxResults 개를 찾으면 멈춘다. (그 단어로 시작하는 단어 수와 관계없이 정확한 순위, DB 를 읽지 않음)
+ * 단어 수는 maxTokens 를 넘지 않는다. (꽉 찬 동안 새 단어는 버림)
+ * 보관된 글(web5_board_archive)의 제목은 넣지 않는다.
+ * <p>
+ * 제목 변경(글 쓰기/수정/삭제, 관리자 일괄 삭제, 보관, 가져오기)은 TitleChangedEvent 로 알린다.
+ * 이 서버는 커밋 후 바로 반영하고, 다른 서버는 변경 기록(web5_change_log)에 남은 단어 변경을 ChangeLogPoller 가 읽어 반영한다.
+ * 그래서 전체 제목을 다시 읽는 것은 서버 시작 직후와, 어긋난 부분(포기한 변경 기록, DB 직접 수정)을 맞추는
+ * rebuildInterval(기본 하루)마다뿐이다. 다시 만들 때도 단어는 maxTokens 개까지만 센다. (Space-Saving, 메모리 상한)
+ */
+@Slf4j
+@Component
+public class TitleSuggestIndex {
+
+    // 제목을 나누는 기준 (글자와 숫자가 아닌 문자)
+    private static final Pattern TOKEN_DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // 색인에 넣는 단어 길이 (한 글자 단어는 너무 많이 걸리고, 긴 단어는 자리만 차지함. 변경 기록의 entity_id 에 들어가는 길이)
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 30;
+
+    // 자동 완성 후보 순서 : 글 수가 많은 순, 같으면 가나다 순
+    private static final Comparator<Candidate> BY_WEIGHT = Comparator.comparingInt(Candidate::weight).reversed()
+            .thenComparing(Candidate::key);
+
+    /**
+     * 글 제목 변경 알림 (커밋 후 색인에 반영, 커밋 직전에 변경 기록에 남김)
+     *
+     * @param oldTitle 지울 제목 (새 글이면 null)
+     * @param newTitle 넣을 제목 (삭제된 글이면 null)
+     */
+    public record TitleChangedEvent(String oldTitle, String newTitle) {
+
+        /**
+         * 예전 제목에만 있던 단어 (글 수를 1 줄일 단어)
+         */
+        public List<String> removedTokens() {
+            return difference(oldTitle, newTitle);
+        }
+
+        /**
+         * 새 제목에만 있는 단어 (글 수를 1 늘릴 단어)
+         */
+        public List<String> addedTokens() {
+            return difference(newTitle, oldTitle);
+        }
+
+        private static List<String> difference(String title, String other) {
+            if (title == null) {
+                return List.of();
+            }
+            List<String> tokens = tokenize(title);
+            if (other != null) {
+                tokens.removeAll(tokenize(other));
+            }
+            return tokens;
+        }
+    }
+
+    // 트리의 노드 (key 로 시작하는 단어들)
+    private static final class Node {
+        final String key;
+        // key 와 같은 단어의 글 수 (색인된 단어가 아니면 0)
+        int weight;
+        // 자기와 아래 노드의 단어 중 가장 큰 글 수
+        int maxWeight;
+        Map<Character, Node> children;
+
+        Node(String key) {
+            this.key = key;
+        }
+    }
+
+    // 자동 완성 중 살펴볼 후보 (node 가 null 이면 단어, 아니면 그 노드 아래의 단어들)
+    private record Candidate(String key, int weight, Node node) {
+    }
+
+    // 단어 하나의 글 수 변경 (다시 만드는 동안 반영한 변경을 새 색인에 다시 반영하기 위해 모아 둔다)
+    private record TokenChange(String token, int delta) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxTokens;
+    private final int maxResults;
+
+    // 읽기(자동 완성)는 함께, 변경과 바꾸기는 하나씩
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node("");
+    private int tokenCount;
+    // 다시 만드는 동안 반영한 변경 (새 색인에도 다시 반영한다. 다시 만들지 않을 때는 null)
+    private List<TokenChange> pending;
+    // 다시 만들기가 겹치지 않도록
+    private final Object rebuildLock = new Object();
+
+    private final Timer suggestTimer;
+    private final Counter droppedTokens;
+
+    public TitleSuggestIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager
+            , MeterRegistry meterRegistry
+            , @Value("${board.suggest.maxTokens}") int maxTokens
+            , @Value("${board.suggest.maxResults}") int maxResults
+            , @Value("${board.listAll.fetchSize}") int fetchSize) {
+        // 전체 제목을 한 번에 메모리로 읽지 않도록 전체 목록(listAll)과 같은 fetchSize 로 읽는다.
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // 복제본이 있으면 복제본에서 읽도록 (ReplicaRoutingDataSource)
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxTokens = maxTokens;
+        this.maxResults = maxResults;
+
+        this.suggestTimer = Timer.builder("board.suggest")
+                .description("자동 완성 검색 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.droppedTokens = Counter.builder("board.suggest.tokens.dropped")
+                .description("색인이 꽉 차 넣지 못한 단어 수")
+                .register(meterRegistry);
+        Gauge.builder("board.suggest.tokens", this, index -> index.size())
+                .description("자동 완성 색인의 단어 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 입력 중인 검색어의 마지막 단어로 시작하는 단어를 글 수가 많은 순서로 찾아 검색어를 완성한다.
+     * 글 수가 큰 가지부터 살펴보므로 짧은 입력(후보 단어가 많은 경우)도 결과 수에 비례하는 시간에 끝난다.
+     *
+     * @param query 입력 중인 검색어 (예: "스프링 부")
+     * @return 완성된 검색어 목록 (소문자. 예: "스프링 부트"), 최대 maxResults 개
+     */
+    public List<String> suggest(String query) {
+        return suggestTimer.record(() -> {
+            String lower = query.toLowerCase(Locale.ROOT);
+            int start = lastTokenStart(lower);
+            String prefix = lower.substring(start);
+            if (prefix.isEmpty()) {
+                return List.of();
+            }
+
+            List<String> result = new ArrayList<>(maxResults);
+            lock.readLock().lock();
+            try {
+                Node node = find(root, prefix);
+                if (node == null || node.maxWeight == 0) {
+                    return result;
+                }
+
+                // 후보 중 가장 앞 순서를 꺼낸다. 노드는 아래 단어 중 가장 큰 글 수로 비교하므로
+                // 단어가 꺼내질 때는 남은 어떤 단어보다 앞 순서다.
+                PriorityQueue<Candidate> candidates = new PriorityQueue<>(BY_WEIGHT);
+                candidates.add(new Candidate(node.key, node.maxWeight, node));
+                while (!candidates.isEmpty() && result.size() < maxResults) {
+                    Candidate candidate = candidates.poll();
+                    if (candidate.node() == null) {
+                        result.add(lower.substring(0, start) + candidate.key());
+                        continue;
+                    }
+                    Node current = candidate.node();
+                    if (current.weight > 0) {
+                        candidates.add(new Candidate(current.key, current.weight, null));
+                    }
+                    if (current.children != null) {
+                        for (Node child : current.children.values()) {
+                            candidates.add(new Candidate(child.key, child.maxWeight, child));
+                        }
+                    }
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 이 서버에서 커밋된 제목 변경을 반영
+     *
+     * @param event 바뀐 제목
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void apply(TitleChangedEvent event) {
+        List<TokenChange> changes = new ArrayList<>();
+        event.removedTokens().forEach(token -> changes.add(new TokenChange(token, -1)));
+        event.addedTokens().forEach(token -> changes.add(new TokenChange(token, 1)));
+        apply(changes);
+    }
+
+    /**
+     * 다른 서버의 제목 변경으로 단어 하나를 더한다. (ChangeLogPoller)
+     */
+    public void tokenAdded(String token) {
+        apply(List.of(new TokenChange(token, 1)));
+    }
+
+    /**
+     * 다른 서버의 제목 변경으로 단어 하나를 뺀다. (ChangeLogPoller)
+     */
+    public void tokenRemoved(String token) {
+        apply(List.of(new TokenChange(token, -1)));
+    }
+
+    private void apply(List<TokenChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.addAll(changes);
+            }
+            changes.forEach(this::applyTo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 지금 색인에 반영 (쓰기 잠금 안에서만 호출)
+    private void applyTo(TokenChange change) {
+        if (change.delta() < 0) {
+            Node node = find(root, change.token());
+            if (node == null || node.weight == 0) {
+                return;
+            }
+            if (node.weight == 1) {
+                tokenCount--;
+            }
+            update(root, change.token(), node.weight - 1);
+        } else {
+            Node node = find(root, change.token());
+            if (node != null && node.weight > 0) {
+                update(root, change.token(), node.weight + 1);
+            } else if (tokenCount < maxTokens) {
+                update(root, change.token(), 1);
+                tokenCount++;
+            } else {
+                droppedTokens.increment();
+            }
+        }
+    }
+
+    /**
+     * 단어의 글 수를 바꾸고 위쪽 노드의 최대 글 수를 다시 계산한다. (지금 색인이면 쓰기 잠금 안에서만 호출)
+     * 최대 글 수가 바뀌지 않는 노드에서 멈추고, 단어도 아래 노드도 없어진 노드는 지운다.
+     */
+    private static void update(Node root, String token, int weight) {
+        List<Node> path = new ArrayList<>(token.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < token.length(); i++) {
+            if (node.children == null) {
+                node.children = new HashMap<>();
+            }
+            int end = i + 1;
+            node = node.children.computeIfAbsent(token.charAt(i), c -> new Node(token.substring(0, end)));
+            path.add(node);
+        }
+        node.weight = weight;
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            int maxWeight = current.weight;
+            if (current.children != null) {
+                for (Node child : current.children.values()) {
+                    maxWeight = Math.max(maxWeight, child.maxWeight);
+                }
+            }
+            boolean unchanged = maxWeight == current.maxWeight;
+            current.maxWeight = maxWeight;
+            if (maxWeight == 0 && i > 0) {
+                path.get(i - 1).children.remove(current.key.charAt(i - 1));
+            } else if (unchanged) {
+                break;
+            }
+        }
+    }
+
+    private static Node find(Node root, String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children != null ? node.children.get(key.charAt(i)) : null;
+        }
+        return node;
+    }
+
+    /**
+     * 전체 제목으로 색인을 새로 만들어 바꾼다. (이 빈이 만들어진 직후 한 번, 그 뒤 rebuildInterval 마다)
+     * lazy 프로필에서도 StartupConfig 가 이 빈을 시작할 때 만들므로 첫 색인은 서버 시작 직후에 만들어진다.
+     * 새 색인을 따로 만든 뒤 한 번에 바꾸므로 그동안에도 이전 색인으로 답한다.
+     * 읽는 동안 반영한 변경(이 서버와 다른 서버)은 따로 모아 두었다가 바꾸기 전에 새 색인에도 반영한다.
+     * (읽기 시작 전에 커밋되었지만 아직 반영되지 않은 변경이나 복제 지연으로 복제본에 없던 변경은 어긋날 수 있고, 다음 다시 만들기 때 맞춰진다.)
+     * <p>
+     * 단어는 Space-Saving 으로 maxTokens 개까지만 세므로 다시 만드는 동안의 메모리도 색인 크기를 넘지 않는다.
+     * 서로 다른 단어가 maxTokens 개 이하면 정확히 세고, 넘으면 가장 적게 센 단어를 새 단어가 밀어내며
+     * 글 수가 전체 단어 수 / maxTokens 보다 많은 단어는 반드시 남는다. (밀어낸 뒤의 글 수는 실제보다 클 수 있음)
+     */
+    @Scheduled(fixedDelayString = "${board.suggest.rebuildInterval}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                TokenCounter counter = new TokenCounter(maxTokens);
+                readOnlyTransaction.executeWithoutResult(status ->
+                        jdbcTemplate.query("select title from web5_board", rs -> {
+                            tokenize(rs.getString(1)).forEach(counter::add);
+                        }));
+
+                Node rebuilt = new Node("");
+                counter.counts.forEach((token, count) -> update(rebuilt, token, count));
+
+                int replayed;
+                lock.writeLock().lock();
+                try {
+                    root = rebuilt;
+                    tokenCount = counter.counts.size();
+                    replayed = pending.size();
+                    pending.forEach(this::applyTo);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.debug("자동 완성 색인 : 단어 {}개 (밀어낸 단어 {}개, 다시 반영한 변경 {}건)"
+                        , counter.counts.size(), counter.evicted, replayed);
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * 다시 만들 때 단어를 capacity 개까지만 세는 Space-Saving 카운터
+     * 꽉 찬 뒤 처음 보는 단어는 가장 적게 센 단어(같으면 먼저 그 수가 된 단어)를 밀어내고 그 수 + 1 에서 시작한다.
+     */
+    private static final class TokenCounter {
+        private final int capacity;
+        private final Map<String, Integer> counts = new HashMap<>();
+        // 글 수 -> 그 수인 단어 (가장 적게 센 단어를 바로 찾기 위해)
+        private final TreeMap<Integer, Set<String>> byCount = new TreeMap<>();
+        private long evicted;
+
+        TokenCounter(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void add(String token) {
+            Integer count = counts.get(token);
+            if (count != null) {
+                unlink(token, count);
+            } else if (counts.size() < capacity) {
+                count = 0;
+            } else if (capacity > 0) {
+                Map.Entry<Integer, Set<String>> min = byCount.firstEntry();
+                String victim = min.getValue().iterator().next();
+                unlink(victim, min.getKey());
+                counts.remove(victim);
+                evicted++;
+                count = min.getKey();
+            } else {
+                evicted++;
+                return;
+            }
+            counts.put(token, count + 1);
+            byCount.computeIfAbsent(count + 1, key -> new LinkedHashSet<>()).add(token);
+        }
+
+        private void unlink(String token, int count) {
+            Set<String> tokens = byCount.get(count);
+            tokens.remove(token);
+            if (tokens.isEmpty()) {
+                byCount.remove(count);
+            }
+        }
+    }
+
+    /**
+     * 색인의 단어 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tokenCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 제목을 색인할 단어로 나눈다. (소문자, 한 제목 안의 같은 단어는 한 번)
+     */
+    static List<String> tokenize(String title) {
+        List<String> result = new ArrayList<>();
+        for (String token : TOKEN_DELIMITER.split(title.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TOKEN_LENGTH && token.length() <= MAX_TOKEN_LENGTH && !result.contains(token)) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    // 검색어에서 마지막 단어가 시작하는 위치
+    private static int lastTokenStart(String query) {
+        int start = query.length();
+        while (start > 0 && Character.isLetterOrDigit(query.charAt(start - 1))) {
+            start--;
+        }
+        return start;
+    }
+}
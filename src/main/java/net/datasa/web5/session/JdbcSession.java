@@ -0,0 +1,134 @@
+package net.datasa.web5.session;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * web5_session 테이블의 한 행에 해당하는 세션
+ * <p>
+ * 속성이나 만료 시간이 바뀐 세션(changed)은 저장할 때 바로 기록하고,
+ * 마지막 사용 시간만 바뀐 세션(accessed)은 JdbcSessionRepository 가 모아 두었다가 한 번에 기록한다.
+ * 속성은 setAttribute() 로 다시 넣어야 바뀐 것으로 본다. (꺼낸 객체를 고치기만 하면 저장되지 않음)
+ */
+final class JdbcSession implements Session {
+
+    private final MapSession delegate;
+    private boolean isNew;
+    // DB 에 저장된 세션 ID (로그인 시 ID 가 바뀌면 이 ID 의 행을 고친다.)
+    private String originalId;
+    private boolean changed;
+    private boolean accessed;
+
+    /**
+     * 새 세션
+     */
+    JdbcSession(Duration maxInactiveInterval) {
+        this.delegate = new MapSession();
+        this.delegate.setMaxInactiveInterval(maxInactiveInterval);
+        this.isNew = true;
+        this.originalId = delegate.getId();
+    }
+
+    /**
+     * DB 에서 읽은 세션
+     */
+    JdbcSession(MapSession loaded) {
+        this.delegate = loaded;
+        this.isNew = false;
+        this.originalId = loaded.getId();
+    }
+
+    boolean isNew() {
+        return isNew;
+    }
+
+    String getOriginalId() {
+        return originalId;
+    }
+
+    boolean isChanged() {
+        return changed;
+    }
+
+    boolean isAccessed() {
+        return accessed;
+    }
+
+    // 저장 후 상태 초기화
+    void markSaved() {
+        isNew = false;
+        originalId = delegate.getId();
+        changed = false;
+        accessed = false;
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public String changeSessionId() {
+        return delegate.changeSessionId();
+    }
+
+    @Override
+    public <T> T getAttribute(String attributeName) {
+        return delegate.getAttribute(attributeName);
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        return delegate.getAttributeNames();
+    }
+
+    @Override
+    public void setAttribute(String attributeName, Object attributeValue) {
+        delegate.setAttribute(attributeName, attributeValue);
+        changed = true;
+    }
+
+    @Override
+    public void removeAttribute(String attributeName) {
+        if (delegate.getAttribute(attributeName) != null) {
+            delegate.removeAttribute(attributeName);
+            changed = true;
+        }
+    }
+
+    @Override
+    public Instant getCreationTime() {
+        return delegate.getCreationTime();
+    }
+
+    @Override
+    public void setLastAccessedTime(Instant lastAccessedTime) {
+        delegate.setLastAccessedTime(lastAccessedTime);
+        accessed = true;
+    }
+
+    @Override
+    public Instant getLastAccessedTime() {
+        return delegate.getLastAccessedTime();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(Duration interval) {
+        delegate.setMaxInactiveInterval(interval);
+        changed = true;
+    }
+
+    @Override
+    public Duration getMaxInactiveInterval() {
+        return delegate.getMaxInactiveInterval();
+    }
+
+    @Override
+    public boolean isExpired() {
+        return delegate.isExpired();
+    }
+}
@@ -0,0 +1,254 @@
+package net.datasa.web5.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSession;
+import org.springframework.session.SessionRepository;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * web5_session 테이블에 세션을 저장하는 저장소 (여러 서버가 같은 세션을 사용)
+ * <p>
+ * 세션을 쓰는 요청은 세션 ID 로 한 행을 읽는 쿼리 한 번이 추가된다.
+ * 요청마다 바뀌는 마지막 사용 시간은 바로 기록하지 않고 pendingTouches 에 모아 두었다가
+ * flushInterval 마다 배치 UPDATE 로 한 번에 기록한다. (속성이 바뀐 세션은 저장할 때 바로 기록)
+ * 그래서 다른 서버가 보는 마지막 사용 시간은 flushInterval 만큼 늦을 수 있고,
+ * 만료 판단과 일괄 삭제는 그만큼 여유(expiryGrace)를 두고 한다.
+ * 만료 세션은 요청마다 지우지 않고 cleanupInterval 마다 만료 시간 인덱스로 한 번에 지운다.
+ * 복제본은 지연될 수 있으므로 트랜잭션 없이 주 DB 에서 읽고 쓴다.
+ */
+@Slf4j
+@Component
+public class JdbcSessionRepository implements SessionRepository<JdbcSession> {
+
+    private static final String SELECT_SQL = "select creation_time, last_access_time, max_inactive_seconds, attributes"
+            + " from web5_session where session_id = ?";
+    private static final String INSERT_SQL = "insert into web5_session (session_id, creation_time, last_access_time"
+            + ", max_inactive_seconds, expiry_time, attributes) values (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_ID_SQL = "update web5_session set session_id = ? where session_id = ?";
+    private static final String UPDATE_SQL = "update web5_session set last_access_time = ?, max_inactive_seconds = ?"
+            + ", expiry_time = ?, attributes = ? where session_id = ?";
+    // 다른 서버가 더 늦은 시간을 이미 기록했으면 건드리지 않는다.
+    // 만료 시간은 늘어난 사용 시간만큼 미룬다. (MySQL 은 SET 을 앞에서부터 적용하므로 expiry_time 을 먼저)
+    private static final String TOUCH_SQL = "update web5_session"
+            + " set expiry_time = case when max_inactive_seconds < 0 then expiry_time"
+            + " else expiry_time + (? - last_access_time) end, last_access_time = ?"
+            + " where session_id = ? and last_access_time < ?";
+    private static final String DELETE_SQL = "delete from web5_session where session_id = ?";
+    private static final String DELETE_EXPIRED_SQL = "delete from web5_session where expiry_time < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration defaultMaxInactiveInterval;
+    private final long expiryGraceMillis;
+
+    // 아직 기록하지 않은 마지막 사용 시간 (세션 ID -> epoch 밀리초)
+    private final Map<String, Long> pendingTouches = new ConcurrentHashMap<>();
+
+    private final Counter reads;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter flushedTouches;
+    private final Counter expiredSessions;
+
+    public JdbcSessionRepository(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry
+            , @Value("${server.servlet.session.timeout}") Duration defaultMaxInactiveInterval
+            , @Value("${board.session.flushInterval}") Duration flushInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        // 기록이 늦는 시간(flushInterval)과 배치 UPDATE 시간을 넉넉히 포함
+        this.expiryGraceMillis = flushInterval.multipliedBy(2).toMillis();
+
+        this.reads = Counter.builder("board.session.reads")
+                .description("DB 에서 읽은 세션 수")
+                .register(meterRegistry);
+        this.inserts = Counter.builder("board.session.writes")
+                .tag("type", "insert")
+                .description("바로 기록한 세션 수")
+                .register(meterRegistry);
+        this.updates = Counter.builder("board.session.writes")
+                .tag("type", "update")
+                .description("바로 기록한 세션 수")
+                .register(meterRegistry);
+        this.flushedTouches = Counter.builder("board.session.touches.flushed")
+                .description("모아서 기록한 마지막 사용 시간 수")
+                .register(meterRegistry);
+        this.expiredSessions = Counter.builder("board.session.expired")
+                .description("일괄 삭제한 만료 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("board.session.touches.pending", pendingTouches, Map::size)
+                .description("아직 기록하지 않은 마지막 사용 시간 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public JdbcSession createSession() {
+        return new JdbcSession(defaultMaxInactiveInterval);
+    }
+
+    @Override
+    public void save(JdbcSession session) {
+        String id = session.getId();
+        long lastAccess = session.getLastAccessedTime().toEpochMilli();
+
+        if (session.isNew()) {
+            jdbcTemplate.update(INSERT_SQL, id, session.getCreationTime().toEpochMilli(), lastAccess
+                    , maxInactiveSeconds(session), expiryTime(session), encodeAttributes(session));
+            inserts.increment();
+            session.markSaved();
+            return;
+        }
+
+        if (!id.equals(session.getOriginalId())) {
+            // 로그인 시 세션 고정 공격 방지를 위해 바뀐 ID
+            jdbcTemplate.update(UPDATE_ID_SQL, id, session.getOriginalId());
+            pendingTouches.remove(session.getOriginalId());
+        }
+
+        if (session.isChanged()) {
+            jdbcTemplate.update(UPDATE_SQL, lastAccess, maxInactiveSeconds(session), expiryTime(session)
+                    , encodeAttributes(session), id);
+            updates.increment();
+            pendingTouches.remove(id);
+        } else if (session.isAccessed()) {
+            pendingTouches.merge(id, lastAccess, Math::max);
+        }
+        session.markSaved();
+    }
+
+    @Override
+    public JdbcSession findById(String id) {
+        reads.increment();
+        List<JdbcSession> found;
+        try {
+            found = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> mapSession(id, rs), id);
+        } catch (IllegalArgumentException e) {
+            // 배포 후 클래스가 바뀌어 읽을 수 없는 세션은 버린다. (다시 로그인)
+            log.warn("세션을 읽을 수 없어 삭제 : {}", e.getMessage());
+            deleteById(id);
+            return null;
+        }
+        if (found.isEmpty()) {
+            return null;
+        }
+
+        JdbcSession session = found.get(0);
+        Duration maxInactive = session.getMaxInactiveInterval();
+        if (!maxInactive.isNegative() && session.getLastAccessedTime().toEpochMilli() + maxInactive.toMillis()
+                + expiryGraceMillis < System.currentTimeMillis()) {
+            deleteById(id);
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        pendingTouches.remove(id);
+        jdbcTemplate.update(DELETE_SQL, id);
+    }
+
+    /**
+     * 모아 둔 마지막 사용 시간을 배치 UPDATE 로 기록 (종료할 때도 남은 것을 기록)
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${board.session.flushInterval}")
+    public void flushTouches() {
+        if (pendingTouches.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        pendingTouches.forEach((id, lastAccess) -> {
+            ids.add(id);
+            rows.add(new Object[] {lastAccess, lastAccess, id, lastAccess});
+        });
+
+        try {
+            jdbcTemplate.batchUpdate(TOUCH_SQL, rows);
+        } catch (RuntimeException e) {
+            // 남겨 두고 다음 주기에 다시 기록
+            log.warn("세션 사용 시간 기록 실패 ({}건)", rows.size(), e);
+            return;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            // 기록하는 동안 더 늦은 시간이 들어왔으면 남겨 둔다.
+            pendingTouches.remove(ids.get(i), rows.get(i)[0]);
+        }
+        flushedTouches.increment(rows.size());
+        log.debug("세션 사용 시간 {}건 기록", rows.size());
+    }
+
+    /**
+     * 만료 세션 일괄 삭제 (모든 서버가 실행해도 결과는 같음)
+     */
+    @Scheduled(fixedDelayString = "${board.session.cleanupInterval}")
+    public void deleteExpiredSessions() {
+        // 이 서버에서 사용 중인 세션이 지워지지 않도록 먼저 기록
+        flushTouches();
+        try {
+            int deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL, System.currentTimeMillis() - expiryGraceMillis);
+            expiredSessions.increment(deleted);
+            if (deleted > 0) {
+                log.info("만료 세션 {}건 삭제", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("만료 세션 삭제 실패", e);
+        }
+    }
+
+    int pendingTouchCount() {
+        return pendingTouches.size();
+    }
+
+    private JdbcSession mapSession(String id, ResultSet rs) throws SQLException {
+        MapSession loaded = new MapSession(id);
+        loaded.setCreationTime(Instant.ofEpochMilli(rs.getLong("creation_time")));
+        long lastAccess = rs.getLong("last_access_time");
+        // 이 서버에 아직 기록하지 않은 더 늦은 사용 시간이 있으면 그 시간으로
+        Long pending = pendingTouches.get(id);
+        if (pending != null && pending > lastAccess) {
+            lastAccess = pending;
+        }
+        loaded.setLastAccessedTime(Instant.ofEpochMilli(lastAccess));
+        loaded.setMaxInactiveInterval(Duration.ofSeconds(rs.getInt("max_inactive_seconds")));
+        SessionAttributeCodec.decode(rs.getBytes("attributes")).forEach(loaded::setAttribute);
+        return new JdbcSession(loaded);
+    }
+
+    private byte[] encodeAttributes(JdbcSession session) {
+        Map<String, Object> attributes = new HashMap<>();
+        for (String name : session.getAttributeNames()) {
+            attributes.put(name, session.getAttribute(name));
+        }
+        return SessionAttributeCodec.encode(attributes);
+    }
+
+    private int maxInactiveSeconds(JdbcSession session) {
+        return (int) session.getMaxInactiveInterval().getSeconds();
+    }
+
+    // 만료되지 않는 세션(음수)은 일괄 삭제 대상에서 빠지도록 가장 큰 값
+    private long expiryTime(JdbcSession session) {
+        Duration maxInactive = session.getMaxInactiveInterval();
+        if (maxInactive.isNegative()) {
+            return Long.MAX_VALUE;
+        }
+        return session.getLastAccessedTime().toEpochMilli() + maxInactive.toMillis();
+    }
+}
@@ -0,0 +1,146 @@
+package net.datasa.web5.session;
+
+import net.datasa.web5.security.AuthenticatedUser;
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 세션 속성을 web5_session.attributes 컬럼에 저장할 바이트 배열로 바꾼다.
+ * <p>
+ * 로그인 정보(SecurityContext)는 자바 직렬화하면 권한, 요청 정보 등 객체 그래프 전체가 들어가 1KB 가 넘는다.
+ * AuthenticatedUser 로그인이면 아이디, 이름, 권한, 사용 여부만 기록하고 읽을 때 인증된 토큰을 다시 만든다.
+ * (비밀번호와 WebAuthenticationDetails 는 저장하지 않음)
+ * 그 외 속성은 자바 직렬화로 저장한다.
+ */
+final class SessionAttributeCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte COMPACT_SECURITY_CONTEXT = 1;
+    private static final byte SERIALIZED = 2;
+
+    private SessionAttributeCodec() {
+    }
+
+    /**
+     * 속성 목록을 바이트 배열로 변환
+     *
+     * @param attributes 세션 속성 (값은 Serializable 이어야 함)
+     * @return 저장할 바이트 배열
+     */
+    static byte[] encode(Map<String, Object> attributes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(attributes.size());
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                out.writeUTF(attribute.getKey());
+                AuthenticatedUser user = compactUser(attribute.getValue());
+                if (user != null) {
+                    out.writeByte(COMPACT_SECURITY_CONTEXT);
+                    writeNullable(out, user.getId());
+                    writeNullable(out, user.getName());
+                    writeNullable(out, user.getRoleName());
+                    out.writeBoolean(user.isEnabled());
+                } else {
+                    out.writeByte(SERIALIZED);
+                    byte[] serialized = serialize(attribute.getValue());
+                    out.writeInt(serialized.length);
+                    out.write(serialized);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("세션 속성을 저장할 수 없습니다.", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 바이트 배열을 속성 목록으로 변환
+     *
+     * @param data 저장된 바이트 배열
+     * @return 세션 속성
+     */
+    static Map<String, Object> decode(byte[] data) {
+        Map<String, Object> attributes = new HashMap<>();
+        if (data == null || data.length == 0) {
+            return attributes;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("알 수 없는 세션 저장 형식 : " + version);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                byte kind = in.readByte();
+                if (kind == COMPACT_SECURITY_CONTEXT) {
+                    AuthenticatedUser user = AuthenticatedUser.builder()
+                            .id(readNullable(in))
+                            .name(readNullable(in))
+                            .roleName(readNullable(in))
+                            .enabled(in.readBoolean())
+                            .build();
+                    attributes.put(name, new SecurityContextImpl(
+                            UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities())));
+                } else {
+                    byte[] serialized = new byte[in.readInt()];
+                    in.readFully(serialized);
+                    attributes.put(name, deserialize(serialized));
+                }
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("세션 속성을 읽을 수 없습니다.", e);
+        }
+        return attributes;
+    }
+
+    // 간단히 기록할 수 있는 로그인 정보이면 그 회원 정보, 아니면 null
+    private static AuthenticatedUser compactUser(Object value) {
+        if (value instanceof SecurityContext context
+                && context.getAuthentication() instanceof UsernamePasswordAuthenticationToken authentication
+                && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return null;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] serialized) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ConfigurableObjectInputStream(
+                new ByteArrayInputStream(serialized), SessionAttributeCodec.class.getClassLoader())) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package net.datasa.web5.session;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+/**
+ * 세션 환경설정
+ * <p>
+ * 톰캣 메모리 세션 대신 JdbcSessionRepository(web5_session 테이블)에 세션을 두어
+ * 어느 서버로 요청이 가도 같은 로그인 상태를 쓸 수 있게 한다. (세션 쿠키 이름은 SESSION)
+ */
+@Configuration
+@EnableSpringHttpSession
+public class SessionConfig {
+}
@@ -0,0 +1,105 @@
+package net.datasa.web5.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.service.BoardService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 시작 직후 주요 경로를 미리 실행하여 JIT 컴파일, 지연 초기화, 캐시를 데워 두는 작업
+ * <p>
+ * 시작이 끝나면(ApplicationReadyEvent) 별도 스레드에서 글 목록/검색 화면을 HTTP 로 반복 요청하고,
+ * 글 조회는 조회수가 바뀌지 않도록 서비스(getBoard)를 직접 호출한다.
+ * 끝날 때까지 WarmupReadinessIndicator 가 readiness 를 OUT_OF_SERVICE 로 알려 트래픽을 받지 않는다.
+ * 실패하거나 시간이 초과되어도 준비 완료로 넘어간다. (서비스가 계속 준비 안 됨 상태로 남지 않도록)
+ */
+@Slf4j
+@Component
+public class EndpointWarmup {
+
+    private final BoardService boardService;
+    private final ApplicationContext applicationContext;
+
+    // 경로별 반복 횟수 (0이면 데우기 없이 바로 준비 완료)
+    @Value("${board.warmup.iterations}")
+    int iterations;
+
+    @Value("${board.warmup.timeout}")
+    Duration timeout;
+
+    private volatile boolean done;
+
+    public EndpointWarmup(BoardService boardService, ApplicationContext applicationContext) {
+        this.boardService = boardService;
+        this.applicationContext = applicationContext;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::run, "endpoint-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        long startTime = System.nanoTime();
+        long deadline = startTime + timeout.toNanos();
+        try {
+            if (iterations > 0) {
+                warmUp(deadline);
+            }
+        } catch (Exception e) {
+            log.warn("데우기 실패 : 그대로 트래픽을 받음", e);
+        } finally {
+            done = true;
+            log.info("데우기 완료 ({}ms) : 트래픽 받기 시작", (System.nanoTime() - startTime) / 1_000_000);
+            AvailabilityChangeEvent.publish(applicationContext, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    private void warmUp(long deadline) throws Exception {
+        // 글 조회 (조회수 증가 없이 서비스 직접 호출)
+        List<Integer> boardNums = boardService.getList(1, 10, "", "").map(BoardDTO::getBoardNum).getContent();
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            for (Integer boardNum : boardNums) {
+                boardService.getBoard(boardNum);
+            }
+        }
+
+        // 목록/검색 화면 (컨트롤러, 시큐리티 필터, Thymeleaf 렌더링까지)
+        if (!(applicationContext instanceof WebServerApplicationContext webContext)
+                || webContext.getWebServer() == null) {
+            return;
+        }
+        String baseUrl = "http://localhost:" + webContext.getWebServer().getPort();
+        List<URI> uris = List.of(
+                URI.create(baseUrl + "/board/list")
+                , URI.create(baseUrl + "/board/list?page=2")
+                , URI.create(baseUrl + "/board/list?searchType=title&searchWord=a"));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            for (URI uri : uris) {
+                client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+            }
+        }
+    }
+}
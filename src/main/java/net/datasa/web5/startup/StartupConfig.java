@@ -0,0 +1,32 @@
+package net.datasa.web5.startup;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.datasa.web5.archive.BoardArchiver;
+import net.datasa.web5.changelog.ChangeLogPoller;
+import net.datasa.web5.datasource.ReplicaLagMonitor;
+import net.datasa.web5.service.TitleSuggestIndex;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.sql.DataSource;
+
+/**
+ * 지연 초기화(lazy 프로필, spring.main.lazy-initialization=true) 시에도 시작할 때 만들어야 하는 빈 지정
+ * <p>
+ * DB 연결, JPA, 시큐리티 설정 오류는 첫 요청이 아니라 시작할 때 드러나야 하고,
+ * @Scheduled 빈(ReplicaLagMonitor, ChangeLogPoller, BoardArchiver, TitleSuggestIndex)은 다른 빈이 쓰지 않으면 만들어지지 않아 예약 작업이 등록되지 않는다.
+ * (스프링 부트의 예약 작업 자동 설정도 미리 만들지만, 그 설정이 빠지거나 바뀌어도 멈추지 않도록 여기에 적어 둔다.)
+ * 나머지 빈은 첫 사용(또는 EndpointWarmup) 때 만들어진다.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerInitializationFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class
+                , SecurityFilterChain.class, ReplicaLagMonitor.class, EndpointWarmup.class
+                , ChangeLogPoller.class, BoardArchiver.class, TitleSuggestIndex.class);
+    }
+}
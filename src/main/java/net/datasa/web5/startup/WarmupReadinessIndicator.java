@@ -0,0 +1,31 @@
+package net.datasa.web5.startup;
+
+import org.springframework.boot.actuate.availability.ReadinessStateHealthIndicator;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Component;
+
+/**
+ * 데우기(EndpointWarmup)가 끝나기 전까지 readiness 를 OUT_OF_SERVICE 로 알리는 상태 확인
+ * <p>
+ * 스프링 부트 기본 readinessStateHealthIndicator 를 대신하며 /actuator/health/readiness 에 반영된다.
+ */
+@Component("readinessStateHealthIndicator")
+public class WarmupReadinessIndicator extends ReadinessStateHealthIndicator {
+
+    private final EndpointWarmup endpointWarmup;
+
+    public WarmupReadinessIndicator(ApplicationAvailability availability, EndpointWarmup endpointWarmup) {
+        super(availability);
+        this.endpointWarmup = endpointWarmup;
+    }
+
+    @Override
+    protected AvailabilityState getState(ApplicationAvailability applicationAvailability) {
+        if (!endpointWarmup.isDone()) {
+            return ReadinessState.REFUSING_TRAFFIC;
+        }
+        return super.getState(applicationAvailability);
+    }
+}
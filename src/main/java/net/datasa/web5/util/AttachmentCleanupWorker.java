@@ -0,0 +1,54 @@
+package net.datasa.web5.util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 게시글 삭제 후 첨부파일을 백그라운드에서 정리하는 작업자
+ * <p>
+ * 삭제 트랜잭션이 커밋된 뒤에만 실행되므로 롤백된 글의 파일은 지워지지 않고,
+ * 파일 삭제가 요청 처리 시간이나 DB 트랜잭션을 붙잡지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class AttachmentCleanupWorker {
+
+    private final AttachmentUtil attachmentUtil;
+
+    /**
+     * 삭제된 글의 첨부파일 정보
+     *
+     * @param uploadPath 첨부파일이 저장된 경로
+     * @param fileNames  삭제할 파일의 저장된 이름 목록
+     */
+    public record AttachmentDeleteEvent(String uploadPath, List<String> fileNames) {
+    }
+
+    /**
+     * 커밋된 삭제 건의 첨부파일 삭제
+     *
+     * @param event 삭제할 첨부파일 정보
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void cleanup(AttachmentDeleteEvent event) {
+        for (String fileName : event.fileNames()) {
+            if (fileName == null || fileName.isEmpty()) {
+                continue;
+            }
+            try {
+                attachmentUtil.deleteIfAttachmentExists(event.uploadPath(), fileName);
+            } catch (RuntimeException e) {
+                log.warn("첨부파일 삭제 실패 : {}", fileName, e);
+            }
+        }
+        log.debug("첨부파일 {}개 정리 완료", event.fileNames().size());
+    }
+}
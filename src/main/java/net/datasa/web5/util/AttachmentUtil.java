@@ -5,16 +5,74 @@ import java.time.format.DateTimeFormatter;
 
 import java.util.UUID;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.datasa.web5.profiling.AttachmentIoEvent;
 import org.springframework.stereotype.Component;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 @Slf4j
 @Component
 public class AttachmentUtil {
 
+    // 첨부파일 입출력 바이트 수 (board.attachment.bytes)
+    private final Counter uploadBytes;
+    private final Counter downloadBytes;
+
+    public AttachmentUtil(MeterRegistry meterRegistry) {
+        this.uploadBytes = Counter.builder("board.attachment.bytes")
+                .description("첨부파일 입출력 바이트 수")
+                .baseUnit("bytes")
+                .tag("direction", "upload")
+                .register(meterRegistry);
+        this.downloadBytes = Counter.builder("board.attachment.bytes")
+                .description("첨부파일 입출력 바이트 수")
+                .baseUnit("bytes")
+                .tag("direction", "download")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 업로드된 파일을 저장 경로로 옮긴다.
+     *
+     * @param uploadedFile  업로드된 파일 정보
+     * @param directoryPath 저장할 경로
+     * @param newFileName   저장할 파일 이름
+     * @throws IOException 파일 저장 실패시 예외
+     */
+    public void saveAttachment(MultipartFile uploadedFile, File directoryPath, String newFileName) throws IOException {
+        AttachmentIoEvent event = new AttachmentIoEvent("upload", newFileName);
+        uploadedFile.transferTo(new File(directoryPath, newFileName));
+        uploadBytes.increment(uploadedFile.getSize());
+        event.finish(uploadedFile.getSize());
+    }
+
+    /**
+     * 저장된 첨부파일을 출력 스트림으로 복사
+     *
+     * @param uploadPath 첨부파일이 저장된 경로
+     * @param fileName   저장된 파일 이름
+     * @param out        출력 스트림 (닫지 않는다)
+     * @return 복사한 바이트 수
+     * @throws IOException 파일 읽기 또는 출력 실패시 예외
+     */
+    public long copyAttachment(String uploadPath, String fileName, OutputStream out) throws IOException {
+        AttachmentIoEvent event = new AttachmentIoEvent("download", fileName);
+        try (InputStream in = new FileInputStream(new File(uploadPath, fileName))) {
+            long bytes = in.transferTo(out);
+            downloadBytes.increment(bytes);
+            event.finish(bytes);
+            return bytes;
+        }
+    }
 
     /**
      * 파일을 삭제하는 처리를 하는 메서드
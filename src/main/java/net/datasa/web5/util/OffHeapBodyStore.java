@@ -0,0 +1,204 @@
+package net.datasa.web5.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 게시글 본문(contents)을 Deflate 로 압축해 힙 밖(direct buffer)에 보관하는 저장소
+ * <p>
+ * 시작할 때 capacity 크기의 direct buffer 하나를 잡아 blockSize 단위 블록으로 나눠 쓰고,
+ * 본문 하나는 압축된 크기만큼 블록 여러 개를 차지한다. 자리가 모자라면 가장 오래 쓰지 않은 본문부터 지운다. (LRU)
+ * 큰 본문 문자열이 힙의 old 영역에 오래 남지 않도록, 요청마다 꺼내 쓰고 버린다.
+ * 글번호와 수정 시간이 함께 맞아야 꺼내므로 수정된 글의 옛 본문은 쓰이지 않는다.
+ */
+@Slf4j
+@Component
+public class OffHeapBodyStore {
+
+    /**
+     * 보관된 본문 하나 (블록 번호 목록과 압축된 길이)
+     */
+    private record Entry(LocalDateTime updateDate, int[] blocks, int length) {
+    }
+
+    private final ByteBuffer arena;
+    private final int blockSize;
+    private final int[] freeBlocks;
+    private int freeCount;
+
+    // 접근 순서로 정렬 (맨 앞이 가장 오래 쓰지 않은 본문)
+    private final Map<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public OffHeapBodyStore(MeterRegistry meterRegistry
+            , @Value("${board.bodyStore.capacity}") DataSize capacity
+            , @Value("${board.bodyStore.blockSize}") DataSize blockSize) {
+        this.blockSize = (int) blockSize.toBytes();
+        int blockCount = (int) Math.min(Integer.MAX_VALUE / this.blockSize, capacity.toBytes() / this.blockSize);
+        this.arena = ByteBuffer.allocateDirect(blockCount * this.blockSize);
+        this.freeBlocks = new int[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            freeBlocks[i] = blockCount - 1 - i;
+        }
+        this.freeCount = blockCount;
+
+        Gauge.builder("board.body.store.used", this, store -> store.usedBytes())
+                .description("본문 저장소에서 사용 중인 바이트 수 (블록 단위)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("board.body.store.entries", this, store -> store.size())
+                .description("본문 저장소에 보관된 본문 수")
+                .register(meterRegistry);
+        this.hits = meterRegistry.counter("board.body.store.requests", "result", "hit");
+        this.misses = meterRegistry.counter("board.body.store.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("board.body.store.evictions");
+    }
+
+    /**
+     * 본문 꺼내기
+     *
+     * @param boardNum   글번호
+     * @param updateDate 글 수정 시간
+     * @return 본문. 없거나 수정 시간이 다르면 null
+     */
+    public String get(int boardNum, LocalDateTime updateDate) {
+        byte[] compressed;
+        synchronized (this) {
+            Entry entry = entries.get(boardNum);
+            if (entry == null || !Objects.equals(entry.updateDate(), updateDate)) {
+                misses.increment();
+                return null;
+            }
+            compressed = new byte[entry.length()];
+            for (int i = 0, offset = 0; offset < entry.length(); i++, offset += blockSize) {
+                arena.get(entry.blocks()[i] * blockSize, compressed, offset, Math.min(blockSize, entry.length() - offset));
+            }
+        }
+        hits.increment();
+        return inflate(compressed);
+    }
+
+    /**
+     * 본문 보관. 같은 글번호의 이전 본문은 바뀐다.
+     * 저장소 전체보다 큰 본문은 보관하지 않는다.
+     *
+     * @param boardNum   글번호
+     * @param updateDate 글 수정 시간
+     * @param contents   본문
+     */
+    public void put(int boardNum, LocalDateTime updateDate, String contents) {
+        if (contents == null) {
+            return;
+        }
+        byte[] compressed = deflate(contents);
+        int blockCount = (compressed.length + blockSize - 1) / blockSize;
+
+        synchronized (this) {
+            remove(boardNum);
+            if (blockCount > freeBlocks.length) {
+                log.debug("본문 저장소보다 큰 본문은 보관하지 않음 : {}번 글 {}바이트", boardNum, compressed.length);
+                return;
+            }
+            // 자리가 생길 때까지 가장 오래 쓰지 않은 본문부터 제거
+            Iterator<Map.Entry<Integer, Entry>> eldest = entries.entrySet().iterator();
+            while (freeCount < blockCount) {
+                Entry evicted = eldest.next().getValue();
+                eldest.remove();
+                release(evicted);
+                evictions.increment();
+            }
+
+            int[] blocks = new int[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                blocks[i] = freeBlocks[--freeCount];
+                int offset = i * blockSize;
+                arena.put(blocks[i] * blockSize, compressed, offset, Math.min(blockSize, compressed.length - offset));
+            }
+            entries.put(boardNum, new Entry(updateDate, blocks, compressed.length));
+        }
+    }
+
+    /**
+     * 본문 제거
+     *
+     * @param boardNum 글번호
+     */
+    public synchronized void remove(int boardNum) {
+        Entry entry = entries.remove(boardNum);
+        if (entry != null) {
+            release(entry);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long usedBytes() {
+        return (long) (freeBlocks.length - freeCount) * blockSize;
+    }
+
+    private void release(Entry entry) {
+        for (int block : entry.blocks()) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    private byte[] deflate(String contents) {
+        byte[] input = contents.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private String inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("압축된 본문이 손상되었습니다.");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 본문이 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
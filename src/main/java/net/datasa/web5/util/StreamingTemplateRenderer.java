@@ -0,0 +1,109 @@
+package net.datasa.web5.util;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 목록을 다 읽기 전에 화면 출력을 시작하는 Thymeleaf 렌더러
+ * <p>
+ * 템플릿을 응답 Writer 에 바로 출력하고, th:each 로 도는 목록은 Stream 에서 한 줄씩 꺼내며
+ * chunkSize 줄마다 응답을 flush 한다. (Transfer-Encoding: chunked)
+ * 첫 바이트까지의 시간과 메모리 사용량이 목록 크기와 관계없이 일정하다.
+ * 출력 중 오류가 나면 이미 보낸 응답은 되돌릴 수 없으므로 화면이 중간에 끊긴다.
+ * <p>
+ * 목록이 DB 커서이면 출력하는 동안 커넥션을 잡고 있으므로, 클라이언트가 연결을 끊었거나(보내기 실패)
+ * timeout 이 지나면 다음 줄을 꺼낼 때 예외로 멈춰 호출한 쪽이 Stream 과 트랜잭션을 닫게 한다.
+ * (PrintWriter 는 보내기 실패를 예외 대신 checkError() 로만 알린다.)
+ */
+@RequiredArgsConstructor
+@Component
+public class StreamingTemplateRenderer {
+
+    private final ISpringTemplateEngine templateEngine;
+    private final ServletContext servletContext;
+
+    /**
+     * 템플릿 출력
+     *
+     * @param template  템플릿 이름 (예: boardView/listAll)
+     * @param rowsName  템플릿에서 th:each 로 사용할 목록 변수 이름
+     * @param rows      목록 (한 줄씩 꺼내 출력)
+     * @param chunkSize 몇 줄마다 응답을 보낼지
+     * @param timeout   최대 출력 시간
+     * @param request   요청 객체
+     * @param response  응답 객체
+     */
+    public void render(String template, String rowsName, Stream<?> rows, int chunkSize, Duration timeout
+            , HttpServletRequest request, HttpServletResponse response) {
+        try {
+            response.setContentType(MediaType.TEXT_HTML_VALUE + ";charset=UTF-8");
+            PrintWriter writer = response.getWriter();
+
+            WebContext context = new WebContext(JakartaServletWebApplication.buildApplication(servletContext)
+                    .buildExchange(request, response), RequestContextUtils.getLocale(request));
+            context.setVariable(rowsName, new FlushingIterator<>(rows.iterator(), chunkSize, writer
+                    , System.nanoTime() + timeout.toNanos()));
+
+            templateEngine.process(template, context, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * chunkSize 개를 꺼낼 때마다 이전까지 출력한 내용을 클라이언트로 보내는 Iterator
+     * 보내기에 실패했거나 deadline 이 지났으면 더 꺼내지 않고 예외를 던진다.
+     */
+    private static class FlushingIterator<T> implements Iterator<T> {
+
+        private final Iterator<T> delegate;
+        private final int chunkSize;
+        private final PrintWriter writer;
+        private final long deadlineNanos;
+        private int count;
+
+        FlushingIterator(Iterator<T> delegate, int chunkSize, PrintWriter writer, long deadlineNanos) {
+            this.delegate = delegate;
+            this.chunkSize = chunkSize;
+            this.writer = writer;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (count > 0 && count % chunkSize == 0) {
+                writer.flush();
+                if (writer.checkError()) {
+                    throw new UncheckedIOException(new IOException("클라이언트 연결이 끊어져 출력을 멈춤 (" + count + "줄)"));
+                }
+                if (System.nanoTime() - deadlineNanos > 0) {
+                    throw new QueryTimeoutException("출력 시간 초과로 멈춤 (" + count + "줄)");
+                }
+            }
+            count++;
+            return delegate.next();
+        }
+    }
+}
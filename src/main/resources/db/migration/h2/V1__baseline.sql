@@ -0,0 +1,37 @@
+-- [ V1 : 기준 스키마 (내장 H2 MySQL 호환 모드 : test, loadtest 프로필용) ]
+-- db/migration/mysql 과 같은 버전, 같은 구조를 유지한다. (마이그레이션 이전의 docs/web5.sql)
+
+create table web5_member (
+    member_id varchar(30) primary key,
+    member_password varchar(100) not null,
+    member_name varchar(30) not null,
+    email varchar(50),
+    phone varchar(30),
+    address varchar(200),
+    enabled boolean default true,  -- MySQL의 tinyint(1)에 해당
+    rolename varchar(30) default 'ROLE_USER' check (rolename in ('ROLE_USER', 'ROLE_ADMIN'))
+);
+
+create table web5_board (
+    board_num int auto_increment primary key,
+    member_id varchar(30),
+    title varchar(1000) not null,
+    contents text not null,
+    view_count int default 0,
+    like_count int default 0,
+    original_name varchar(300),
+    file_name varchar(100),
+    create_date timestamp default current_timestamp,
+    update_date timestamp default current_timestamp on update current_timestamp,
+    foreign key (member_id) references web5_member (member_id) on delete set null
+);
+
+create table web5_reply (
+    reply_num int auto_increment primary key,
+    board_num int,
+    member_id varchar(30),
+    contents varchar(2000) not null,
+    create_date timestamp default current_timestamp,
+    foreign key (board_num) references web5_board (board_num) on delete cascade,
+    foreign key (member_id) references web5_member (member_id) on delete set null
+);
@@ -0,0 +1,10 @@
+-- [ V2 : 서버 간 캐시 맞추기용 변경 기록 테이블 ]
+
+create table web5_change_log (
+    change_id bigint auto_increment primary key,
+    entity_type varchar(20) not null,
+    entity_id varchar(50) not null,
+    origin varchar(40) not null,
+    created_at timestamp(3) not null
+);
+create index idx_change_log_created_at on web5_change_log (created_at);
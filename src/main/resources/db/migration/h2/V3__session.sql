@@ -0,0 +1,11 @@
+-- [ V3 : 공유 세션 테이블 ]
+
+create table web5_session (
+    session_id varchar(36) primary key,
+    creation_time bigint not null,
+    last_access_time bigint not null,
+    max_inactive_seconds int not null,
+    expiry_time bigint not null,
+    attributes blob
+);
+create index idx_session_expiry_time on web5_session (expiry_time);
@@ -0,0 +1,5 @@
+-- [ V4 : 답글(계층형 리플) 경로 ]
+
+alter table web5_reply add column reply_path varchar(250) not null default '';
+update web5_reply set reply_path = lpad(reply_num, 10, '0') where reply_path = '';
+create index idx_reply_board_path on web5_reply (board_num, reply_path);
@@ -0,0 +1,19 @@
+-- [ V5 : 글 목록 정렬 (리플수 컬럼과 정렬용 인덱스) ]
+-- H2 도 수정 시간을 직접 지정하면 on update current_timestamp 를 적용하지 않는다.
+
+update web5_board
+   set view_count = coalesce(view_count, 0), like_count = coalesce(like_count, 0), update_date = update_date
+ where view_count is null or like_count is null;
+alter table web5_board alter column view_count set not null;
+alter table web5_board alter column like_count set not null;
+alter table web5_board add column reply_count int not null default 0 after like_count;
+
+update web5_board b
+   set reply_count = (select count(*) from web5_reply r where r.board_num = b.board_num), update_date = update_date;
+
+create index idx_board_update_date on web5_board (update_date desc, board_num desc);
+create index idx_board_view_count on web5_board (view_count desc, board_num desc);
+create index idx_board_like_count on web5_board (like_count desc, board_num desc);
+create index idx_board_reply_count on web5_board (reply_count desc, board_num desc);
+-- H2 는 인덱스를 거꾸로 읽지 않으므로 글번호 역순 정렬용 (MySQL 은 기본키를 거꾸로 읽음)
+create index idx_board_num_desc on web5_board (board_num desc);
@@ -0,0 +1,31 @@
+-- [ V6 : 오래된 글 보관 테이블 ]
+
+create index idx_board_create_date on web5_board (create_date, board_num);
+
+create table web5_board_archive (
+    board_num int primary key,
+    member_id varchar(30),
+    title varchar(1000) not null,
+    contents text not null,
+    view_count int not null default 0,
+    like_count int not null default 0,
+    reply_count int not null default 0,
+    original_name varchar(300),
+    file_name varchar(100),
+    create_date timestamp,
+    update_date timestamp,
+    archive_date timestamp default current_timestamp,
+    foreign key (member_id) references web5_member (member_id) on delete set null
+);
+
+create table web5_reply_archive (
+    reply_num int primary key,
+    board_num int not null,
+    member_id varchar(30),
+    contents varchar(2000) not null,
+    create_date timestamp,
+    reply_path varchar(250) not null default '',
+    foreign key (board_num) references web5_board_archive (board_num) on delete cascade,
+    foreign key (member_id) references web5_member (member_id) on delete set null
+);
+create index idx_reply_archive_board_path on web5_reply_archive (board_num, reply_path);
@@ -0,0 +1,6 @@
+-- [ V7 : 조회 경로별 인덱스 ]
+-- H2 는 외래키마다 따로 만든 member_id 인덱스를 계속 쓰므로 작성자 검색은 정렬이 남지만 전체 읽기는 없다.
+
+create index idx_board_member on web5_board (member_id, board_num desc);
+create index idx_reply_board_num on web5_reply (board_num, reply_num);
+create index idx_board_archive_member on web5_board_archive (member_id, board_num desc);
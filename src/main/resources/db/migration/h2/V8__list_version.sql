@@ -0,0 +1,7 @@
+-- [ V8 : 글 목록 버전 ]
+
+create table web5_list_version (
+    id int primary key,
+    version bigint not null
+);
+insert into web5_list_version (id, version) values (1, 0);
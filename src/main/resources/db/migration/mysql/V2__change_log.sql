@@ -0,0 +1,12 @@
+-- [ V2 : 서버 간 캐시 맞추기용 변경 기록 테이블 ]
+
+-- 변경 기록 테이블 (web5_change_log)
+-- 글/회원 변경과 같은 트랜잭션으로 기록하고, 서버마다 주기적으로 읽어 각자의 캐시에서 지운다.
+create table web5_change_log (
+                            change_id bigint auto_increment primary key, -- 변경 일련번호 (서버마다 읽은 위치)
+                            entity_type varchar(20) not null,            -- 변경 대상 종류 (BOARD, MEMBER)
+                            entity_id varchar(50) not null,              -- 변경 대상 번호/아이디
+                            origin varchar(40) not null,                 -- 변경한 서버 (자기 변경은 건너뜀)
+                            created_at timestamp(3) not null             -- 기록 시간 (캐시 반영 지연 측정, 오래된 기록 삭제)
+);
+create index idx_change_log_created_at on web5_change_log (created_at);
@@ -0,0 +1,13 @@
+-- [ V3 : 공유 세션 테이블 ]
+
+-- 로그인 세션 테이블 (web5_session)
+-- 여러 서버가 세션을 함께 쓴다. 시간은 모두 epoch 밀리초
+create table web5_session (
+                            session_id varchar(36) primary key,          -- 세션 ID (SESSION 쿠키 값)
+                            creation_time bigint not null,               -- 생성 시간
+                            last_access_time bigint not null,            -- 마지막 사용 시간 (묶어서 늦게 기록)
+                            max_inactive_seconds int not null,           -- 만료까지의 미사용 시간 (초)
+                            expiry_time bigint not null,                 -- 만료 시간 (만료 세션 일괄 삭제용)
+                            attributes blob                              -- 세션 속성 (로그인 정보는 아이디, 이름, 권한만)
+);
+create index idx_session_expiry_time on web5_session (expiry_time);
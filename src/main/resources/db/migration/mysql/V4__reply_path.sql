@@ -0,0 +1,11 @@
+-- [ V4 : 답글(계층형 리플) 경로 ]
+
+-- 답글 경로 (조상 리플번호를 10자리씩 이어 붙이고 끝에 자기 번호)
+alter table web5_reply
+    add column reply_path varchar(250) not null default '' after create_date;
+
+-- 답글 경로가 없던 기존 리플은 최상위 리플로
+update web5_reply set reply_path = lpad(reply_num, 10, '0') where reply_path = '';
+
+-- 한 글의 리플 전체 또는 한 리플의 답글 전체를 경로 순서(깊이 우선)로 한 번에 읽는 범위 검색용
+create index idx_reply_board_path on web5_reply (board_num, reply_path);
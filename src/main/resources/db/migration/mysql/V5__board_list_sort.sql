@@ -0,0 +1,22 @@
+-- [ V5 : 글 목록 정렬 (리플수 컬럼과 정렬용 인덱스) ]
+-- 이 파일의 update 는 수정 시간이 바뀌지 않도록 update_date = update_date 를 함께 지정한다. (on update current_timestamp)
+
+-- 조회수, 추천수를 not null 로 (정렬 값이 null 이면 키셋 페이징 조건이 맞지 않음)
+update web5_board
+   set view_count = coalesce(view_count, 0), like_count = coalesce(like_count, 0), update_date = update_date
+ where view_count is null or like_count is null;
+alter table web5_board
+    modify column view_count int not null default 0,
+    modify column like_count int not null default 0,
+    add column reply_count int not null default 0 after like_count;   -- 리플수 (리플 쓰기/삭제 시 함께 변경)
+
+-- 리플수 컬럼이 없던 기존 글은 리플수를 다시 계산
+update web5_board b
+   set reply_count = (select count(*) from web5_reply r where r.board_num = b.board_num), update_date = update_date;
+
+-- 글 목록 정렬용 (정렬 컬럼 + 글번호). 키셋 페이징의 (정렬값, 글번호) < (?, ?) 조건이 인덱스 범위 검색이 되고 정렬이 필요 없다.
+-- 수정 시간 인덱스는 글 목록 화면 ETag 계산(가장 최근 수정 시간 조회)에도 쓴다.
+create index idx_board_update_date on web5_board (update_date desc, board_num desc);
+create index idx_board_view_count on web5_board (view_count desc, board_num desc);
+create index idx_board_like_count on web5_board (like_count desc, board_num desc);
+create index idx_board_reply_count on web5_board (reply_count desc, board_num desc);
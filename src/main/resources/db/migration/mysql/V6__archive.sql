@@ -0,0 +1,36 @@
+-- [ V6 : 오래된 글 보관 테이블 ]
+
+-- 보관할 오래된 글 찾기용 (BoardArchiver). 테이블 전체를 읽지 않고 인덱스 앞부분만 읽는다.
+create index idx_board_create_date on web5_board (create_date, board_num);
+
+-- 보관 글 테이블 (web5_board_archive)
+-- 오래된 글은 BoardArchiver 가 리플과 함께 옮겨 web5_board, web5_reply 를 작게(버퍼 풀 안에) 유지한다.
+-- 글번호와 리플번호는 원래 값 그대로이고, 보관된 글은 읽기와 검색만 된다. (조회수 증가, 수정, 리플 쓰기 없음)
+create table web5_board_archive (
+                            board_num int primary key,                   -- 게시글 일련번호 (web5_board 의 번호 그대로)
+                            member_id varchar(30),                       -- 작성자 id (외래 키)
+                            title varchar(1000) not null,                -- 글제목
+                            contents text not null,                      -- 글내용
+                            view_count int not null default 0,           -- 조회수 (옮긴 시점의 값)
+                            like_count int not null default 0,           -- 추천수
+                            reply_count int not null default 0,          -- 리플수
+                            original_name varchar(300),                  -- 첨부파일 원래 이름
+                            file_name varchar(100),                      -- 첨부파일 저장된 이름
+                            create_date timestamp null,                  -- 작성 시간
+                            update_date timestamp null,                  -- 수정 시간 (옮겨도 바뀌지 않음)
+                            archive_date timestamp default current_timestamp,  -- 보관 시간
+                            constraint foreign key (member_id) references web5_member (member_id) on delete set null
+);
+
+-- 보관 리플 테이블 (web5_reply_archive)
+create table web5_reply_archive (
+                            reply_num int primary key,                   -- 리플 일련번호 (web5_reply 의 번호 그대로)
+                            board_num int not null,                      -- 게시글 번호 (외래 키)
+                            member_id varchar(30),                       -- 작성자 id (외래 키)
+                            contents varchar(2000) not null,             -- 리플 내용
+                            create_date timestamp null,                  -- 작성 시간
+                            reply_path varchar(250) not null default '', -- 답글 경로
+                            constraint foreign key (board_num) references web5_board_archive (board_num) on delete cascade,
+                            constraint foreign key (member_id) references web5_member (member_id) on delete set null
+);
+create index idx_reply_archive_board_path on web5_reply_archive (board_num, reply_path);
@@ -0,0 +1,11 @@
+-- [ V7 : 조회 경로별 인덱스 ]
+
+-- 작성자 아이디 검색 (member_id = ? order by board_num desc) 과 회원 글 일괄 삭제 대상 조회용
+-- 외래키용으로 자동으로 만들어진 member_id 인덱스는 이 인덱스로 대신한다.
+create index idx_board_member on web5_board (member_id, board_num desc);
+
+-- 글 보기 화면 ETag 의 리플 수, 마지막 리플 번호 (board_num = ? 의 count, max) 를 인덱스만 읽어 계산
+create index idx_reply_board_num on web5_reply (board_num, reply_num);
+
+-- 보관 글의 작성자 아이디 검색용
+create index idx_board_archive_member on web5_board_archive (member_id, board_num desc);
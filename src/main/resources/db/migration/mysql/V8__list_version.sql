@@ -0,0 +1,10 @@
+-- [ V8 : 글 목록 버전 ]
+
+-- 글 목록 버전 테이블 (web5_list_version)
+-- 글 쓰기/수정/삭제, 리플 쓰기/삭제, 보관, 가져오기 트랜잭션이 커밋 직전에 1 올린다. (BoardListVersion)
+-- 글 목록 화면의 ETag 를 글 수와 관계없이 기본키로 한 줄만 읽어 만든다.
+create table web5_list_version (
+                            id int primary key,                          -- 항상 1 (한 줄만 사용)
+                            version bigint not null                      -- 글 목록 버전
+);
+insert into web5_list_version (id, version) values (1, 0);
@@ -2,8 +2,10 @@ package net.datasa.web5;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class Web5ApplicationTests {
 
 	@Test
@@ -0,0 +1,157 @@
+package net.datasa.web5.archive;
+
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.domain.dto.ReplyDTO;
+import net.datasa.web5.service.BoardReadCache;
+import net.datasa.web5.service.BoardService;
+import net.datasa.web5.service.TitleSuggestIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 오래된 글을 리플과 함께 배치 단위로 보관 테이블로 옮기고, 글 보기와 검색이 보관 글까지 찾는지 확인
+ */
+@SpringBootTest(properties = "board.archive.batchSize=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class BoardArchiverTest {
+
+    @Autowired
+    BoardArchiver boardArchiver;
+
+    @Autowired
+    BoardService boardService;
+
+    @Autowired
+    BoardReadCache boardReadCache;
+
+    @Autowired
+    TitleSuggestIndex titleSuggestIndex;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void makeOldBoards() {
+        // 1~5번 글을 오래된 글로 (수정 시간은 그대로)
+        jdbcTemplate.update("update web5_board set create_date = timestamp '2020-01-01 00:00:00', update_date = update_date"
+                + " where board_num <= 5");
+    }
+
+    @Test
+    void oldBoardsMoveWithRepliesInBatches() {
+        int a = writeReply(1, null, "리플 A");
+        int b = writeReply(1, a, "A 의 답글 B");
+        // 캐시에 담아 두면 옮길 때 지워지는지도 확인
+        boardReadCache.getBoard(1);
+        titleSuggestIndex.rebuild();
+        assertThat(titleSuggestIndex.suggest("다섯")).containsExactly("다섯");
+
+        int moved = boardArchiver.archive(LocalDateTime.now().minusDays(1));
+
+        // 배치 크기 2 로 세 번에 나누어 옮김
+        assertThat(moved).isEqualTo(5);
+        assertThat(count("select count(*) from web5_board")).isEqualTo(10);
+        assertThat(count("select count(*) from web5_board where board_num <= 5")).isZero();
+        assertThat(count("select count(*) from web5_board_archive")).isEqualTo(5);
+        // 보관된 글의 제목은 자동 완성에서 빠짐
+        assertThat(titleSuggestIndex.suggest("다섯")).isEmpty();
+        assertThat(count("select count(*) from web5_reply where board_num = 1")).isZero();
+        assertThat(count("select count(*) from web5_reply_archive where board_num = 1")).isEqualTo(2);
+
+        BoardDTO board = boardReadCache.getBoard(1);
+        assertThat(board.isArchived()).isTrue();
+        assertThat(board.getTitle()).isEqualTo("첫 번째 글");
+        assertThat(board.getContents()).isEqualTo("내용 1");
+        assertThat(board.getReplyList()).extracting(ReplyDTO::getReplyNum).containsExactly(a, b);
+        assertThat(board.getReplyList()).extracting(ReplyDTO::getDepth).containsExactly(0, 1);
+
+        // 다시 실행해도 옮길 글이 없다.
+        assertThat(boardArchiver.archive(LocalDateTime.now().minusDays(1))).isZero();
+    }
+
+    @Test
+    void archivedBoardIsReadOnlyAndKeepsViewCount() throws Exception {
+        boardArchiver.archive(LocalDateTime.now().minusDays(1));
+        int viewCount = count("select view_count from web5_board_archive where board_num = 2");
+
+        assertThat(boardService.getBoardVersion(2)).startsWith("archived/");
+        mockMvc.perform(get("/board/read").param("boardNum", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("두 번째 글")))
+                .andExpect(content().string(containsString("보관된 글")))
+                .andExpect(content().string(not(containsString("replyWrite"))));
+
+        assertThat(count("select view_count from web5_board_archive where board_num = 2")).isEqualTo(viewCount);
+
+        // 없는 글은 이전과 같이 목록으로
+        mockMvc.perform(get("/board/read").param("boardNum", "999"))
+                .andExpect(status().is3xxRedirection());
+    }
+
+    @Test
+    void archivedBoardCanBeDeletedByItsAuthor() {
+        boardArchiver.archive(LocalDateTime.now().minusDays(1));
+
+        assertThatThrownBy(() -> boardService.delete(2, "user1", "")).hasMessage("삭제 권한이 없습니다.");
+        boardService.delete(2, "user2", "");
+
+        assertThat(count("select count(*) from web5_board_archive where board_num = 2")).isZero();
+        assertThat(count("select count(*) from web5_reply_archive where board_num = 2")).isZero();
+        assertThat(boardService.getBoardVersion(2)).isNull();
+    }
+
+    @Test
+    void searchContinuesIntoArchiveAfterRecentBoards() {
+        boardArchiver.archive(LocalDateTime.now().minusDays(1));
+
+        // 최근 글 10개(15~6번) 다음에 보관 글 5개(5~1번)
+        Page<BoardDTO> third = boardService.getList(3, 4, "title", "번째");
+        assertThat(third.getTotalElements()).isEqualTo(15);
+        assertThat(third.getContent()).extracting(BoardDTO::getBoardNum).containsExactly(7, 6, 5, 4);
+        assertThat(third.getContent()).extracting(BoardDTO::isArchived).containsExactly(false, false, true, true);
+
+        Page<BoardDTO> fourth = boardService.getList(4, 4, "title", "번째");
+        assertThat(fourth.getContent()).extracting(BoardDTO::getBoardNum).containsExactly(3, 2, 1);
+        assertThat(fourth.getTotalPages()).isEqualTo(4);
+
+        // 보관 글만 맞는 검색
+        assertThat(boardService.getList(1, 10, "contents", "내용 1").getContent())
+                .extracting(BoardDTO::getBoardNum).containsExactly(15, 14, 13, 12, 11, 10, 1);
+
+        // 검색어가 없는 기본 목록은 최근 글만
+        assertThat(boardService.getList(1, 20, "", "").getTotalElements()).isEqualTo(10);
+    }
+
+    private int writeReply(int boardNum, Integer parentNum, String contents) {
+        boardService.replyWrite(ReplyDTO.builder()
+                .boardNum(boardNum).parentNum(parentNum).memberId("user1").contents(contents).build());
+        return count("select max(reply_num) from web5_reply");
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
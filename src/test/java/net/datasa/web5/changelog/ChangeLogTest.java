@@ -0,0 +1,192 @@
+package net.datasa.web5.changelog;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.domain.dto.MemberDTO;
+import net.datasa.web5.domain.dto.ReplyDTO;
+import net.datasa.web5.service.BoardReadCache;
+import net.datasa.web5.service.BoardReadCache.BoardChangedEvent;
+import net.datasa.web5.service.BoardService;
+import net.datasa.web5.service.MemberService;
+import net.datasa.web5.service.TitleSuggestIndex;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 변경 기록(web5_change_log)이 변경과 같은 트랜잭션으로 남고, 다른 서버의 기록을 읽어 캐시에서 지우는지 확인
+ * 다른 서버의 변경은 DB 를 직접 고치고 다른 origin 으로 기록을 넣어 흉내 낸다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"board.changeLog.pollInterval=PT1H", "board.changeLog.maxGaps=5"})
+@Sql("/board-test-data.sql")
+class ChangeLogTest {
+
+    @Autowired
+    ChangeLogPoller changeLogPoller;
+
+    @Autowired
+    BoardReadCache boardReadCache;
+
+    @Autowired
+    BoardService boardService;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    TitleSuggestIndex titleSuggestIndex;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        boardReadCache.evict(new BoardChangedEvent(List.of(13, 14, 15)));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        // 이전 테스트의 기록까지 읽어 두고 시작
+        changeLogPoller.poll();
+    }
+
+    @Test
+    void changesAreLoggedInTheSameTransaction() {
+        long before = maxChangeId();
+        boardService.replyWrite(ReplyDTO.builder().boardNum(14).memberId("user1").contents("새 리플").build());
+
+        assertThat(jdbcTemplate.queryForList("select entity_id from web5_change_log where change_id > ?"
+                , String.class, before)).containsExactly("14");
+
+        // 롤백되면 기록도 남지 않음
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new BoardChangedEvent(List.of(13)));
+            status.setRollbackOnly();
+        });
+        assertThat(maxChangeId()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void remoteBoardChangeEvictsLocalCache() {
+        assertThat(boardReadCache.getBoard(15).getTitle()).isEqualTo("열다섯 번째 글");
+
+        jdbcTemplate.update("update web5_board set title = '다른 서버에서 수정' where board_num = 15");
+        insertRemoteChange(maxChangeId() + 1, "BOARD", "15");
+        assertThat(boardReadCache.getBoard(15).getTitle()).isEqualTo("열다섯 번째 글");
+
+        changeLogPoller.poll();
+        assertThat(boardReadCache.getBoard(15).getTitle()).isEqualTo("다른 서버에서 수정");
+    }
+
+    @Test
+    void lateCommittedChangeInGapIsApplied() {
+        boardReadCache.getBoard(13);
+        boardReadCache.getBoard(14);
+        long next = maxChangeId() + 1;
+
+        // next+1 이 먼저 커밋되고 next 는 나중에 커밋된 경우
+        jdbcTemplate.update("update web5_board set title = '먼저 커밋' where board_num = 14");
+        insertRemoteChange(next + 1, "BOARD", "14");
+        changeLogPoller.poll();
+        assertThat(changeLogPoller.gapCount()).isEqualTo(1);
+
+        jdbcTemplate.update("update web5_board set title = '나중에 커밋' where board_num = 13");
+        insertRemoteChange(next, "BOARD", "13");
+        changeLogPoller.poll();
+
+        assertThat(changeLogPoller.gapCount()).isZero();
+        assertThat(boardReadCache.getBoard(13).getTitle()).isEqualTo("나중에 커밋");
+        assertThat(boardReadCache.getBoard(14).getTitle()).isEqualTo("먼저 커밋");
+    }
+
+    @Test
+    void gapTrackingIsBoundedByMaxGaps() {
+        boardReadCache.getBoard(13);
+        long next = maxChangeId() + 1;
+
+        // 번호가 크게 건너뛰어도 가장 최근 maxGaps 개만 다시 확인한다.
+        insertRemoteChange(next + 1_000_000, "BOARD", "14");
+        changeLogPoller.poll();
+        assertThat(changeLogPoller.gapCount()).isEqualTo(5);
+
+        // 남겨 둔 번호에 늦게 커밋된 기록은 반영된다.
+        jdbcTemplate.update("update web5_board set title = '늦게 커밋' where board_num = 13");
+        insertRemoteChange(next + 999_999, "BOARD", "13");
+        changeLogPoller.poll();
+        assertThat(changeLogPoller.gapCount()).isEqualTo(4);
+        assertThat(boardReadCache.getBoard(13).getTitle()).isEqualTo("늦게 커밋");
+
+        // 나머지 번호도 채워 다음 테스트에 남기지 않는다.
+        for (long changeId = next + 999_995; changeId < next + 999_999; changeId++) {
+            insertRemoteChange(changeId, "BOARD", "13");
+        }
+        changeLogPoller.poll();
+        assertThat(changeLogPoller.gapCount()).isZero();
+    }
+
+    @Test
+    void remoteMemberChangeEvictsSecondLevelCache() {
+        assertThat(memberService.getMember("user3").getMemberName()).isEqualTo("회원3");
+
+        jdbcTemplate.update("update web5_member set member_name = '새이름' where member_id = 'user3'");
+        insertRemoteChange(maxChangeId() + 1, "MEMBER", "user3");
+        changeLogPoller.poll();
+
+        MemberDTO member = memberService.getMember("user3");
+        assertThat(member.getMemberName()).isEqualTo("새이름");
+    }
+
+    @Test
+    void titleChangeIsLoggedAsTokensAndAppliedRemotely() {
+        long before = maxChangeId();
+        boardService.update(BoardDTO.builder().boardNum(15).title("열다섯 번째 공지").contents("내용 15").build()
+                , "user3", "", null);
+
+        // 제목에서 바뀐 단어만 남긴다.
+        assertThat(jdbcTemplate.query("select entity_type, entity_id from web5_change_log where change_id > ?"
+                , (rs, rowNum) -> rs.getString(1) + " " + rs.getString(2), before))
+                .containsExactlyInAnyOrder("BOARD 15", "TITLE_TOKEN_ADDED 공지");
+
+        // 다른 서버의 제목 변경은 기록 순서대로 자동 완성 색인에 반영
+        long next = maxChangeId() + 1;
+        insertRemoteChange(next, "TITLE_TOKEN_ADDED", "원격단어");
+        changeLogPoller.poll();
+        assertThat(titleSuggestIndex.suggest("원격")).containsExactly("원격단어");
+
+        insertRemoteChange(next + 1, "TITLE_TOKEN_REMOVED", "원격단어");
+        changeLogPoller.poll();
+        assertThat(titleSuggestIndex.suggest("원격")).isEmpty();
+    }
+
+    private long maxChangeId() {
+        return jdbcTemplate.queryForObject("select coalesce(max(change_id), 0) from web5_change_log", Long.class);
+    }
+
+    private void insertRemoteChange(long changeId, String type, String id) {
+        jdbcTemplate.update("insert into web5_change_log (change_id, entity_type, entity_id, origin, created_at)"
+                + " values (?, ?, ?, 'other-node', ?)", changeId, type, id, Timestamp.from(Instant.now()));
+    }
+}
@@ -0,0 +1,128 @@
+package net.datasa.web5.controller;
+
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.domain.dto.ReplyDTO;
+import net.datasa.web5.metrics.SqlStatementCounter;
+import net.datasa.web5.security.AuthenticatedUser;
+import net.datasa.web5.service.BoardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 글 보기/목록 화면의 ETag 와 304 응답 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class BoardConditionalGetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    BoardService boardService;
+
+    @Value("${board.uploadPath}")
+    String uploadPath;
+
+    @Test
+    void unchangedReadPageIsAnsweredWith304WithoutLoadingTheBoard() throws Exception {
+        String etag = etagOf("/board/read?boardNum=15");
+
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.begin("test read 304")) {
+            mockMvc.perform(get("/board/read?boardNum=15").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+            // ETag 버전 + 조회수 수정만 실행
+            assertThat(scope.getCount()).as("실행 SQL : %s", scope.getShapes()).isLessThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    void newReplyChangesTheReadPageEtag() throws Exception {
+        String etag = etagOf("/board/read?boardNum=15");
+
+        jdbcTemplate.update("insert into web5_reply (board_num, member_id, contents) values (15, 'user2', '새 리플')");
+
+        mockMvc.perform(get("/board/read?boardNum=15").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void staleCachedBoardIsNotServedUnderTheNewEtag() throws Exception {
+        etagOf("/board/read?boardNum=15");
+
+        // 다른 서버의 리플 쓰기 (이 서버의 캐시에서는 아직 지워지지 않음)
+        jdbcTemplate.update("insert into web5_reply (board_num, member_id, contents) values (15, 'user2', '다른 서버 리플')");
+
+        String etag = mockMvc.perform(get("/board/read?boardNum=15"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("다른 서버 리플")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/board/read?boardNum=15").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void unchangedListIsAnsweredWith304AndNewBoardChangesIt() throws Exception {
+        String etag = etagOf("/board/list?page=2");
+
+        mockMvc.perform(get("/board/list?page=2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        boardService.write(BoardDTO.builder().memberId("user1").title("새 글").contents("내용").build()
+                , uploadPath, new MockMultipartFile("upload", new byte[0]));
+
+        mockMvc.perform(get("/board/list?page=2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void newReplyChangesTheListEtag() throws Exception {
+        String etag = etagOf("/board/list");
+
+        // 목록의 리플수 칸이 바뀜 (글 수정 시간은 그대로)
+        boardService.replyWrite(ReplyDTO.builder().boardNum(15).memberId("user1").contents("목록 리플").build());
+
+        mockMvc.perform(get("/board/list").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void etagDependsOnLoggedInUser() throws Exception {
+        String etag = etagOf("/board/list");
+
+        mockMvc.perform(get("/board/list").header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(user(AuthenticatedUser.builder().id("user1").password("").roleName("ROLE_USER")
+                                .enabled(true).build())))
+                .andExpect(status().isOk());
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,69 @@
+package net.datasa.web5.controller;
+
+import net.datasa.web5.metrics.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 게시판 화면별 SQL 실행 수 상한 확인 (N+1 회귀 방지)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class BoardQueryCountTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void listUsesPageAndCountQueriesOnly() throws Exception {
+        // ETag 버전 + 페이지 + 전체 건수
+        assertMaxQueries(3, "/board/list");
+    }
+
+    @Test
+    void searchListUsesPageAndCountQueriesOnly() throws Exception {
+        // ETag 버전 + 페이지 + 전체 건수 + 보관 글 건수 (최근 글로 페이지가 차면 보관 글은 읽지 않음)
+        assertMaxQueries(4, "/board/list?searchType=title&searchWord=번째");
+    }
+
+    @Test
+    void sortedListUsesSingleKeysetQuery() throws Exception {
+        // 전체 건수를 세지 않고, 조회수 정렬은 ETag 버전도 읽지 않는다.
+        assertMaxQueries(1, "/board/list?sort=views");
+        assertMaxQueries(2, "/board/list?sort=updated");
+    }
+
+    @Test
+    void readLoadsBoardAndRepliesWithoutPerReplyQueries() throws Exception {
+        // ETag 버전, 조회수 수정, 글 + 리플 조회
+        assertMaxQueries(4, "/board/read?boardNum=15");
+    }
+
+    @Test
+    void listAllUsesSingleQuery() throws Exception {
+        assertMaxQueries(1, "/board/listAll");
+    }
+
+    private void assertMaxQueries(int maxQueries, String url) throws Exception {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.begin("test " + url)) {
+            ResultActions result = mockMvc.perform(get(url));
+            result.andExpect(status().isOk());
+
+            assertThat(scope.getCount())
+                    .as("%s 실행 SQL : %s", url, scope.getShapes())
+                    .isLessThanOrEqualTo(maxQueries);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package net.datasa.web5.controller;
+
+import net.datasa.web5.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 회원별 쓰기 요청 제한 확인 (제한을 넘으면 저장하지 않고 429 + Retry-After)
+ * 버킷이 테스트 사이에 유지되므로 테스트마다 다른 회원을 사용한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "board.rateLimit.postCapacity=2"
+        , "board.rateLimit.postPerMinute=1"
+        , "board.rateLimit.replyCapacity=1"
+        , "board.rateLimit.replyPerMinute=1"
+        , "board.rateLimit.uploadCapacity=1KB"
+        , "board.rateLimit.uploadPerMinute=1KB"
+})
+@Sql("/board-test-data.sql")
+class WriteRateLimitTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void postsOverBudgetAreRejectedBeforeSaving() throws Exception {
+        mockMvc.perform(write("user1", 10)).andExpect(status().is3xxRedirection());
+        mockMvc.perform(write("user1", 10)).andExpect(status().is3xxRedirection());
+        int boardCount = boardCount();
+
+        mockMvc.perform(write("user1", 10))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        assertThat(boardCount()).isEqualTo(boardCount);
+        // 다른 회원은 영향 없음
+        mockMvc.perform(write("user3", 10)).andExpect(status().is3xxRedirection());
+    }
+
+    @Test
+    void uploadBytesHaveTheirOwnBudget() throws Exception {
+        mockMvc.perform(write("user2", 800)).andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(write("user2", 800))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    void repliesOverBudgetAreRejected() throws Exception {
+        mockMvc.perform(reply("user3")).andExpect(status().is3xxRedirection());
+        mockMvc.perform(reply("user3")).andExpect(status().isTooManyRequests());
+    }
+
+    private MockHttpServletRequestBuilder write(String memberId, int contentLength) {
+        return multipart("/board/write")
+                .file(new MockMultipartFile("upload", new byte[0]))
+                .param("title", "제목")
+                .param("contents", "내용")
+                // 업로드 용량은 Content-Length 로 계산
+                .content(new byte[contentLength])
+                .with(user(member(memberId)));
+    }
+
+    private MockHttpServletRequestBuilder reply(String memberId) {
+        return post("/board/replyWrite")
+                .param("boardNum", "1")
+                .param("contents", "리플")
+                .with(user(member(memberId)));
+    }
+
+    private AuthenticatedUser member(String memberId) {
+        return AuthenticatedUser.builder().id(memberId).password("").roleName("ROLE_USER").enabled(true).build();
+    }
+
+    private int boardCount() {
+        return jdbcTemplate.queryForObject("select count(*) from web5_board", Integer.class);
+    }
+}
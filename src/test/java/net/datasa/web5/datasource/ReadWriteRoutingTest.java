@@ -0,0 +1,140 @@
+package net.datasa.web5.datasource;
+
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.service.BoardReadCache;
+import net.datasa.web5.service.BoardReadCache.BoardChangedEvent;
+import net.datasa.web5.service.BoardService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 읽기/쓰기 DataSource 분리 확인 (주 DB, 복제본 모두 내장 H2)
+ * <p>
+ * 복제본에는 같은 글번호로 제목만 다른 글을 넣어 두고, 어느 DB 에서 읽었는지 제목으로 구분한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "board.datasource.replica.url=" + ReadWriteRoutingTest.REPLICA_URL
+        , "board.datasource.replica.username=sa"
+        , "board.datasource.replica.password="
+        , "board.datasource.replica.lagQuery=select 0"
+        , "board.datasource.replica.readYourWritesWindow=1m"
+})
+@Sql("/board-test-data.sql")
+class ReadWriteRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:web5replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    BoardService boardService;
+
+    @Autowired
+    ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    BoardReadCache boardReadCache;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+
+    @BeforeEach
+    void setUpReplica() {
+        Flyway.configure().dataSource(replica).locations("classpath:db/migration/h2").load().migrate();
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.update("delete from web5_reply");
+        replicaJdbc.update("delete from web5_board");
+        replicaJdbc.update("delete from web5_member");
+        replicaJdbc.update("insert into web5_member (member_id, member_password, member_name) values ('user1', 'x', '회원1')");
+        replicaJdbc.update("insert into web5_board (board_num, member_id, title, contents) values (1, 'user1', '복제본 글', '내용 1')");
+    }
+
+    @AfterEach
+    void clearLogin() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        BoardDTO board = boardService.getBoard(1);
+        assertThat(board.getTitle()).isEqualTo("복제본 글");
+    }
+
+    @Test
+    void recentWriterReadsFromPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user2", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        readYourWritesTracker.markWrite("user2");
+
+        BoardDTO board = boardService.getBoard(1);
+        assertThat(board.getTitle()).isEqualTo("첫 번째 글");
+    }
+
+    @Test
+    void readCacheLoadsFromReplicaUnlessRecentlyChanged() {
+        // 처음 읽을 때는 복제본
+        assertThat(boardReadCache.getBoard(1).getTitle()).isEqualTo("복제본 글");
+
+        // 바뀐 직후에는 누가 읽든 주 DB 에서 읽어 캐시에 담는다.
+        boardReadCache.evict(new BoardChangedEvent(List.of(1)));
+        assertThat(boardReadCache.getBoard(1).getTitle()).isEqualTo("첫 번째 글");
+    }
+
+    @Test
+    void staleCachedVersionIsReloadedFromPrimary() {
+        // 복제본에서 읽은 글이 캐시에 담긴 뒤
+        assertThat(boardReadCache.getBoard(1, boardService.getBoardVersion(1)).getTitle()).isEqualTo("복제본 글");
+
+        // 버전이 같으면 캐시 그대로
+        assertThat(boardReadCache.getBoard(1, boardService.getBoardVersion(1)).getTitle()).isEqualTo("복제본 글");
+
+        // 글이 바뀌어 버전이 달라지면 (변경 기록이 아직 전달되지 않음) 캐시에서 지우고 주 DB 에서 다시 읽는다.
+        new JdbcTemplate(replica).update("update web5_board set update_date = timestamp '2030-01-01 00:00:00'"
+                + " where board_num = 1");
+        String version = boardService.getBoardVersion(1);
+        assertThat(version).contains("2030");
+        BoardDTO reloaded = boardReadCache.getBoard(1, version);
+        assertThat(reloaded.getTitle()).isEqualTo("첫 번째 글");
+        assertThat(boardReadCache.getBoard(1).getTitle()).isEqualTo("첫 번째 글");
+    }
+
+    @Test
+    void writeTransactionUsesPrimary() {
+        assertThat(boardService.increaseViewCount(1)).isTrue();
+
+        assertThat(jdbcTemplate.queryForObject("select view_count from web5_board where board_num = 1", Integer.class))
+                .isEqualTo(1);
+        assertThat(new JdbcTemplate(replica).queryForObject("select view_count from web5_board where board_num = 1", Integer.class))
+                .isZero();
+    }
+
+    @Test
+    void lagMonitorDisablesReplicaWhenBehind() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "select 60", Duration.ofSeconds(5));
+        monitor.check();
+        assertThat(monitor.isReplicaUsable()).isFalse();
+
+        ReplicaLagMonitor healthy = new ReplicaLagMonitor(replica, "select 0", Duration.ofSeconds(5));
+        healthy.check();
+        assertThat(healthy.isReplicaUsable()).isTrue();
+    }
+}
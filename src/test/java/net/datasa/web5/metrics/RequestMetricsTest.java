@@ -0,0 +1,74 @@
+package net.datasa.web5.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 요청 하나가 경로별 응답시간, 요청당 SQL 수, 서비스 메소드 시간 메트릭을 태그와 함께 남기는지 확인
+ * 요청당 SQL 수에는 컨트롤러 밖(필터)에서 실행된 SQL 도 들어가는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class RequestMetricsTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void requestAndServiceTimersAreRegisteredWithTags() throws Exception {
+        mockMvc.perform(get("/board/list")).andExpect(status().isOk());
+
+        // 경로별 응답시간 (스프링 기본 http.server.requests)
+        Timer request = meterRegistry.find("http.server.requests")
+                .tags("uri", "/board/list", "method", "GET", "status", "200")
+                .timer();
+        assertThat(request).isNotNull();
+        assertThat(request.count()).isPositive();
+
+        // 요청당 SQL 수 (RequestMetricsFilter)
+        DistributionSummary statements = meterRegistry.find("http.server.sql.statements")
+                .tags("uri", "/board/list", "method", "GET")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.totalAmount()).isPositive();
+
+        // 서비스 메소드 시간 (ServiceTimingAspect)
+        Timer service = meterRegistry.find("board.service")
+                .tags("class", "BoardService", "method", "getList", "exception", "none")
+                .timer();
+        assertThat(service).isNotNull();
+        assertThat(service.count()).isPositive();
+    }
+
+    @Test
+    void sqlInFiltersIsCounted() throws Exception {
+        // 로그인 처리는 시큐리티 필터에서 회원을 조회하고 컨트롤러까지 가지 않는다. (없는 회원이라 캐시되지 않음)
+        mockMvc.perform(post("/member/login").param("id", "no-such-member").param("password", "wrong"))
+                .andExpect(status().is3xxRedirection());
+
+        DistributionSummary statements = meterRegistry.find("http.server.sql.statements")
+                .tags("uri", "UNKNOWN", "method", "POST")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.totalAmount()).isPositive();
+    }
+}
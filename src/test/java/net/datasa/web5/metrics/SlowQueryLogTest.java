@@ -0,0 +1,94 @@
+package net.datasa.web5.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 느린 SQL 기록(경로, 추적 ID, 파라미터 모양)과 SQL 추적 ID 주석 확인
+ * 기준 시간을 0 으로 두어 모든 SQL 을 느린 SQL 로 기록한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "board.sql.slowThreshold=0ms"
+        , "board.sql.slowLogSize=50"
+})
+@Sql("/board-test-data.sql")
+class SlowQueryLogTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLog.clear();
+    }
+
+    @Test
+    void contentsSearchIsRecordedWithRouteAndTraceId() throws Exception {
+        mockMvc.perform(get("/board/list").param("searchType", "contents").param("searchWord", "내용")
+                        .header(TraceIdFilter.HEADER, "trace-test-0001"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TraceIdFilter.HEADER, "trace-test-0001"));
+
+        assertThat(slowQueryLog.getEntries()).anySatisfy(entry -> {
+            assertThat(entry.getSql()).containsIgnoringCase("like");
+            assertThat(entry.getRoute()).isEqualTo("/board/list");
+            assertThat(entry.getTraceId()).isEqualTo("trace-test-0001");
+            // 검색어 값 대신 모양만 ('%내용%')
+            assertThat(entry.getParameters()).contains("String(4)");
+        });
+    }
+
+    @Test
+    void adminCanDumpSlowQueries() throws Exception {
+        mockMvc.perform(get("/board/read").param("boardNum", "15")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/admin/sql/slow").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].route", hasItem("/board/read")));
+        mockMvc.perform(get("/admin/sql/slow").with(user("user1")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void unsafeTraceIdIsReplaced() throws Exception {
+        String traceId = mockMvc.perform(get("/board/list").header(TraceIdFilter.HEADER, "*/ drop table x; /*"))
+                .andReturn().getResponse().getHeader(TraceIdFilter.HEADER);
+
+        assertThat(traceId).matches("[0-9a-f]{32}");
+    }
+
+    @Test
+    void traceIdIsAppendedAsComment() {
+        TraceIdStatementInspector inspector = new TraceIdStatementInspector();
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+
+        MDC.put(TraceIdFilter.MDC_KEY, "abc123def456");
+        try {
+            assertThat(inspector.inspect("select 1")).isEqualTo("select 1 /* trace:abc123def456 */");
+        } finally {
+            MDC.remove(TraceIdFilter.MDC_KEY);
+        }
+    }
+}
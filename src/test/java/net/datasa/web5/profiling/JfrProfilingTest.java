@@ -0,0 +1,89 @@
+package net.datasa.web5.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * JFR 이벤트(요청, 화면 출력, 서비스 호출) 기록과 관리자 레코딩 내려받기 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class JfrProfilingTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void boardReadIsRecordedWithRouteAndBoardNum() throws Exception {
+        Path file = tempDir.resolve("read.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RequestEvent.class);
+            recording.enable(ViewRenderEvent.class);
+            recording.enable(ServiceCallEvent.class);
+            recording.start();
+
+            mockMvc.perform(get("/board/read").param("boardNum", "15")).andExpect(status().isOk());
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("web5.Request");
+            assertThat(event.getString("route")).isEqualTo("/board/read");
+            assertThat(event.getInt("boardNum")).isEqualTo(15);
+            assertThat(event.getInt("status")).isEqualTo(200);
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("web5.ViewRender");
+            assertThat(event.getString("view")).isEqualTo("boardView/read");
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("web5.ServiceCall");
+            assertThat(event.getString("method")).isEqualTo("increaseViewCount");
+            assertThat(event.getInt("boardNum")).isEqualTo(15);
+        });
+    }
+
+    @Test
+    void adminCanDownloadTimeBoxedRecording() throws Exception {
+        byte[] body = mockMvc.perform(post("/admin/profiling/record").param("duration", "1s")
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Path file = Files.write(tempDir.resolve("admin.jfr"), body);
+        assertThat(RecordingFile.readAllEvents(file)).isNotEmpty();
+    }
+
+    @Test
+    void recordingIsAdminOnly() throws Exception {
+        mockMvc.perform(post("/admin/profiling/record").param("duration", "1s").with(user("user1")))
+                .andExpect(status().isForbidden());
+    }
+}
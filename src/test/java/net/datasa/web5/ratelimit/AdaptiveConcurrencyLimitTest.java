@@ -0,0 +1,78 @@
+package net.datasa.web5.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AIMD 동시 처리 수 제한 확인
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void rejectsImmediatelyWhenLimitIsReached() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, THRESHOLD);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release(FAST, false);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void slowResponsesShrinkTheLimitDownToMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 10, THRESHOLD);
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(SLOW, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(1);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void failuresShrinkTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 10, THRESHOLD);
+
+        limit.tryAcquire();
+        limit.release(FAST, true);
+
+        assertThat(limit.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void fastResponsesUnderLoadGrowTheLimitUpToMaximum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 4, THRESHOLD);
+
+        for (int i = 0; i < 100; i++) {
+            // 상한까지 채운 상태에서 하나씩 끝남
+            while (limit.tryAcquire()) {
+            }
+            limit.release(FAST, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void idleTrafficDoesNotGrowTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 100, THRESHOLD);
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+}
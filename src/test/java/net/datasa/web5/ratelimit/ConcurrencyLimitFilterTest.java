@@ -0,0 +1,91 @@
+package net.datasa.web5.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
+import net.datasa.web5.ratelimit.ConcurrencyLimiter.Partition;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 처리 수 제한 필터가 본문 처리 전에 거절하고, 다운로드와 업로드는 전송 시간을 빼고 재는지 확인
+ */
+class ConcurrencyLimitFilterTest {
+
+    private static final Duration THRESHOLD = Duration.ofMillis(50);
+
+    private final ConcurrencyLimiter limiter = new ConcurrencyLimiter(new SimpleMeterRegistry()
+            , 10, 10, THRESHOLD, 1, 10, THRESHOLD, 10, 10, THRESHOLD, 2, 2, THRESHOLD);
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter);
+
+    @Test
+    void rejectsBeforeTheChainWhenLimitIsReached() throws Exception {
+        assertThat(limiter.tryAcquire(Partition.WRITE)).isTrue();
+
+        AtomicBoolean called = new AtomicBoolean();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/board/write"), response
+                , (request, res) -> called.set(true));
+
+        assertThat(called).isFalse();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+
+        // 제한 대상이 아닌 경로는 그대로 통과
+        filter.doFilter(new MockHttpServletRequest("GET", "/board/write"), new MockHttpServletResponse()
+                , (request, res) -> called.set(true));
+        assertThat(called).isTrue();
+    }
+
+    @Test
+    void downloadLatencyExcludesStreamingTime() throws Exception {
+        // 첫 바이트는 바로 쓰고, 나머지 전송(느린 클라이언트)에 오래 걸림
+        FilterChain slowClient = (request, response) -> {
+            response.getOutputStream().write(new byte[]{1});
+            sleep(THRESHOLD.multipliedBy(3));
+            response.getOutputStream().write(new byte[]{2});
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/board/download"), new MockHttpServletResponse(), slowClient);
+        assertThat(limiter.getLimit(Partition.DOWNLOAD)).isEqualTo(10);
+
+        // 다른 구역은 응답 전체 시간으로 잰다.
+        filter.doFilter(new MockHttpServletRequest("GET", "/board/read"), new MockHttpServletResponse(), slowClient);
+        assertThat(limiter.getLimit(Partition.READ)).isEqualTo(9);
+    }
+
+    @Test
+    void writeLatencyExcludesUploadTime() throws Exception {
+        // multipart 본문을 받는 데(느린 클라이언트) 오래 걸림
+        MockHttpServletRequest slowUpload = new MockHttpServletRequest("POST", "/board/write") {
+            @Override
+            public Collection<Part> getParts() throws IOException, ServletException {
+                sleep(THRESHOLD.multipliedBy(3));
+                return super.getParts();
+            }
+        };
+
+        // 본문을 다 받은 뒤의 처리는 빠름 -> 상한이 줄지 않고 늘어난다.
+        filter.doFilter(slowUpload, new MockHttpServletResponse()
+                , (request, response) -> ((HttpServletRequest) request).getParts());
+        assertThat(limiter.getLimit(Partition.WRITE)).isEqualTo(2);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
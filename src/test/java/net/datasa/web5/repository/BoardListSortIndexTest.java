@@ -0,0 +1,131 @@
+package net.datasa.web5.repository;
+
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.domain.dto.BoardWindowDTO;
+import net.datasa.web5.domain.dto.ReplyDTO;
+import net.datasa.web5.metrics.SqlStatementCounter;
+import net.datasa.web5.service.BoardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 정렬 기준별 키셋 페이징이 빠짐없이 정렬 순서대로 읽고, 각 정렬이 자기 인덱스를 범위 검색 + 정렬 없이 쓰는지 확인
+ * (H2 의 EXPLAIN 결과로 확인. index sorted 는 인덱스 순서 그대로 읽어 따로 정렬하지 않는다는 뜻)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class BoardListSortIndexTest {
+
+    private static final String SQL_COLUMN_PREFIX = "b.";
+
+    @Autowired
+    BoardService boardService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // 같은 값이 여러 글에 있도록 (글번호로 순서가 정해지는지 확인)
+        jdbcTemplate.update("update web5_board set view_count = mod(board_num, 4), like_count = mod(board_num, 3)"
+                + ", update_date = dateadd('MINUTE', mod(board_num, 5), timestamp '2024-01-01 00:00:00')");
+    }
+
+    @ParameterizedTest
+    @EnumSource(BoardListSort.class)
+    void keysetPagesCoverAllBoardsInSortOrder(BoardListSort sort) {
+        List<Integer> expected = jdbcTemplate.queryForList("select board_num from web5_board b order by "
+                + (sort.getProperty() != null ? SQL_COLUMN_PREFIX + column(sort) + " desc, " : "")
+                + "b.board_num desc", Integer.class);
+
+        List<Integer> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            BoardWindowDTO window = boardService.getSortedList(sort.getParam(), cursor, 4);
+            window.getBoardList().stream().map(BoardDTO::getBoardNum).forEach(actual::add);
+            cursor = window.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BoardListSort.class)
+    void keysetPageUsesSortIndexWithoutSorting(BoardListSort sort) throws Exception {
+        String cursor = boardService.getSortedList(sort.getParam(), null, 4).getNextCursor();
+
+        // 정규화된 SQL 모양은 (?, ?) 를 (?) 로 줄이므로 H2 가 기록한 실제 SQL 을 쓴다.
+        String sql;
+        jdbcTemplate.execute("set query_statistics false");
+        jdbcTemplate.execute("set query_statistics true");
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.begin("test " + sort)) {
+            boardService.getSortedList(sort.getParam(), cursor, 4);
+            assertThat(scope.getCount()).isEqualTo(1);
+            sql = jdbcTemplate.queryForObject("select sql_statement from information_schema.query_statistics"
+                    + " where sql_statement like '%from web5_board%order by%'", String.class);
+        } finally {
+            jdbcTemplate.execute("set query_statistics false");
+        }
+
+        String plan = explain(sql);
+        String index = sort == BoardListSort.NUM ? "idx_board_num_desc" : "idx_board_" + column(sort);
+        assertThat(plan).as(plan)
+                .contains("public." + index + ":")
+                .contains("/* index sorted */")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void replyCountFollowsReplyWritesAndDeletes() {
+        int before = replyCount(1);
+        boardService.replyWrite(ReplyDTO.builder().boardNum(1).memberId("user1").contents("리플").build());
+        Integer parent = jdbcTemplate.queryForObject("select max(reply_num) from web5_reply", Integer.class);
+        boardService.replyWrite(ReplyDTO.builder().boardNum(1).parentNum(parent).memberId("user2").contents("답글")
+                .build());
+        assertThat(replyCount(1)).isEqualTo(before + 2);
+
+        // 답글과 함께 삭제
+        boardService.replyDelete(parent, "user1");
+        assertThat(replyCount(1)).isEqualTo(before);
+    }
+
+    // 정렬 속성의 컬럼 이름 (viewCount -> view_count)
+    private String column(BoardListSort sort) {
+        return sort.getProperty().replaceAll("([A-Z])", "_$1").toLowerCase();
+    }
+
+    private int replyCount(int boardNum) {
+        return jdbcTemplate.queryForObject("select reply_count from web5_board where board_num = ?"
+                , Integer.class, boardNum);
+    }
+
+    // 파라미터 값과 관계없이 준비 시점의 실행 계획을 본다.
+    private String explain(String sql) throws Exception {
+        return jdbcTemplate.execute((java.sql.Connection con) -> {
+            try (PreparedStatement ps = con.prepareStatement("explain " + sql)) {
+                for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                    ps.setObject(i, null);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+}
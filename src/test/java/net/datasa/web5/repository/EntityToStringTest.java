@@ -0,0 +1,48 @@
+package net.datasa.web5.repository;
+
+import net.datasa.web5.domain.entity.BoardEntity;
+import net.datasa.web5.domain.entity.ReplyEntity;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 엔티티를 로그로 출력해도(toString) 지연 로딩 연관관계를 읽지 않고 본문을 남기지 않는지 확인
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class EntityToStringTest {
+
+    @Autowired
+    BoardRepository boardRepository;
+
+    @Autowired
+    ReplyRepository replyRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Transactional(readOnly = true)
+    void toStringSkipsLazyAssociationsAndContents() {
+        int replyNum = jdbcTemplate.queryForObject("select reply_num from web5_reply where contents = '리플 7'"
+                , Integer.class);
+        ReplyEntity reply = replyRepository.findById(replyNum).orElseThrow();
+        assertThat(reply.toString()).doesNotContain("리플 7");
+        assertThat(Hibernate.isInitialized(reply.getBoard())).isFalse();
+        assertThat(Hibernate.isInitialized(reply.getMember())).isFalse();
+
+        BoardEntity board = boardRepository.findById(15).orElseThrow();
+        assertThat(board.toString()).contains("열다섯 번째 글").doesNotContain("내용 15");
+        assertThat(Hibernate.isInitialized(board.getMember())).isFalse();
+        assertThat(Hibernate.isInitialized(board.getReplyList())).isFalse();
+    }
+}
@@ -0,0 +1,98 @@
+package net.datasa.web5.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateOutput;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 마이그레이션 이전 스키마(docs/web5.sql = V1)로 만든 기존 DB 의 업그레이드 확인
+ * <p>
+ * Flyway 기록 없이 V1 스크립트만 실행한 DB 에 예전 모양의 데이터를 넣고, 운영과 같은 설정
+ * (baseline-on-migrate, baseline-version=1)으로 마이그레이션한다.
+ * 처음부터 마이그레이션한 DB 와 컬럼, 인덱스가 같아야 하고 새 컬럼에는 기존 데이터의 값이 채워져야 한다.
+ */
+class LegacySchemaMigrationTest {
+
+    static final String LEGACY_URL = "jdbc:h2:mem:web5legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String FRESH_URL = "jdbc:h2:mem:web5fresh;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    DriverManagerDataSource legacy = new DriverManagerDataSource(LEGACY_URL, "sa", "");
+    DriverManagerDataSource fresh = new DriverManagerDataSource(FRESH_URL, "sa", "");
+
+    @AfterEach
+    void dropDatabases() {
+        new JdbcTemplate(legacy).execute("shutdown");
+        new JdbcTemplate(fresh).execute("shutdown");
+    }
+
+    @Test
+    void legacyDatabaseIsUpgradedToCurrentSchema() {
+        // docs/web5.sql 로 만든 DB (Flyway 적용 기록 없음)
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/h2/V1__baseline.sql")).execute(legacy);
+        JdbcTemplate jdbc = new JdbcTemplate(legacy);
+        jdbc.update("insert into web5_member (member_id, member_password, member_name) values ('user1', 'x', '회원1')");
+        jdbc.update("insert into web5_board (board_num, member_id, title, contents, view_count, like_count, update_date)"
+                + " values (1, 'user1', '글 1', '내용 1', null, 3, timestamp '2020-01-02 03:04:05')");
+        jdbc.update("insert into web5_board (board_num, member_id, title, contents, update_date)"
+                + " values (2, 'user1', '글 2', '내용 2', timestamp '2020-01-02 03:04:05')");
+        jdbc.update("insert into web5_reply (reply_num, board_num, member_id, contents)"
+                + " values (1, 1, 'user1', '리플 1'), (2, 1, null, '리플 2'), (3, 2, 'user1', '리플 3')");
+
+        MigrateResult result = flyway(legacy).migrate();
+
+        // V1 은 기준으로 기록만 하고 V2 부터 적용
+        assertThat(result.migrations).extracting((MigrateOutput migration) -> migration.version)
+                .doesNotContain("1").contains("2");
+        assertThat(flyway(legacy).info().pending()).isEmpty();
+
+        // 새 컬럼의 기존 데이터 채우기 (수정 시간은 그대로)
+        assertThat(jdbc.queryForList("select reply_path from web5_reply order by reply_num", String.class))
+                .containsExactly("0000000001", "0000000002", "0000000003");
+        assertThat(jdbc.queryForList("select reply_count from web5_board order by board_num", Integer.class))
+                .containsExactly(2, 1);
+        assertThat(jdbc.queryForObject("select view_count from web5_board where board_num = 1", Integer.class))
+                .isZero();
+        assertThat(jdbc.queryForList("select update_date from web5_board order by board_num", Timestamp.class))
+                .containsOnly(Timestamp.valueOf("2020-01-02 03:04:05"));
+
+        // 처음부터 마이그레이션한 DB 와 같은 구조
+        flyway(fresh).migrate();
+        assertThat(columns(legacy)).isEqualTo(columns(fresh));
+        assertThat(indexes(legacy)).isEqualTo(indexes(fresh));
+    }
+
+    // application.properties 의 spring.flyway.* 설정과 같게
+    private Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private List<Map<String, Object>> columns(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList("select table_name, column_name, data_type, is_nullable, column_default"
+                + " from information_schema.columns where table_schema = 'public' and table_name like 'web5%'"
+                + " order by table_name, column_name");
+    }
+
+    // 자동으로 이름이 붙는 기본키/외래키 인덱스는 제외
+    private List<Map<String, Object>> indexes(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList("select table_name, index_name from information_schema.indexes"
+                + " where table_schema = 'public' and index_name like 'idx%' order by table_name, index_name");
+    }
+}
@@ -0,0 +1,141 @@
+package net.datasa.web5.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주요 repository 쿼리의 실행 계획 회귀 테스트
+ * <p>
+ * 쿼리를 실제로 실행해 H2 가 기록한 SQL(information_schema.query_statistics)을 EXPLAIN 하고,
+ * 테이블 전체 읽기(tableScan)가 있으면 실패한다. 인덱스나 쿼리를 바꾸어 전체 읽기가 생기면 여기서 드러난다.
+ * 부분 문자열 검색(제목/본문 like '%검색어%')과 전체 목록(listAll)은 인덱스로 줄일 수 없으므로 대상이 아니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class RepositoryQueryPlanTest {
+
+    @Autowired
+    BoardRepository boardRepository;
+
+    @Autowired
+    ReplyRepository replyRepository;
+
+    @Autowired
+    BoardArchiveRepository boardArchiveRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    Flyway flyway;
+
+    @TestFactory
+    Stream<DynamicTest> keyQueriesDoNotScanTables() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Sort byNumDesc = Sort.by(Sort.Direction.DESC, "boardNum");
+
+        // 쿼리 이름 -> 실행 (변경 쿼리는 뒤에 두어 앞의 조회 결과에 영향을 주지 않게 한다.)
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("글 보기", () -> boardRepository.findWithMemberByBoardNum(15));
+        queries.put("글 목록 2페이지 + 전체 건수", () -> boardRepository.findAll(PageRequest.of(1, 4, byNumDesc)));
+        queries.put("작성자 검색 + 건수", () -> boardRepository.findByMember_MemberId("user1", PageRequest.of(0, 2, byNumDesc)));
+        queries.put("회원 글번호", () -> boardRepository.findBoardNumsByMemberId("user1", PageRequest.of(0, 10)));
+        queries.put("글 제목", () -> boardRepository.findTitlesByBoardNums(List.of(1, 2, 3)));
+        queries.put("첨부파일 이름", () -> boardRepository.findFileNamesByBoardNums(List.of(1, 2, 3)));
+        queries.put("글 보기 버전", () -> boardRepository.findVersionByBoardNum(15));
+        queries.put("글 본문", () -> boardRepository.findContentsByBoardNum(15));
+        queries.put("리플 목록", () -> replyRepository.findByBoard_BoardNum(15, Sort.by("replyPath")));
+        queries.put("보관 글 버전", () -> boardArchiveRepository.findVersionByBoardNum(1));
+        queries.put("보관 글 작성자 검색", () -> boardArchiveRepository.search("id", "user1", 0, 10));
+        queries.put("조회수 증가", () -> tx.executeWithoutResult(status -> boardRepository.increaseViewCount(15)));
+        queries.put("리플수 변경", () -> tx.executeWithoutResult(status -> boardRepository.addReplyCount(15, 1)));
+        queries.put("답글 함께 삭제", () -> tx.executeWithoutResult(status ->
+                replyRepository.deleteSubtree(14, "0000000005")));
+        queries.put("글 삭제", () -> tx.executeWithoutResult(status -> boardRepository.deleteByBoardNums(List.of(1, 2))));
+
+        return queries.entrySet().stream().map(query -> DynamicTest.dynamicTest(query.getKey(), () -> {
+            List<String> statements = capture(query.getValue());
+            assertThat(statements).as("실행된 SQL").isNotEmpty();
+            for (String sql : statements) {
+                String plan = explain(sql);
+                assertThat(plan).as(plan).doesNotContain("tableScan");
+            }
+        }));
+    }
+
+    @Test
+    void schemaIsOwnedByMigrations() throws Exception {
+        // 적용 대기 중인 마이그레이션이 없다.
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion).map(Object::toString))
+                .contains("1", "2");
+
+        // DB 종류별 폴더에 같은 버전이 함께 있다.
+        assertThat(migrationNames("mysql")).containsExactlyElementsOf(migrationNames("h2"));
+    }
+
+    /**
+     * 실행 중 H2 가 기록한 게시판/리플 테이블 SQL 목록
+     * (다른 스레드의 변경 기록, 세션 쿼리는 제외)
+     */
+    private List<String> capture(Runnable query) {
+        jdbcTemplate.execute("set query_statistics false");
+        jdbcTemplate.execute("set query_statistics true");
+        try {
+            query.run();
+            return jdbcTemplate.queryForList("select sql_statement from information_schema.query_statistics"
+                    + " where sql_statement like '%web5_board%' or sql_statement like '%web5_reply%'", String.class);
+        } finally {
+            jdbcTemplate.execute("set query_statistics false");
+        }
+    }
+
+    // 파라미터 값과 관계없이 준비 시점의 실행 계획을 본다.
+    private String explain(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection con) -> {
+            try (PreparedStatement ps = con.prepareStatement("explain " + sql)) {
+                for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                    ps.setObject(i, null);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+
+    private List<String> migrationNames(String vendor) throws Exception {
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/" + vendor + "/*.sql");
+        return Arrays.stream(resources).map(Resource::getFilename).sorted().toList();
+    }
+}
@@ -0,0 +1,93 @@
+package net.datasa.web5.service;
+
+import net.datasa.web5.domain.dto.ImportResultDTO;
+import net.datasa.web5.metrics.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JSONL 가져오기가 묶음(importBatchSize) 단위로 글과 리플을 저장하고,
+ * 배치로 생성된 글번호에 리플을 연결하며, 없는 회원은 작성자 없이 저장하는지 확인
+ */
+@SpringBootTest(properties = "board.importBatchSize=2")
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class BoardImportServiceTest {
+
+    @Autowired
+    BoardImportService boardImportService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${board.importPath}")
+    String importPath;
+
+    @Test
+    void importsChunksAndLinksReplies() throws Exception {
+        // 6줄 (형식 오류 1줄) : 글 5개, 리플 7개 (작성자 없는 리플 1개), 없는 회원 ghost, ghost2
+        Files.createDirectories(Path.of(importPath));
+        try (InputStream in = new ClassPathResource("import/boards.jsonl").getInputStream()) {
+            Files.copy(in, Path.of(importPath, "boards.jsonl"), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        ImportResultDTO result;
+        int memberQueries;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.begin("test import")) {
+            result = boardImportService.importJsonl("boards.jsonl");
+            memberQueries = scope.getShapes().entrySet().stream()
+                    .filter(shape -> shape.getKey().contains("web5_member"))
+                    .mapToInt(Map.Entry::getValue).sum();
+        }
+
+        assertThat(result.getLineCount()).isEqualTo(6);
+        assertThat(result.getSkippedCount()).isEqualTo(1);
+        assertThat(result.getBoardCount()).isEqualTo(5);
+        assertThat(result.getReplyCount()).isEqualTo(7);
+        // 묶음마다 처음 보는 회원만 한 번의 IN 쿼리로 확인 (세 번째 묶음은 모두 이미 확인한 회원)
+        // 작성자가 없는 리플(리플 g)은 찾지 못한 회원으로 세지 않는다.
+        assertThat(result.getUnknownMemberCount()).isEqualTo(3);
+        assertThat(memberQueries).isEqualTo(2);
+
+        assertThat(count("select count(*) from web5_board where title like '가져온 글%'")).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("select member_id from web5_board where title = '가져온 글 2'"
+                , String.class)).isNull();
+        assertThat(count("select view_count from web5_board where title = '가져온 글 5'")).isEqualTo(7);
+
+        // 리플이 각자의 글에 연결되고 답글 경로와 리플수가 채워진다.
+        assertReplies("가져온 글 1", 2, "리플 a:user2", "리플 b:null");
+        assertReplies("가져온 글 2", 1, "리플 g:null");
+        assertReplies("가져온 글 3", 1, "리플 c:user1");
+        assertReplies("가져온 글 4", 3, "리플 d:null", "리플 e:user1", "리플 f:user2");
+        assertThat(count("select count(*) from web5_reply r join web5_board b on b.board_num = r.board_num"
+                + " where b.title like '가져온 글%' and r.reply_path <> lpad(r.reply_num, 10, '0')")).isZero();
+    }
+
+    private void assertReplies(String title, int replyCount, String... replies) {
+        int boardNum = count("select board_num from web5_board where title = '" + title + "'");
+        assertThat(count("select reply_count from web5_board where board_num = " + boardNum)).isEqualTo(replyCount);
+        List<String> actual = jdbcTemplate.queryForList("select concat(contents, ':', coalesce(member_id, 'null'))"
+                + " from web5_reply where board_num = ? order by reply_num", String.class, boardNum);
+        assertThat(actual).containsExactlyElementsOf(Arrays.asList(replies));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
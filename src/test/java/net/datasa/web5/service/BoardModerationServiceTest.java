@@ -0,0 +1,148 @@
+package net.datasa.web5.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import net.datasa.web5.archive.BoardArchiver;
+import net.datasa.web5.domain.dto.BulkDeleteResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 관리자 일괄 삭제가 배치 단위로 지우고, 첨부파일과 자동 완성 색인은 커밋된 후에만 정리하는지 확인
+ * 보관된 글도 함께 지우는지 확인
+ */
+@SpringBootTest(properties = "board.deleteBatchSize=2")
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class BoardModerationServiceTest {
+
+    @Autowired
+    BoardModerationService boardModerationService;
+
+    @Autowired
+    TitleSuggestIndex titleSuggestIndex;
+
+    @Autowired
+    BoardArchiver boardArchiver;
+
+    @Autowired
+    BoardReadCache boardReadCache;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${board.uploadPath}")
+    String uploadPath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 1~3번 글에 첨부파일
+        Files.createDirectories(Path.of(uploadPath));
+        for (int boardNum = 1; boardNum <= 3; boardNum++) {
+            String fileName = "moderation-" + boardNum + ".txt";
+            Files.writeString(Path.of(uploadPath, fileName), "첨부 " + boardNum);
+            jdbcTemplate.update("update web5_board set file_name = ?, original_name = ? where board_num = ?"
+                    , fileName, fileName, boardNum);
+        }
+        jdbcTemplate.update("update web5_board set title = '일괄삭제 대상' where board_num = 5");
+        titleSuggestIndex.rebuild();
+    }
+
+    @Test
+    void deletesInBatchesAndCleansUpAfterCommit() throws Exception {
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        BulkDeleteResultDTO result = outer.execute(status -> {
+            BulkDeleteResultDTO inner = boardModerationService.deleteBoards(List.of(1, 2, 3, 4, 5), uploadPath);
+
+            // 커밋 전에는 파일과 색인이 그대로
+            assertThat(attachment(1)).exists();
+            assertThat(titleSuggestIndex.suggest("일괄")).containsExactly("일괄삭제");
+            return inner;
+        });
+
+        // 배치 크기 2 로 세 번
+        assertThat(result.getBatchCount()).isEqualTo(3);
+        assertThat(result.getDeletedCount()).isEqualTo(5);
+        assertThat(result.getAttachmentCount()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from web5_board where board_num <= 5", Integer.class))
+                .isZero();
+
+        // 커밋된 후 색인에서 빠지고, 파일은 AttachmentCleanupWorker 가 백그라운드에서 지운다.
+        assertThat(titleSuggestIndex.suggest("일괄")).isEmpty();
+        for (int boardNum = 1; boardNum <= 3; boardNum++) {
+            awaitDeleted(attachment(boardNum));
+        }
+    }
+
+    @Test
+    void rollbackKeepsBoardsAndFiles() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            boardModerationService.deleteBoards(List.of(1, 2, 3, 4, 5), uploadPath);
+            status.setRollbackOnly();
+        });
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from web5_board where board_num <= 5", Integer.class))
+                .isEqualTo(5);
+        assertThat(titleSuggestIndex.suggest("일괄")).containsExactly("일괄삭제");
+        // 파일 정리는 비동기이므로 잠시 기다려도 남아 있어야 한다.
+        Thread.sleep(200);
+        for (int boardNum = 1; boardNum <= 3; boardNum++) {
+            assertThat(attachment(boardNum)).exists();
+        }
+    }
+
+    @Test
+    void archivedBoardsAreDeletedToo() throws Exception {
+        // user1 의 글 1, 4, 7, 10, 13 중 1, 4 를 보관 (1번 글은 첨부파일과 리플이 있음)
+        jdbcTemplate.update("update web5_board set create_date = timestamp '2020-01-01 00:00:00', update_date = update_date"
+                + " where board_num in (1, 4)");
+        assertThat(boardArchiver.archive(LocalDateTime.now().minusDays(1))).isEqualTo(2);
+        assertThat(boardReadCache.getBoard(1).isArchived()).isTrue();
+
+        BulkDeleteResultDTO result = boardModerationService.deleteBoardsByMember("user1", uploadPath);
+
+        // 최근 글 3개(배치 2번)를 지운 뒤 보관 글 2개(배치 1번)
+        assertThat(result.getRequestedCount()).isEqualTo(5);
+        assertThat(result.getDeletedCount()).isEqualTo(5);
+        assertThat(result.getBatchCount()).isEqualTo(3);
+        assertThat(result.getAttachmentCount()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from web5_board where member_id = 'user1'", Integer.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from web5_board_archive", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from web5_reply_archive", Integer.class)).isZero();
+
+        // 캐시에서도 빠지고, 보관 글의 첨부파일도 지운다.
+        assertThatThrownBy(() -> boardReadCache.getBoard(1)).isInstanceOf(EntityNotFoundException.class);
+        awaitDeleted(attachment(1));
+    }
+
+    private Path attachment(int boardNum) {
+        return Path.of(uploadPath, "moderation-" + boardNum + ".txt");
+    }
+
+    private static void awaitDeleted(Path file) throws InterruptedException {
+        for (int i = 0; i < 50 && Files.exists(file); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(file).doesNotExist();
+    }
+}
@@ -0,0 +1,95 @@
+package net.datasa.web5.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.domain.dto.ReplyDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 글 보기 캐시의 동시 조회 합치기(single-flight)와 변경 시 제거 확인
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class BoardReadCacheTest {
+
+    @Autowired
+    BoardReadCache boardReadCache;
+
+    @Autowired
+    BoardService boardService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트 데이터 SQL 로 바뀐 글이 캐시에 남지 않도록 비우고 시작
+        boardReadCache.evict(new BoardReadCache.BoardChangedEvent(List.of(13, 14, 15)));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<BoardDTO>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return boardReadCache.getBoard(15);
+                }));
+            }
+            start.countDown();
+            for (Future<BoardDTO> result : results) {
+                assertThat(result.get().getBoardNum()).isEqualTo(15);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 글 + 리플 조회 한 번씩
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void replyWriteEvictsTheBoard() {
+        int replyCount = boardReadCache.getBoard(14).getReplyList().size();
+
+        boardService.replyWrite(ReplyDTO.builder().boardNum(14).memberId("user1").contents("새 리플").build());
+
+        assertThat(boardReadCache.getBoard(14).getReplyList()).hasSize(replyCount + 1);
+    }
+
+    @Test
+    void deleteEvictsTheBoard() {
+        String owner = boardReadCache.getBoard(13).getMemberId();
+
+        boardService.delete(13, owner, System.getProperty("java.io.tmpdir"));
+
+        assertThatThrownBy(() -> boardReadCache.getBoard(13)).isInstanceOf(EntityNotFoundException.class);
+    }
+}
@@ -0,0 +1,77 @@
+package net.datasa.web5.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.datasa.web5.domain.dto.MemberDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 회원 2차 캐시/쿼리 캐시 확인 (두 번째 조회부터 SQL 이 나가지 않고, 수정/가입이 바로 반영되는지)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class MemberCacheTest {
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // 테스트 데이터 SQL 은 캐시를 거치지 않으므로 비우고 시작
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void memberIsLoadedFromCacheAfterFirstLookup() {
+        memberService.getMember("user1");
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+
+        MemberDTO member = memberService.getMember("user1");
+
+        assertThat(member.getMemberName()).isEqualTo("회원1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirst);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void updatedMemberIsVisibleThroughCache() {
+        MemberDTO member = memberService.getMember("user2");
+        member.setMemberPassword("");
+        member.setMemberName("새이름");
+        memberService.updateMember(member);
+
+        assertThat(memberService.getMember("user2").getMemberName()).isEqualTo("새이름");
+    }
+
+    @Test
+    void idCheckIsCachedAndInvalidatedByJoin() {
+        assertThat(memberService.idCheck("newbie")).isTrue();
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+
+        assertThat(memberService.idCheck("newbie")).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirst);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        memberService.join(MemberDTO.builder()
+                .memberId("newbie").memberPassword("password").memberName("새회원").build());
+
+        assertThat(memberService.idCheck("newbie")).isFalse();
+    }
+}
@@ -0,0 +1,109 @@
+package net.datasa.web5.service;
+
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.domain.dto.ReplyDTO;
+import net.datasa.web5.metrics.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 답글 경로로 리플 트리를 한 번의 조회로 읽고, 답글과 함께 삭제하는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class ReplyTreeTest {
+
+    @Autowired
+    BoardService boardService;
+
+    @Autowired
+    BoardReadCache boardReadCache;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void threadIsLoadedInDepthFirstOrderWithOneQuery() throws Exception {
+        int a = write(1, null, "첫 리플 A");
+        int d = write(1, null, "둘째 리플 D");
+        int b = write(1, a, "A 의 답글 B");
+        int c = write(1, b, "B 의 답글 C");
+        int e = write(1, a, "A 의 답글 E");
+
+        BoardDTO board;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.begin("test reply tree")) {
+            board = boardService.getBoard(1);
+            // 글 + 리플 (답글 깊이와 관계없이)
+            assertThat(scope.getCount()).isEqualTo(2);
+        }
+
+        List<ReplyDTO> replies = board.getReplyList();
+        assertThat(replies).extracting(ReplyDTO::getReplyNum).containsExactly(a, b, c, e, d);
+        assertThat(replies).extracting(ReplyDTO::getDepth).containsExactly(0, 1, 2, 1, 0);
+        assertThat(replies).extracting(ReplyDTO::getParentNum).containsExactly(null, a, b, a, null);
+
+        boardReadCache.evict(new BoardReadCache.BoardChangedEvent(List.of(1)));
+        mockMvc.perform(get("/board/read").param("boardNum", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("padding-left: 40px;")));
+    }
+
+    @Test
+    void deletingReplyRemovesItsSubtreeOnly() {
+        int a = write(2, null, "리플 A");
+        int b = write(2, a, "답글 B");
+        write(2, b, "답글 C");
+        int d = write(2, a, "답글 D");
+
+        boardService.replyDelete(b, "user1");
+
+        assertThat(boardService.getBoard(2).getReplyList()).extracting(ReplyDTO::getReplyNum)
+                .containsExactly(a, d);
+    }
+
+    @Test
+    void replyToAnotherBoardIsRejected() {
+        int a = write(3, null, "리플 A");
+
+        assertThatThrownBy(() -> write(4, a, "다른 글의 답글"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bulkInsertedRepliesAreRoots() {
+        // 테스트 데이터의 리플은 경로를 일괄로 채운 최상위 리플
+        List<ReplyDTO> replies = boardService.getBoard(15).getReplyList();
+        assertThat(replies).hasSize(4);
+        assertThat(replies).allSatisfy(reply -> {
+            assertThat(reply.getDepth()).isZero();
+            assertThat(reply.getParentNum()).isNull();
+        });
+        assertThat(replies).extracting(ReplyDTO::getReplyNum).isSorted();
+    }
+
+    private int write(int boardNum, Integer parentNum, String contents) {
+        boardService.replyWrite(ReplyDTO.builder()
+                .boardNum(boardNum).parentNum(parentNum).memberId("user1").contents(contents).build());
+        return jdbcTemplate.queryForObject("select max(reply_num) from web5_reply", Integer.class);
+    }
+}
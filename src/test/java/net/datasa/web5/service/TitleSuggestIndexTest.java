@@ -0,0 +1,157 @@
+package net.datasa.web5.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.web5.domain.dto.BoardDTO;
+import net.datasa.web5.metrics.SqlStatementCounter;
+import net.datasa.web5.service.TitleSuggestIndex.TitleChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 제목 자동 완성 색인이 DB 없이 글 수 순서로 답하고, 글 쓰기/수정/삭제를 바로 반영하며 (다시 만드는 중에도), 단어 수 상한을 지키는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class TitleSuggestIndexTest {
+
+    @Autowired
+    TitleSuggestIndex titleSuggestIndex;
+
+    @Autowired
+    BoardService boardService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void rebuild() {
+        titleSuggestIndex.rebuild();
+    }
+
+    @Test
+    void suggestsCompletionsByPopularityWithoutQueries() throws Exception {
+        // "스프링" 은 두 글, "스트림" 은 한 글에 있다.
+        jdbcTemplate.update("update web5_board set title = '스프링 부트 캐시' where board_num = 1");
+        jdbcTemplate.update("update web5_board set title = '스프링 시큐리티' where board_num = 2");
+        jdbcTemplate.update("update web5_board set title = '자바 스트림' where board_num = 3");
+        titleSuggestIndex.rebuild();
+
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.begin("test suggest")) {
+            assertThat(titleSuggestIndex.suggest("스")).containsExactly("스프링", "스트림");
+            // 앞 단어는 그대로 두고 마지막 단어만 완성
+            assertThat(titleSuggestIndex.suggest("스프링 부")).containsExactly("스프링 부트");
+            assertThat(titleSuggestIndex.suggest("")).isEmpty();
+            assertThat(scope.getCount()).isZero();
+        }
+
+        // 로그인하지 않아도 JSON 배열로 답한다.
+        mockMvc.perform(get("/board/suggest").param("q", "번"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("번째"));
+    }
+
+    @Test
+    void mostPopularTokenWinsAmongManyWithTheSamePrefix() {
+        TitleSuggestIndex index = new TitleSuggestIndex(jdbcTemplate, transactionManager, new SimpleMeterRegistry()
+                , 10_000, 3, 100);
+        // 가나다 순으로 맨 뒤인 단어가 가장 많은 글에 있다.
+        for (int i = 0; i < 5000; i++) {
+            index.apply(new TitleChangedEvent(null, "접두" + String.format("%04d", i)));
+        }
+        for (int i = 0; i < 3; i++) {
+            index.apply(new TitleChangedEvent(null, "접두힣 " + i + "번"));
+        }
+        index.apply(new TitleChangedEvent(null, "접두0002"));
+
+        assertThat(index.suggest("접")).containsExactly("접두힣", "접두0002", "접두0000");
+
+        // 글 수가 줄면 순위도 바뀐다.
+        for (int i = 0; i < 3; i++) {
+            index.apply(new TitleChangedEvent("접두힣 " + i + "번", null));
+        }
+        assertThat(index.suggest("접두")).containsExactly("접두0002", "접두0000", "접두0001");
+        assertThat(index.suggest("접두힣")).isEmpty();
+    }
+
+    @Test
+    void writeUpdateAndDeleteAreAppliedAfterCommit() {
+        boardService.write(BoardDTO.builder().memberId("user1").title("캐시 일관성 정리").contents("내용").build()
+                , "", new MockMultipartFile("upload", new byte[0]));
+        int boardNum = jdbcTemplate.queryForObject("select max(board_num) from web5_board", Integer.class);
+        assertThat(titleSuggestIndex.suggest("일관")).containsExactly("일관성");
+
+        boardService.update(BoardDTO.builder().boardNum(boardNum).title("캐시 무효화 정리").contents("내용").build()
+                , "user1", "", null);
+        assertThat(titleSuggestIndex.suggest("일관")).isEmpty();
+        assertThat(titleSuggestIndex.suggest("무효")).containsExactly("무효화");
+
+        boardService.delete(boardNum, "user1", "");
+        assertThat(titleSuggestIndex.suggest("무효")).isEmpty();
+        assertThat(titleSuggestIndex.suggest("캐")).isEmpty();
+    }
+
+    @Test
+    void changeAppliedDuringRebuildIsKept() {
+        // 다시 만들기가 제목을 읽기 시작할 때(커넥션을 얻을 때) 다른 스레드의 변경이 커밋된 것처럼 반영
+        AtomicReference<TitleSuggestIndex> index = new AtomicReference<>();
+        DataSource dataSource = new DelegatingDataSource(jdbcTemplate.getDataSource()) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                index.get().apply(new TitleChangedEvent(null, "동시성 변경"));
+                return super.getConnection();
+            }
+        };
+        index.set(new TitleSuggestIndex(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource)
+                , new SimpleMeterRegistry(), 1000, 10, 100));
+
+        index.get().rebuild();
+
+        assertThat(index.get().suggest("동시")).containsExactly("동시성");
+        assertThat(index.get().suggest("번")).containsExactly("번째");
+    }
+
+    @Test
+    void tokenCountStaysWithinLimit() {
+        TitleSuggestIndex small = new TitleSuggestIndex(jdbcTemplate, transactionManager, new SimpleMeterRegistry()
+                , 3, 10, 100);
+        small.rebuild();
+
+        // 다시 만들 때도 3개까지만 세고, 글 수가 가장 많은 "번째" 는 남는다.
+        assertThat(small.size()).isEqualTo(3);
+        assertThat(small.suggest("번")).containsExactly("번째");
+
+        // 꽉 찬 동안 새 단어는 넣지 않는다.
+        small.apply(new TitleChangedEvent(null, "새로운 단어"));
+        assertThat(small.size()).isEqualTo(3);
+        assertThat(small.suggest("새로")).isEmpty();
+    }
+}
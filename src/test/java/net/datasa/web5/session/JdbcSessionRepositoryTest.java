@@ -0,0 +1,163 @@
+package net.datasa.web5.session;
+
+import jakarta.servlet.http.Cookie;
+import net.datasa.web5.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 공유 세션 저장소 확인
+ * 로그인 정보는 간단한 형식으로 저장되고, 마지막 사용 시간은 모아 두었다가 한 번에 기록되며, 만료 세션은 일괄 삭제된다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "board.session.flushInterval=PT1H"
+        , "board.session.cleanupInterval=PT1H"
+})
+@Sql("/board-test-data.sql")
+class JdbcSessionRepositoryTest {
+
+    private static final String CONTEXT_KEY = HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+
+    @Autowired
+    JdbcSessionRepository sessionRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void clearSessions() {
+        sessionRepository.flushTouches();
+        jdbcTemplate.update("delete from web5_session");
+    }
+
+    @Test
+    void loginSessionIsStoredCompactlyAndSharedAcrossRequests() throws Exception {
+        JdbcSession session = sessionRepository.createSession();
+        session.setAttribute(CONTEXT_KEY, loggedIn("user1"));
+        sessionRepository.save(session);
+
+        // 비밀번호와 객체 그래프 없이 아이디, 이름, 권한만 저장
+        byte[] stored = jdbcTemplate.queryForObject("select attributes from web5_session where session_id = ?"
+                , byte[].class, session.getId());
+        assertThat(stored.length).isLessThan(128);
+
+        SecurityContext context = sessionRepository.findById(session.getId()).getAttribute(CONTEXT_KEY);
+        assertThat(context.getAuthentication().isAuthenticated()).isTrue();
+        AuthenticatedUser user = (AuthenticatedUser) context.getAuthentication().getPrincipal();
+        assertThat(user.getId()).isEqualTo("user1");
+        assertThat(user.getName()).isEqualTo("회원1");
+        assertThat(user.getPassword()).isNull();
+        assertThat(context.getAuthentication().getAuthorities()).extracting(Object::toString)
+                .containsExactly("ROLE_USER");
+
+        // 다른 서버에서 같은 세션 쿠키로 요청한 것과 같음
+        Cookie cookie = new Cookie("SESSION", Base64.getEncoder()
+                .encodeToString(session.getId().getBytes(StandardCharsets.UTF_8)));
+        mockMvc.perform(get("/board/write").cookie(cookie)).andExpect(status().isOk());
+        mockMvc.perform(get("/board/write")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void lastAccessTimeIsCoalescedUntilFlush() {
+        JdbcSession session = sessionRepository.createSession();
+        session.setAttribute("theme", "dark");
+        sessionRepository.save(session);
+        long created = storedLastAccess(session.getId());
+
+        Instant later = Instant.ofEpochMilli(created).plusSeconds(10);
+        for (int i = 0; i < 5; i++) {
+            JdbcSession loaded = sessionRepository.findById(session.getId());
+            loaded.setLastAccessedTime(later.plusMillis(i));
+            sessionRepository.save(loaded);
+        }
+
+        // 요청마다 기록하지 않고, 이 서버에서 읽을 때는 기록 전 시간을 반영
+        assertThat(storedLastAccess(session.getId())).isEqualTo(created);
+        assertThat(sessionRepository.pendingTouchCount()).isEqualTo(1);
+        assertThat(sessionRepository.findById(session.getId()).getLastAccessedTime()).isEqualTo(later.plusMillis(4));
+
+        sessionRepository.flushTouches();
+        assertThat(storedLastAccess(session.getId())).isEqualTo(later.plusMillis(4).toEpochMilli());
+        assertThat(sessionRepository.pendingTouchCount()).isZero();
+        Long expiry = jdbcTemplate.queryForObject("select expiry_time from web5_session where session_id = ?"
+                , Long.class, session.getId());
+        assertThat(expiry).isEqualTo(later.plusMillis(4).plus(session.getMaxInactiveInterval()).toEpochMilli());
+    }
+
+    @Test
+    void changedSessionIdKeepsTheSameRow() {
+        JdbcSession session = sessionRepository.createSession();
+        sessionRepository.save(session);
+        String oldId = session.getId();
+
+        JdbcSession loaded = sessionRepository.findById(oldId);
+        String newId = loaded.changeSessionId();
+        loaded.setAttribute(CONTEXT_KEY, loggedIn("user2"));
+        sessionRepository.save(loaded);
+
+        assertThat(sessionRepository.findById(oldId)).isNull();
+        SecurityContext context = sessionRepository.findById(newId).getAttribute(CONTEXT_KEY);
+        assertThat(context.getAuthentication().getName()).isEqualTo("user2");
+    }
+
+    @Test
+    void expiredSessionsAreDeletedInBulk() {
+        JdbcSession active = sessionRepository.createSession();
+        sessionRepository.save(active);
+
+        for (int i = 0; i < 3; i++) {
+            JdbcSession expired = sessionRepository.createSession();
+            expired.setMaxInactiveInterval(Duration.ofMinutes(1));
+            expired.setLastAccessedTime(Instant.now().minus(Duration.ofDays(1)));
+            sessionRepository.save(expired);
+        }
+        assertThat(sessionCount()).isEqualTo(4);
+
+        sessionRepository.deleteExpiredSessions();
+        assertThat(sessionCount()).isEqualTo(1);
+        assertThat(sessionRepository.findById(active.getId())).isNotNull();
+    }
+
+    private SecurityContext loggedIn(String memberId) {
+        AuthenticatedUser user = AuthenticatedUser.builder().id(memberId).password("secret")
+                .name("회원" + memberId.substring(4)).roleName("ROLE_USER").enabled(true).build();
+        return new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    }
+
+    private long storedLastAccess(String id) {
+        return jdbcTemplate.queryForObject("select last_access_time from web5_session where session_id = ?"
+                , Long.class, id);
+    }
+
+    private int sessionCount() {
+        return jdbcTemplate.queryForObject("select count(*) from web5_session", Integer.class);
+    }
+}
@@ -0,0 +1,45 @@
+package net.datasa.web5.startup;
+
+import net.datasa.web5.Web5Application;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * lazy 프로필(지연 초기화)에서도 @Scheduled 빈이 시작할 때 만들어져 예약 작업이 등록되는지 확인
+ * <p>
+ * 테스트 컨텍스트(@SpringBootTest)는 싱글톤을 모두 미리 만들어 지연 초기화가 드러나지 않으므로 직접 시작한다.
+ * 스프링 부트의 TaskSchedulingAutoConfiguration 도 @Scheduled 빈을 미리 만들지만,
+ * 이 설정에 기대지 않고 StartupConfig 의 목록만으로 충분한지 보기 위해 빼고 시작한다.
+ */
+class LazyStartupTest {
+
+    @Test
+    void scheduledTasksAreRegisteredAtStartup() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Web5Application.class)
+                .profiles("test", "lazy")
+                .run("--server.port=0"
+                        , "--spring.autoconfigure.exclude=" + TaskSchedulingAutoConfiguration.class.getName()
+                        , "--spring.datasource.url=jdbc:h2:mem:web5-lazy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")) {
+            // 예약 작업 이름은 "클래스.메소드"
+            List<String> tasks = context.getBeansOfType(ScheduledTaskHolder.class).values().stream()
+                    .flatMap(holder -> holder.getScheduledTasks().stream())
+                    .map(ScheduledTask::getTask)
+                    .map(task -> task.getRunnable().toString())
+                    .toList();
+
+            assertThat(tasks).as(tasks.toString())
+                    .anyMatch(task -> task.endsWith("ChangeLogPoller.poll"))
+                    .anyMatch(task -> task.endsWith("ChangeLogPoller.purge"))
+                    .anyMatch(task -> task.endsWith("BoardArchiver.archive"))
+                    .anyMatch(task -> task.endsWith("TitleSuggestIndex.rebuild"));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package net.datasa.web5.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 힙 밖 본문 저장소의 압축 보관, 수정 시간 확인, LRU 제거 확인
+ */
+class OffHeapBodyStoreTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 8, 1, 12, 0);
+
+    // 64KB 저장소 (1KB 블록 64개)
+    private final OffHeapBodyStore store = new OffHeapBodyStore(new SimpleMeterRegistry()
+            , DataSize.ofKilobytes(64), DataSize.ofKilobytes(1));
+
+    @Test
+    void storesAndRestoresContents() {
+        String contents = "안녕하세요. 첫 번째 글입니다.\n".repeat(1000);
+        store.put(1, UPDATED, contents);
+
+        assertThat(store.get(1, UPDATED)).isEqualTo(contents);
+        // 반복되는 본문은 압축되어 몇 블록만 차지
+        assertThat(store.usedBytes()).isLessThanOrEqualTo(DataSize.ofKilobytes(2).toBytes());
+    }
+
+    @Test
+    void missesWhenUpdateDateDiffers() {
+        store.put(1, UPDATED, "수정 전 내용");
+
+        assertThat(store.get(1, UPDATED.plusSeconds(1))).isNull();
+        assertThat(store.get(2, UPDATED)).isNull();
+
+        store.put(1, UPDATED.plusSeconds(1), "수정 후 내용");
+        assertThat(store.get(1, UPDATED.plusSeconds(1))).isEqualTo("수정 후 내용");
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWithinCapacity() {
+        Random random = new Random(42);
+        // 잘 압축되지 않는 본문 (약 15KB 로 압축, 4개까지 들어감)
+        for (int boardNum = 1; boardNum <= 4; boardNum++) {
+            store.put(boardNum, UPDATED, randomText(random, 7000));
+        }
+        assertThat(store.size()).isEqualTo(4);
+
+        // 1번을 읽어 두면 2번이 가장 오래 쓰지 않은 본문이 된다.
+        assertThat(store.get(1, UPDATED)).isNotNull();
+        store.put(5, UPDATED, randomText(random, 7000));
+
+        assertThat(store.get(2, UPDATED)).isNull();
+        assertThat(store.get(1, UPDATED)).isNotNull();
+        assertThat(store.get(5, UPDATED)).isNotNull();
+        assertThat(store.usedBytes()).isLessThanOrEqualTo(DataSize.ofKilobytes(64).toBytes());
+    }
+
+    @Test
+    void skipsContentsLargerThanCapacity() {
+        store.put(1, UPDATED, "작은 본문");
+        store.put(1, UPDATED, randomText(new Random(42), 60000));
+
+        assertThat(store.get(1, UPDATED)).isNull();
+        assertThat(store.usedBytes()).isZero();
+    }
+
+    // 한글 음절을 무작위로 늘어놓은 문자열
+    private String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('가' + random.nextInt(11172)));
+        }
+        return text.toString();
+    }
+}
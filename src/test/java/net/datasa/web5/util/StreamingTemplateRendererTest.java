@@ -0,0 +1,141 @@
+package net.datasa.web5.util;
+
+import net.datasa.web5.domain.dto.BoardSummaryDTO;
+import org.junit.jupiter.api.Test;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import net.datasa.web5.service.BoardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 전체 목록 화면을 목록을 다 읽기 전에 나눠 보내고, 클라이언트가 끊거나 시간이 지나면 멈춰 커넥션을 돌려주는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/board-test-data.sql")
+class StreamingTemplateRendererTest {
+
+    @Autowired
+    StreamingTemplateRenderer renderer;
+
+    @Autowired
+    BoardService boardService;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void rowsAreFlushedBeforeTheStreamEnds() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/board/listAll");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // 각 줄을 꺼낼 때 클라이언트로 이미 보낸 내용의 길이
+        List<Integer> sentLengths = new ArrayList<>();
+
+        Stream<BoardSummaryDTO> rows = IntStream.rangeClosed(1, 30)
+                .mapToObj(i -> {
+                    sentLengths.add(response.isCommitted() ? response.getContentAsByteArray().length : 0);
+                    return new BoardSummaryDTO(i, "제목 " + i, "user1", 0, LocalDateTime.now());
+                });
+        renderer.render("boardView/listAll", "boardList", rows, 10, Duration.ofMinutes(1), request, response);
+
+        // 첫 10줄까지는 아직 보내지 않고, 10줄을 출력한 뒤에는 이미 전송됨
+        // (Stream 의 Iterator 는 hasNext() 에서 다음 줄을 미리 꺼내므로 12번째 줄부터 확인)
+        assertThat(sentLengths.subList(0, 10)).containsOnly(0);
+        assertThat(sentLengths.get(11)).isPositive();
+        assertThat(sentLengths.get(29)).isGreaterThan(sentLengths.get(11));
+        assertThat(response.getContentType()).startsWith("text/html");
+    }
+
+    @Test
+    void clientAbortStopsRenderingAndReleasesTheConnection() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        // 보내기가 모두 실패하는 응답 (클라이언트가 연결을 끊은 경우)
+        PrintWriter brokenPipe = new PrintWriter(new OutputStreamWriter(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        }, StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public PrintWriter getWriter() {
+                return brokenPipe;
+            }
+        };
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicInteger activeWhileRendering = new AtomicInteger();
+
+        assertThatThrownBy(() -> boardService.streamListAll(rows -> renderer.render("boardView/listAll", "boardList"
+                , rows.peek(row -> {
+                    pulled.incrementAndGet();
+                    activeWhileRendering.set(pool.getActiveConnections());
+                }), 2, Duration.ofMinutes(1), new MockHttpServletRequest("GET", "/board/listAll"), response)))
+                .hasCauseInstanceOf(UncheckedIOException.class);
+
+        // 첫 flush 에서 끊긴 것을 알고 나머지 글은 읽지 않는다.
+        assertThat(activeWhileRendering.get()).isPositive();
+        assertThat(pulled.get()).isLessThan(15);
+        awaitNoActiveConnections(pool);
+    }
+
+    @Test
+    void renderingStopsAtTheTimeout() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+
+        assertThatThrownBy(() -> boardService.streamListAll(rows -> renderer.render("boardView/listAll", "boardList"
+                , rows, 2, Duration.ZERO, new MockHttpServletRequest("GET", "/board/listAll")
+                , new MockHttpServletResponse())))
+                .hasCauseInstanceOf(QueryTimeoutException.class);
+        awaitNoActiveConnections(pool);
+    }
+
+    @Test
+    void listAllRendersEveryBoardInDescendingOrder() throws Exception {
+        String html = mockMvc.perform(get("/board/listAll"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(html).contains("열다섯 번째 글", "첫 번째 글", "</html>");
+        assertThat(html.indexOf("열다섯 번째 글")).isLessThan(html.indexOf("첫 번째 글"));
+    }
+
+    // 다른 배경 작업(변경 기록 읽기 등)이 잠시 커넥션을 쓸 수 있으므로 잠깐 기다린다.
+    private static void awaitNoActiveConnections(HikariPoolMXBean pool) throws InterruptedException {
+        for (int i = 0; i < 20 && pool.getActiveConnections() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(pool.getActiveConnections()).isZero();
+    }
+}
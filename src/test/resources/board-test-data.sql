@@ -0,0 +1,29 @@
+-- 게시판 테스트 데이터 (회원 3명, 글 15개, 글마다 여러 회원의 리플)
+delete from web5_reply_archive;
+delete from web5_board_archive;
+delete from web5_reply;
+delete from web5_board;
+delete from web5_member;
+
+insert into web5_member (member_id, member_password, member_name, enabled, rolename) values
+    ('user1', '$2a$10$dn78l6f3WERgnoKA.bLULuGVhS1t.PkMXjBIDd1oEHiS44TxVZpoG', '회원1', true, 'ROLE_USER'),
+    ('user2', '$2a$10$dn78l6f3WERgnoKA.bLULuGVhS1t.PkMXjBIDd1oEHiS44TxVZpoG', '회원2', true, 'ROLE_USER'),
+    ('user3', '$2a$10$dn78l6f3WERgnoKA.bLULuGVhS1t.PkMXjBIDd1oEHiS44TxVZpoG', '회원3', true, 'ROLE_USER');
+
+insert into web5_board (board_num, member_id, title, contents) values
+    (1, 'user1', '첫 번째 글', '내용 1'), (2, 'user2', '두 번째 글', '내용 2'), (3, 'user3', '세 번째 글', '내용 3'),
+    (4, 'user1', '네 번째 글', '내용 4'), (5, 'user2', '다섯 번째 글', '내용 5'), (6, 'user3', '여섯 번째 글', '내용 6'),
+    (7, 'user1', '일곱 번째 글', '내용 7'), (8, 'user2', '여덟 번째 글', '내용 8'), (9, 'user3', '아홉 번째 글', '내용 9'),
+    (10, 'user1', '열 번째 글', '내용 10'), (11, 'user2', '열한 번째 글', '내용 11'), (12, 'user3', '열두 번째 글', '내용 12'),
+    (13, 'user1', '열세 번째 글', '내용 13'), (14, 'user2', '열네 번째 글', '내용 14'), (15, 'user3', '열다섯 번째 글', '내용 15');
+
+insert into web5_reply (board_num, member_id, contents) values
+    (15, 'user1', '리플 1'), (15, 'user2', '리플 2'), (15, 'user3', '리플 3'), (15, 'user1', '리플 4'),
+    (14, 'user2', '리플 5'), (14, 'user3', '리플 6'), (13, 'user1', '리플 7');
+update web5_reply set reply_path = lpad(reply_num, 10, '0') where reply_path = '';
+update web5_board b set reply_count = (select count(*) from web5_reply r where r.board_num = b.board_num), update_date = update_date;
+
+-- 테스트 중에 새로 쓰는 글과 번호가 겹치지 않도록
+alter table web5_board alter column board_num restart with 1000;
+-- 데이터를 바꾸었으므로 글 목록 버전도 올림 (이전 테스트의 목록 ETag 가 맞지 않도록)
+update web5_list_version set version = version + 1 where id = 1;